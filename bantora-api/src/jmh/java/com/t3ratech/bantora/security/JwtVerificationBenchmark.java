@@ -0,0 +1,82 @@
+package com.t3ratech.bantora.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating an access token.
+// perClaimParsing is the previous JwtReactiveAuthenticationManager flow: four calls, each building a parser and
+// verifying the HMAC. singleParse is one parseToken call on the shared parser. cachedAuthentication is the
+// authentication manager serving a token it has already verified from JwtAuthenticationCache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String ISSUER = "bantora-api";
+    private static final String AUDIENCE = "bantora-web";
+
+    private JwtUtil jwtUtil;
+    private SecretKey secretKey;
+    private String token;
+    private JwtReactiveAuthenticationManager cachedManager;
+    private Authentication request;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        String encodedSecret = Base64.getEncoder().encodeToString(secret);
+
+        jwtUtil = new JwtUtil(encodedSecret, 900_000L, 604_800_000L, ISSUER, AUDIENCE);
+        secretKey = Keys.hmacShaKeyFor(secret);
+        token = jwtUtil.generateAccessToken("+263785107830", Set.of("ROLE_USER"));
+
+        cachedManager = new JwtReactiveAuthenticationManager(jwtUtil,
+                new JwtAuthenticationCache(new SimpleMeterRegistry(), true, 10_000L));
+        request = new UsernamePasswordAuthenticationToken(null, token);
+        cachedManager.authenticate(request).block();
+    }
+
+    @Benchmark
+    public void perClaimParsing(Blackhole blackhole) {
+        Jwts.parser().verifyWith(secretKey).requireIssuer(ISSUER).requireAudience(AUDIENCE).build().parseSignedClaims(token);
+        blackhole.consume(legacyClaims().get("type", String.class));
+        blackhole.consume(legacyClaims().getSubject());
+        blackhole.consume(legacyClaims().get("roles", String.class));
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        JwtUtil.TokenClaims claims = jwtUtil.parseToken(token);
+        blackhole.consume(claims.type());
+        blackhole.consume(claims.subject());
+        blackhole.consume(claims.roles());
+    }
+
+    @Benchmark
+    public Authentication cachedAuthentication() {
+        return cachedManager.authenticate(request).block();
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+    }
+}
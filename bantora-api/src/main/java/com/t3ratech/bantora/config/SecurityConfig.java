@@ -8,9 +8,12 @@
 
 package com.t3ratech.bantora.config;
 
+import com.t3ratech.bantora.security.JwtAuthenticationCache;
 import com.t3ratech.bantora.security.JwtReactiveAuthenticationManager;
 import com.t3ratech.bantora.security.JwtServerAuthenticationConverter;
 import com.t3ratech.bantora.security.JwtUtil;
+import com.t3ratech.bantora.security.RateLimitWebFilter;
+import com.t3ratech.bantora.security.RequestRateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,8 +33,14 @@ import org.springframework.security.web.server.util.matcher.ServerWebExchangeMat
 public class SecurityConfig {
     
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil) {
-        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(new JwtReactiveAuthenticationManager(jwtUtil));
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtUtil jwtUtil,
+            JwtAuthenticationCache jwtAuthenticationCache,
+            RequestRateLimiter rateLimiter
+    ) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(
+                new JwtReactiveAuthenticationManager(jwtUtil, jwtAuthenticationCache));
         jwtFilter.setServerAuthenticationConverter(new JwtServerAuthenticationConverter());
         jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
 
@@ -49,6 +58,7 @@ public class SecurityConfig {
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
                 .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new RateLimitWebFilter(rateLimiter), SecurityWebFiltersOrder.AUTHENTICATION)
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .pathMatchers("/api/v1/auth/**").permitAll()
@@ -10,12 +10,17 @@ package com.t3ratech.bantora.controller;
 
 import com.t3ratech.bantora.dto.auth.*;
 import com.t3ratech.bantora.dto.common.ApiResponse;
+import com.t3ratech.bantora.security.PasswordHashingUnavailableException;
+import com.t3ratech.bantora.security.RateLimitedException;
+import com.t3ratech.bantora.security.RequestRateLimiter;
 import com.t3ratech.bantora.service.BantoraAuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.authentication.BadCredentialsException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -30,10 +35,17 @@ import java.util.List;
 public class AuthController {
 
     private final BantoraAuthService authService;
+    private final RequestRateLimiter rateLimiter;
 
     private <T> ResponseEntity<ApiResponse<T>> errorResponse(String message, Throwable error) {
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
-        if (error instanceof IllegalArgumentException) {
+        String retryAfter = "1";
+        if (error instanceof RateLimitedException rateLimited) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+            retryAfter = Long.toString(Math.max(1L, (rateLimited.getRetryAfterMs() + 999L) / 1000L));
+        } else if (error instanceof PasswordHashingUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (error instanceof IllegalArgumentException) {
             status = HttpStatus.BAD_REQUEST;
         } else if (error instanceof BadCredentialsException) {
             status = HttpStatus.UNAUTHORIZED;
@@ -46,8 +58,11 @@ public class AuthController {
                 ? List.of(detail)
                 : List.of(error.getClass().getName());
 
-        return ResponseEntity.status(status)
-                .body(ApiResponse.error(message, errors));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.TOO_MANY_REQUESTS) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return response.body(ApiResponse.error(message, errors));
     }
     
     @PostMapping("/register")
@@ -68,8 +83,9 @@ public class AuthController {
     
     @PostMapping("/login")
     @Operation(summary = "Login with phone number and password")
-    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody LoginRequest request) {
-        return authService.login(request)
+    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody LoginRequest request,
+                                                              ServerHttpRequest httpRequest) {
+        return authService.login(request, rateLimiter.clientIp(httpRequest))
                 .map(auth -> ResponseEntity.ok(ApiResponse.success(auth, "Login successful")))
                 .onErrorResume(e -> Mono.just(errorResponse("Login failed", e)));
     }
@@ -9,16 +9,24 @@
 package com.t3ratech.bantora.controller;
 
 import com.t3ratech.bantora.dto.request.BantoraCreateIdeaRequest;
+import com.t3ratech.bantora.dto.response.BantoraIdeaResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollPageResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollResponse;
 import com.t3ratech.bantora.service.BantoraIdeaService;
 import com.t3ratech.bantora.service.BantoraPollService;
 import com.t3ratech.bantora.service.BantoraVoteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -37,14 +45,20 @@ public class BantoraPollController {
             @RequestParam(required = false) UUID categoryId,
             @RequestParam(required = false) String hashtag,
             @RequestParam(defaultValue = "created") String sort,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit
     ) {
-        return pollService.getActivePolls(categoryId, hashtag, sort, limit)
-                .collectList()
-                .map(polls -> Map.of(
-                        "success", true,
-                        "data", polls,
-                        "timestamp", Instant.now().toString()));
+        return pollPage(pollService.getActivePollsPage(categoryId, hashtag, sort, cursor, limit));
+    }
+
+    @GetMapping(value = "/polls", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<BantoraPollResponse> streamPolls(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String hashtag,
+            @RequestParam(defaultValue = "created") String sort,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return badRequestOnInvalidArgument(pollService.streamActivePolls(categoryId, hashtag, sort, limit));
     }
 
     @GetMapping("/polls/{id}")
@@ -62,8 +76,7 @@ public class BantoraPollController {
 
     @GetMapping("/polls/{id}/source-ideas")
     public Mono<Map<String, Object>> getPollSourceIdeas(@PathVariable UUID id) {
-        return pollService.getSourceIdeaIdsForPoll(id)
-                .concatMap(ideaService::getIdeaById)
+        return ideaService.getSourceIdeasForPoll(id)
                 .collectList()
                 .map(ideas -> Map.of(
                         "success", true,
@@ -71,18 +84,19 @@ public class BantoraPollController {
                         "timestamp", Instant.now().toString()));
     }
 
+    @GetMapping(value = "/polls/{id}/source-ideas", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<BantoraIdeaResponse> streamPollSourceIdeas(@PathVariable UUID id) {
+        return ideaService.getSourceIdeasForPoll(id);
+    }
+
     @GetMapping("/polls/popular")
     public Mono<Map<String, Object>> getPopularPolls(
             @RequestParam(required = false) UUID categoryId,
             @RequestParam(required = false) String hashtag,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit
     ) {
-        return pollService.getActivePolls(categoryId, hashtag, "votes", limit == null ? 10 : limit)
-                .collectList()
-                .map(polls -> Map.of(
-                        "success", true,
-                        "data", polls,
-                        "timestamp", Instant.now().toString()));
+        return pollPage(pollService.getActivePollsPage(categoryId, hashtag, "votes", cursor, limit == null ? 10 : limit));
     }
 
     @GetMapping("/ideas")
@@ -99,6 +113,15 @@ public class BantoraPollController {
                         "timestamp", Instant.now().toString()));
     }
 
+    @GetMapping(value = "/ideas", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<BantoraIdeaResponse> streamIdeas(
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String hashtag
+    ) {
+        return badRequestOnInvalidArgument(Flux.defer(() -> ideaService.getIdeas(status, categoryId, hashtag)));
+    }
+
     @GetMapping("/ideas/{id}")
     public Mono<Map<String, Object>> getIdea(@PathVariable UUID id) {
         return ideaService.getIdeaById(id)
@@ -223,4 +246,28 @@ public class BantoraPollController {
                         "error", e.getMessage() == null ? "Vote failed" : e.getMessage(),
                         "timestamp", Instant.now().toString())));
     }
+
+    private Mono<Map<String, Object>> pollPage(Mono<BantoraPollPageResponse> page) {
+        return page
+                .map(result -> {
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("success", true);
+                    response.put("data", result.getPolls());
+                    if (result.getNextCursor() != null) {
+                        response.put("nextCursor", result.getNextCursor());
+                    }
+                    response.put("timestamp", Instant.now().toString());
+                    return response;
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(Map.of(
+                        "success", false,
+                        "error", e.getMessage() == null ? "Invalid request" : e.getMessage(),
+                        "timestamp", Instant.now().toString())));
+    }
+
+    // Streams cannot carry the {"success": false} envelope once started; reject bad input with a 400 instead.
+    private <T> Flux<T> badRequestOnInvalidArgument(Flux<T> stream) {
+        return stream.onErrorMap(IllegalArgumentException.class,
+                e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
 }
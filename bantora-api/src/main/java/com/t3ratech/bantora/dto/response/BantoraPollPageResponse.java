@@ -0,0 +1,17 @@
+package com.t3ratech.bantora.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BantoraPollPageResponse {
+    private List<BantoraPollResponse> polls;
+    private String nextCursor;
+}
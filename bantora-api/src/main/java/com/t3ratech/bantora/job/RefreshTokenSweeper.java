@@ -0,0 +1,120 @@
+package com.t3ratech.bantora.job;
+
+import com.t3ratech.bantora.repository.BantoraRefreshTokenWriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Deletes expired and revoked rows from bantora_refresh_token in small batches. Each batch is its own short
+// statement, batches are separated by a pause and a run stops after max-batches, so the sweep never holds locks for
+// long or saturates the database. Instances running it at the same time delete disjoint rows (SKIP LOCKED).
+@Component
+@Slf4j
+public class RefreshTokenSweeper {
+
+    private final BantoraRefreshTokenWriteRepository refreshTokenWriteRepository;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatches;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final DistributionSummary deletedPerRun;
+    private final Counter expiredDeleted;
+    private final Counter revokedDeleted;
+    private final Timer runTimer;
+
+    public RefreshTokenSweeper(
+            BantoraRefreshTokenWriteRepository refreshTokenWriteRepository,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.security.refresh-token.sweeper.enabled}") boolean enabled,
+            @Value("${bantora.security.refresh-token.sweeper.batch-size}") int batchSize,
+            @Value("${bantora.security.refresh-token.sweeper.pause-ms}") long pauseMs,
+            @Value("${bantora.security.refresh-token.sweeper.max-batches}") int maxBatches
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalStateException("bantora.security.refresh-token.sweeper.batch-size must be > 0");
+        }
+        if (pauseMs < 0) {
+            throw new IllegalStateException("bantora.security.refresh-token.sweeper.pause-ms must be >= 0");
+        }
+        if (maxBatches <= 0) {
+            throw new IllegalStateException("bantora.security.refresh-token.sweeper.max-batches must be > 0");
+        }
+
+        this.refreshTokenWriteRepository = refreshTokenWriteRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = Duration.ofMillis(pauseMs);
+        this.maxBatches = maxBatches;
+
+        this.deletedPerRun = DistributionSummary.builder("bantora.security.refresh-token.sweeper.deleted")
+                .description("Refresh-token rows deleted per sweeper run")
+                .register(meterRegistry);
+        this.expiredDeleted = deletedCounter(meterRegistry, "expired");
+        this.revokedDeleted = deletedCounter(meterRegistry, "revoked");
+        this.runTimer = Timer.builder("bantora.security.refresh-token.sweeper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.security.refresh-token.sweeper.interval-ms}",
+            initialDelayString = "${bantora.security.refresh-token.sweeper.interval-ms}")
+    public void sweepScheduled() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        sweep()
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        deleted -> {
+                            if (deleted > 0) {
+                                log.info("Refresh-token sweeper deleted {} rows", deleted);
+                            }
+                        },
+                        e -> log.error("Refresh-token sweeper failed: {}", e.toString()));
+    }
+
+    // Expired rows first (cheap index range), then revoked rows; max-batches applies to each.
+    public Mono<Long> sweep() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        long start = System.nanoTime();
+        return sweepBatches(() -> refreshTokenWriteRepository.deleteExpiredBatch(now, batchSize), expiredDeleted)
+                .flatMap(expired -> sweepBatches(() -> refreshTokenWriteRepository.deleteRevokedBatch(batchSize), revokedDeleted)
+                        .map(revoked -> expired + revoked))
+                .doOnNext(deleted -> {
+                    deletedPerRun.record(deleted);
+                    runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    // A batch smaller than batch-size means the backlog is drained.
+    private Mono<Long> sweepBatches(Supplier<Mono<Long>> deleteBatch, Counter counter) {
+        return Mono.defer(deleteBatch)
+                .expand(deleted -> deleted < batchSize
+                        ? Mono.empty()
+                        : Mono.delay(pause).then(Mono.defer(deleteBatch)))
+                .take(maxBatches)
+                .doOnNext(counter::increment)
+                .reduce(0L, Long::sum);
+    }
+
+    private static Counter deletedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bantora.security.refresh-token.sweeper.deleted.rows")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -15,6 +17,9 @@ public class BantoraIdeaReadRepository {
 
     private final DatabaseClient databaseClient;
 
+    public record IdeaWithTags(BantoraIdea idea, List<String> tags) {
+    }
+
     public Flux<BantoraIdea> findPendingIdeasByHashtagId(UUID hashtagId, int limit) {
         if (hashtagId == null) {
             return Flux.error(new IllegalArgumentException("hashtagId is required"));
@@ -47,4 +52,44 @@ public class BantoraIdeaReadRepository {
                         .build())
                 .all();
     }
+
+    // Keyset page of pending ideas created after `since`, ordered by (created_at, id) and starting after the given
+    // cursor; each idea comes with its hashtags.
+    public Flux<IdeaWithTags> findPendingIdeasWithTagsAfter(LocalDateTime since, LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        if (since == null || afterCreatedAt == null || afterId == null) {
+            return Flux.error(new IllegalArgumentException("since and cursor are required"));
+        }
+        if (limit <= 0) {
+            return Flux.empty();
+        }
+
+        return databaseClient.sql("""
+                        SELECT i.id, i.user_phone, i.content, i.category_id, i.created_at,
+                               array_agg(h.tag ORDER BY h.tag) AS tags
+                        FROM bantora_idea i
+                        JOIN bantora_idea_hashtag ih ON ih.idea_id = i.id
+                        JOIN bantora_hashtag h ON h.id = ih.hashtag_id
+                        WHERE i.status = 'PENDING'
+                          AND i.created_at >= :since
+                          AND (i.created_at, i.id) > (:afterCreatedAt, :afterId)
+                        GROUP BY i.id
+                        ORDER BY i.created_at, i.id
+                        LIMIT :limit
+                        """)
+                .bind("since", since)
+                .bind("afterCreatedAt", afterCreatedAt)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, meta) -> new IdeaWithTags(
+                        BantoraIdea.builder()
+                                .id(row.get("id", UUID.class))
+                                .userPhone(row.get("user_phone", String.class))
+                                .content(row.get("content", String.class))
+                                .categoryId(row.get("category_id", UUID.class))
+                                .status(BantoraIdeaStatus.PENDING)
+                                .createdAt(row.get("created_at", LocalDateTime.class))
+                                .build(),
+                        List.of(row.get("tags", String[].class))))
+                .all();
+    }
 }
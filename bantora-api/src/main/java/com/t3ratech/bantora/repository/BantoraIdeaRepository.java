@@ -6,6 +6,7 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
@@ -16,6 +17,13 @@ public interface BantoraIdeaRepository extends R2dbcRepository<BantoraIdea, UUID
     Flux<BantoraIdea> findByStatusOrderByCreatedAtDesc(BantoraIdeaStatus status);
     Flux<BantoraIdea> findAllByOrderByUpvotesDesc();
 
+    @Query("UPDATE bantora_idea SET upvotes = upvotes + 1 WHERE id = :id RETURNING *")
+    Mono<BantoraIdea> incrementUpvotes(UUID id);
+
+    // Empty when the idea is gone or no longer pending, so a stale duplicate match is not upvoted.
+    @Query("UPDATE bantora_idea SET upvotes = upvotes + 1 WHERE id = :id AND status = 'PENDING' RETURNING *")
+    Mono<BantoraIdea> incrementUpvotesIfPending(UUID id);
+
     Flux<BantoraIdea> findByStatusAndCategoryIdOrderByCreatedAtDesc(BantoraIdeaStatus status, UUID categoryId);
 
     @Query("""
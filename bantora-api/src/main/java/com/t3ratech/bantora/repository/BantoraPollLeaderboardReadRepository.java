@@ -0,0 +1,54 @@
+package com.t3ratech.bantora.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class BantoraPollLeaderboardReadRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public record LeaderboardEntry(UUID pollId, UUID categoryId, long totalVotes, LocalDateTime endTime, List<String> tags) {
+    }
+
+    public Flux<LeaderboardEntry> findActiveEntries(LocalDateTime now) {
+        if (now == null) {
+            return Flux.error(new IllegalArgumentException("now is required"));
+        }
+
+        return databaseClient.sql("""
+                        SELECT p.id AS poll_id,
+                               p.category_id AS category_id,
+                               p.total_votes AS total_votes,
+                               p.end_time AS end_time,
+                               COALESCE(array_agg(lower(h.tag)) FILTER (WHERE h.tag IS NOT NULL), '{}') AS tags
+                        FROM bantora_poll p
+                        LEFT JOIN bantora_poll_hashtag ph ON ph.poll_id = p.id
+                        LEFT JOIN bantora_hashtag h ON h.id = ph.hashtag_id
+                        WHERE p.status = 'ACTIVE'
+                          AND p.end_time > :now
+                        GROUP BY p.id, p.category_id, p.total_votes, p.end_time
+                        """)
+                .bind("now", now)
+                .map((row, meta) -> {
+                    String[] tags = row.get("tags", String[].class);
+                    Long totalVotes = row.get("total_votes", Long.class);
+                    return new LeaderboardEntry(
+                            row.get("poll_id", UUID.class),
+                            row.get("category_id", UUID.class),
+                            totalVotes == null ? 0L : totalVotes,
+                            row.get("end_time", LocalDateTime.class),
+                            tags == null ? List.of() : Arrays.asList(tags)
+                    );
+                })
+                .all();
+    }
+}
@@ -1,13 +1,23 @@
 package com.t3ratech.bantora.repository;
 
 import com.t3ratech.bantora.entity.BantoraPollOption;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
 @Repository
 public interface BantoraPollOptionRepository extends R2dbcRepository<BantoraPollOption, UUID> {
     Flux<BantoraPollOption> findByPollIdOrderByOptionOrder(UUID pollId);
+
+    @Query("SELECT * FROM bantora_poll_option WHERE poll_id = ANY(:pollIds) ORDER BY poll_id, option_order")
+    Flux<BantoraPollOption> findByPollIds(UUID[] pollIds);
+
+    @Modifying
+    @Query("UPDATE bantora_poll_option SET votes_count = votes_count + :delta WHERE id = :id")
+    Mono<Integer> incrementVotesCount(UUID id, long delta);
 }
@@ -2,44 +2,75 @@ package com.t3ratech.bantora.repository;
 
 import com.t3ratech.bantora.entity.BantoraPoll;
 import com.t3ratech.bantora.enums.BantoraPollStatus;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Repository
 public interface BantoraPollRepository extends R2dbcRepository<BantoraPoll, UUID> {
+    LocalDateTime FEED_START_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    long FEED_START_TOTAL_VOTES = Long.MAX_VALUE;
+    UUID FEED_START_ID = new UUID(-1L, -1L);
+
     Flux<BantoraPoll> findByStatus(BantoraPollStatus status);
     Flux<BantoraPoll> findByCreatorPhone(String creatorPhone);
+
+    @Modifying
+    @Query("UPDATE bantora_poll SET total_votes = total_votes + :delta, updated_at = :updatedAt WHERE id = :id")
+    Mono<Integer> incrementTotalVotes(UUID id, long delta, LocalDateTime updatedAt);
     
-    @Query("SELECT * FROM bantora_poll WHERE status = 'ACTIVE' AND end_time > :now ORDER BY total_votes DESC")
-    Flux<BantoraPoll> findActiveOrderByVotesDesc(LocalDateTime now);
-    
-    @Query("SELECT * FROM bantora_poll WHERE status = 'ACTIVE' AND end_time > :now ORDER BY created_at DESC")
-    Flux<BantoraPoll> findActiveOrderByCreatedDesc(LocalDateTime now);
+    // Keyset pages: rows strictly after the cursor in feed order. The first page passes the FEED_START_* sentinels.
+    @Query("""
+            SELECT p.*
+            FROM bantora_poll p
+            WHERE p.status = 'ACTIVE'
+              AND p.end_time > :now
+              AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
+            """)
+    Flux<BantoraPoll> findActiveOrderByCreatedDescAfter(LocalDateTime now, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
+
+    @Query("""
+            SELECT p.*
+            FROM bantora_poll p
+            WHERE p.status = 'ACTIVE'
+              AND p.end_time > :now
+              AND (p.total_votes, p.id) < (:cursorTotalVotes, :cursorId)
+            ORDER BY p.total_votes DESC, p.id DESC
+            LIMIT :limit
+            """)
+    Flux<BantoraPoll> findActiveOrderByVotesDescAfter(LocalDateTime now, long cursorTotalVotes, UUID cursorId, int limit);
 
     @Query("""
-            SELECT *
-            FROM bantora_poll
-            WHERE status = 'ACTIVE'
-              AND end_time > :now
-              AND category_id = :categoryId
-            ORDER BY created_at DESC
+            SELECT p.*
+            FROM bantora_poll p
+            WHERE p.status = 'ACTIVE'
+              AND p.end_time > :now
+              AND p.category_id = :categoryId
+              AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByCategoryIdOrderByCreatedDesc(UUID categoryId, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByCategoryIdOrderByCreatedDescAfter(UUID categoryId, LocalDateTime now, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
 
     @Query("""
-            SELECT *
-            FROM bantora_poll
-            WHERE status = 'ACTIVE'
-              AND end_time > :now
-              AND category_id = :categoryId
-            ORDER BY total_votes DESC
+            SELECT p.*
+            FROM bantora_poll p
+            WHERE p.status = 'ACTIVE'
+              AND p.end_time > :now
+              AND p.category_id = :categoryId
+              AND (p.total_votes, p.id) < (:cursorTotalVotes, :cursorId)
+            ORDER BY p.total_votes DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByCategoryIdOrderByVotesDesc(UUID categoryId, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByCategoryIdOrderByVotesDescAfter(UUID categoryId, LocalDateTime now, long cursorTotalVotes, UUID cursorId, int limit);
 
     @Query("""
             SELECT p.*
@@ -49,9 +80,11 @@ public interface BantoraPollRepository extends R2dbcRepository<BantoraPoll, UUID
             WHERE p.status = 'ACTIVE'
               AND p.end_time > :now
               AND lower(h.tag) = lower(:tag)
-            ORDER BY p.created_at DESC
+              AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByHashtagOrderByCreatedDesc(String tag, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByHashtagOrderByCreatedDescAfter(String tag, LocalDateTime now, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
 
     @Query("""
             SELECT p.*
@@ -61,9 +94,11 @@ public interface BantoraPollRepository extends R2dbcRepository<BantoraPoll, UUID
             WHERE p.status = 'ACTIVE'
               AND p.end_time > :now
               AND lower(h.tag) = lower(:tag)
-            ORDER BY p.total_votes DESC
+              AND (p.total_votes, p.id) < (:cursorTotalVotes, :cursorId)
+            ORDER BY p.total_votes DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByHashtagOrderByVotesDesc(String tag, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByHashtagOrderByVotesDescAfter(String tag, LocalDateTime now, long cursorTotalVotes, UUID cursorId, int limit);
 
     @Query("""
             SELECT p.*
@@ -74,9 +109,11 @@ public interface BantoraPollRepository extends R2dbcRepository<BantoraPoll, UUID
               AND p.end_time > :now
               AND p.category_id = :categoryId
               AND lower(h.tag) = lower(:tag)
-            ORDER BY p.created_at DESC
+              AND (p.created_at, p.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByCategoryIdAndHashtagOrderByCreatedDesc(UUID categoryId, String tag, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByCategoryIdAndHashtagOrderByCreatedDescAfter(UUID categoryId, String tag, LocalDateTime now, LocalDateTime cursorCreatedAt, UUID cursorId, int limit);
 
     @Query("""
             SELECT p.*
@@ -87,7 +124,9 @@ public interface BantoraPollRepository extends R2dbcRepository<BantoraPoll, UUID
               AND p.end_time > :now
               AND p.category_id = :categoryId
               AND lower(h.tag) = lower(:tag)
-            ORDER BY p.total_votes DESC
+              AND (p.total_votes, p.id) < (:cursorTotalVotes, :cursorId)
+            ORDER BY p.total_votes DESC, p.id DESC
+            LIMIT :limit
             """)
-    Flux<BantoraPoll> findActiveByCategoryIdAndHashtagOrderByVotesDesc(UUID categoryId, String tag, LocalDateTime now);
+    Flux<BantoraPoll> findActiveByCategoryIdAndHashtagOrderByVotesDescAfter(UUID categoryId, String tag, LocalDateTime now, long cursorTotalVotes, UUID cursorId, int limit);
 }
@@ -1,10 +1,15 @@
 package com.t3ratech.bantora.repository;
 
+import com.t3ratech.bantora.entity.BantoraIdea;
+import com.t3ratech.bantora.enums.BantoraIdeaStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -13,19 +18,43 @@ public class BantoraPollSourceIdeaReadRepository {
 
     private final DatabaseClient databaseClient;
 
-    public Flux<UUID> findIdeaIdsByPollId(UUID pollId) {
+    public record SourceIdea(BantoraIdea idea, List<String> tags) {
+    }
+
+    // One query for the ideas behind a poll with their tags aggregated, so callers can stream the rows as they arrive.
+    public Flux<SourceIdea> findIdeasByPollId(UUID pollId) {
         if (pollId == null) {
             return Flux.error(new IllegalArgumentException("pollId is required"));
         }
 
         return databaseClient.sql("""
-                        SELECT idea_id
-                        FROM bantora_poll_source_idea
-                        WHERE poll_id = :pollId
-                        ORDER BY idea_id
+                        SELECT i.id, i.user_phone, i.content, i.category_id, i.status, i.ai_summary, i.created_at,
+                               i.processed_at, i.upvotes,
+                               COALESCE(array_agg(h.tag ORDER BY h.tag) FILTER (WHERE h.tag IS NOT NULL), '{}') AS tags
+                        FROM bantora_poll_source_idea psi
+                        JOIN bantora_idea i ON i.id = psi.idea_id
+                        LEFT JOIN bantora_idea_hashtag ih ON ih.idea_id = i.id
+                        LEFT JOIN bantora_hashtag h ON h.id = ih.hashtag_id
+                        WHERE psi.poll_id = :pollId
+                        GROUP BY i.id
+                        ORDER BY i.id
                         """)
                 .bind("pollId", pollId)
-                .map((row, meta) -> row.get("idea_id", UUID.class))
+                .map((row, meta) -> {
+                    String[] tags = row.get("tags", String[].class);
+                    BantoraIdea idea = BantoraIdea.builder()
+                            .id(row.get("id", UUID.class))
+                            .userPhone(row.get("user_phone", String.class))
+                            .content(row.get("content", String.class))
+                            .categoryId(row.get("category_id", UUID.class))
+                            .status(BantoraIdeaStatus.valueOf(row.get("status", String.class)))
+                            .aiSummary(row.get("ai_summary", String.class))
+                            .createdAt(row.get("created_at", LocalDateTime.class))
+                            .processedAt(row.get("processed_at", LocalDateTime.class))
+                            .upvotes(row.get("upvotes", Long.class))
+                            .build();
+                    return new SourceIdea(idea, tags == null ? List.of() : Arrays.asList(tags));
+                })
                 .all();
     }
 
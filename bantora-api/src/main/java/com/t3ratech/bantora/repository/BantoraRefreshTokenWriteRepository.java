@@ -0,0 +1,120 @@
+package com.t3ratech.bantora.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class BantoraRefreshTokenWriteRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public record RotationOutcome(boolean known, boolean rotated) {
+    }
+
+    public record LiveToken(String token, String userPhone, LocalDateTime expiresAt) {
+    }
+
+    // One statement: revoke the current token (if live and owned by the user) and insert its successor only if that
+    // revoke happened. The outer SELECT sees the pre-statement snapshot, so known reports whether the token existed.
+    public Mono<RotationOutcome> rotate(
+            String currentToken,
+            String userPhone,
+            String nextToken,
+            LocalDateTime nextExpiresAt,
+            LocalDateTime now
+    ) {
+        return databaseClient.sql("""
+                        WITH revoked AS (
+                            UPDATE bantora_refresh_token
+                            SET revoked = TRUE
+                            WHERE token = :currentToken
+                              AND user_phone = :userPhone
+                              AND revoked = FALSE
+                              AND expires_at > :now
+                            RETURNING user_phone
+                        ), inserted AS (
+                            INSERT INTO bantora_refresh_token (id, token, user_phone, expires_at, revoked, created_at)
+                            SELECT :id, :nextToken, r.user_phone, :nextExpiresAt, FALSE, :now
+                            FROM revoked r
+                            RETURNING id
+                        )
+                        SELECT EXISTS (SELECT 1 FROM bantora_refresh_token WHERE token = :currentToken) AS known,
+                               EXISTS (SELECT 1 FROM inserted) AS rotated
+                        """)
+                .bind("currentToken", Objects.requireNonNull(currentToken, "currentToken"))
+                .bind("userPhone", Objects.requireNonNull(userPhone, "userPhone"))
+                .bind("id", UUID.randomUUID())
+                .bind("nextToken", Objects.requireNonNull(nextToken, "nextToken"))
+                .bind("nextExpiresAt", Objects.requireNonNull(nextExpiresAt, "nextExpiresAt"))
+                .bind("now", Objects.requireNonNull(now, "now"))
+                .map((row, meta) -> new RotationOutcome(
+                        Boolean.TRUE.equals(row.get("known", Boolean.class)),
+                        Boolean.TRUE.equals(row.get("rotated", Boolean.class))
+                ))
+                .one();
+    }
+
+    public Mono<Long> revoke(String token) {
+        return databaseClient.sql("UPDATE bantora_refresh_token SET revoked = TRUE WHERE token = :token AND revoked = FALSE")
+                .bind("token", Objects.requireNonNull(token, "token"))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<LiveToken> findLiveTokens(LocalDateTime now) {
+        return databaseClient.sql("""
+                        SELECT token, user_phone, expires_at
+                        FROM bantora_refresh_token
+                        WHERE revoked = FALSE
+                          AND expires_at > :now
+                        """)
+                .bind("now", Objects.requireNonNull(now, "now"))
+                .map((row, meta) -> new LiveToken(
+                        row.get("token", String.class),
+                        row.get("user_phone", String.class),
+                        row.get("expires_at", LocalDateTime.class)
+                ))
+                .all();
+    }
+
+    // Sweeper batches: the ids are picked in index order (idx_bantora_refresh_token_expires for expired rows,
+    // idx_bantora_refresh_token_revoked for revoked ones) with SKIP LOCKED, so concurrent sweepers delete disjoint
+    // batches and never wait on rows a login or refresh is holding.
+    public Mono<Long> deleteExpiredBatch(LocalDateTime now, int limit) {
+        return deleteBatch("expires_at < :now", limit)
+                .bind("now", Objects.requireNonNull(now, "now"))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteRevokedBatch(int limit) {
+        return deleteBatch("revoked = TRUE", limit)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private DatabaseClient.GenericExecuteSpec deleteBatch(String condition, int limit) {
+        return databaseClient.sql("""
+                        WITH doomed AS (
+                            SELECT id
+                            FROM bantora_refresh_token
+                            WHERE %s
+                            ORDER BY expires_at
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        DELETE FROM bantora_refresh_token t
+                        USING doomed d
+                        WHERE t.id = d.id
+                        """.formatted(condition))
+                .bind("limit", limit);
+    }
+}
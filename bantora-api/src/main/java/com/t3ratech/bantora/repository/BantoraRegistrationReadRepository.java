@@ -0,0 +1,40 @@
+package com.t3ratech.bantora.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+@Repository
+@RequiredArgsConstructor
+public class BantoraRegistrationReadRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public record RegistrationCheck(boolean countryAllowed, boolean phoneTaken, boolean emailTaken) {
+    }
+
+    // Country, phone and email checks in one round trip (three index probes). Advisory only: two concurrent
+    // registrations can both pass, and the bantora_user primary key / uq_bantora_user_email decide the winner.
+    public Mono<RegistrationCheck> check(String countryCode, String phoneNumber, String email) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        SELECT EXISTS (SELECT 1 FROM bantora_country
+                                       WHERE code = :countryCode AND registration_enabled = TRUE) AS country_allowed,
+                               EXISTS (SELECT 1 FROM bantora_user WHERE phone_number = :phoneNumber) AS phone_taken,
+                               EXISTS (SELECT 1 FROM bantora_user WHERE email = CAST(:email AS VARCHAR)) AS email_taken
+                        """)
+                .bind("countryCode", Objects.requireNonNull(countryCode, "countryCode"))
+                .bind("phoneNumber", Objects.requireNonNull(phoneNumber, "phoneNumber"));
+        spec = email == null ? spec.bindNull("email", String.class) : spec.bind("email", email);
+
+        return spec
+                .map((row, meta) -> new RegistrationCheck(
+                        Boolean.TRUE.equals(row.get("country_allowed", Boolean.class)),
+                        Boolean.TRUE.equals(row.get("phone_taken", Boolean.class)),
+                        Boolean.TRUE.equals(row.get("email_taken", Boolean.class))
+                ))
+                .one();
+    }
+}
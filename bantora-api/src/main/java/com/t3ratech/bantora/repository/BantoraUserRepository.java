@@ -1,14 +1,22 @@
 package com.t3ratech.bantora.repository;
 
 import com.t3ratech.bantora.entity.BantoraUser;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface BantoraUserRepository extends R2dbcRepository<BantoraUser, String> {
     Mono<BantoraUser> findByPhoneNumber(String phoneNumber);
     Mono<BantoraUser> findByEmail(String email);
     Mono<Boolean> existsByPhoneNumber(String phoneNumber);
     Mono<Boolean> existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE bantora_user SET password_hash = :passwordHash, updated_at = :updatedAt WHERE phone_number = :phoneNumber")
+    Mono<Integer> updatePasswordHash(String phoneNumber, String passwordHash, LocalDateTime updatedAt);
 }
@@ -0,0 +1,56 @@
+package com.t3ratech.bantora.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+@RequiredArgsConstructor
+public class BantoraUserWriteRepository {
+
+    private final DatabaseClient databaseClient;
+
+    // One statement for a whole batch of logins. Only the two timestamp columns are written, and a timestamp never
+    // moves backwards (a late flush from another instance cannot overwrite a newer login).
+    public Mono<Long> updateLastLogins(Map<String, LocalDateTime> lastLoginByPhone) {
+        if (lastLoginByPhone == null || lastLoginByPhone.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        List<Map.Entry<String, LocalDateTime>> entries = new ArrayList<>(lastLoginByPhone.entrySet());
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                values.append(",\n");
+            }
+            values.append("(:phone").append(i).append(", CAST(:lastLoginAt").append(i).append(" AS TIMESTAMP))");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                UPDATE bantora_user u
+                SET last_login_at = v.last_login_at,
+                    updated_at = GREATEST(u.updated_at, v.last_login_at)
+                FROM (VALUES
+                """ + values + """
+                ) AS v (phone_number, last_login_at)
+                WHERE u.phone_number = v.phone_number
+                  AND (u.last_login_at IS NULL OR u.last_login_at < v.last_login_at)
+                """);
+
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, LocalDateTime> entry = entries.get(i);
+            spec = spec
+                    .bind("phone" + i, Objects.requireNonNull(entry.getKey(), "phoneNumber"))
+                    .bind("lastLoginAt" + i, Objects.requireNonNull(entry.getValue(), "lastLoginAt"));
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,176 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.entity.BantoraVote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class BantoraVoteWriteRepository {
+
+    // Postgres allows 65535 bind parameters per statement; insertVotes binds eight per vote.
+    public static final int MAX_INSERT_BATCH = 65535 / 8;
+
+    private final DatabaseClient databaseClient;
+
+    // Counters are only set when the vote row was inserted; pollExists/optionPollId explain why it was not.
+    public record VoteWriteResult(
+            boolean pollExists,
+            UUID optionPollId,
+            Long optionVotesCount,
+            Long pollTotalVotes
+    ) {
+        public boolean recorded() {
+            return optionVotesCount != null && pollTotalVotes != null;
+        }
+    }
+
+    // One statement (and therefore one implicit transaction): validate, insert, bump option + poll counters.
+    public Mono<VoteWriteResult> recordVote(BantoraVote vote) {
+        Objects.requireNonNull(vote, "vote");
+        UUID voteId = Objects.requireNonNull(vote.getId(), "vote.id");
+        UUID pollId = Objects.requireNonNull(vote.getPollId(), "vote.pollId");
+        UUID optionId = Objects.requireNonNull(vote.getOptionId(), "vote.optionId");
+        LocalDateTime votedAt = Objects.requireNonNull(vote.getVotedAt(), "vote.votedAt");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        WITH target AS (
+                            SELECT o.id AS option_id, o.poll_id
+                            FROM bantora_poll_option o
+                            WHERE o.id = :optionId
+                              AND o.poll_id = :pollId
+                        ), inserted AS (
+                            INSERT INTO bantora_vote (id, poll_id, option_id, user_phone, anonymous, voted_at, ip_address, user_agent)
+                            SELECT :voteId, t.poll_id, t.option_id, :userPhone, :anonymous, :votedAt, :ipAddress, :userAgent
+                            FROM target t
+                            ON CONFLICT ON CONSTRAINT unique_poll_user DO NOTHING
+                            RETURNING poll_id, option_id
+                        ), option_update AS (
+                            UPDATE bantora_poll_option o
+                            SET votes_count = o.votes_count + 1
+                            FROM inserted i
+                            WHERE o.id = i.option_id
+                            RETURNING o.votes_count
+                        ), poll_update AS (
+                            UPDATE bantora_poll p
+                            SET total_votes = p.total_votes + 1,
+                                updated_at = :votedAt
+                            FROM inserted i
+                            WHERE p.id = i.poll_id
+                            RETURNING p.total_votes
+                        )
+                        SELECT EXISTS (SELECT 1 FROM bantora_poll WHERE id = :pollId) AS poll_exists,
+                               (SELECT poll_id FROM bantora_poll_option WHERE id = :optionId) AS option_poll_id,
+                               (SELECT votes_count FROM option_update) AS option_votes_count,
+                               (SELECT total_votes FROM poll_update) AS poll_total_votes
+                        """)
+                .bind("voteId", voteId)
+                .bind("pollId", pollId)
+                .bind("optionId", optionId)
+                .bind("anonymous", Boolean.TRUE.equals(vote.getAnonymous()))
+                .bind("votedAt", votedAt);
+
+        spec = bindNullable(spec, "userPhone", vote.getUserPhone());
+        spec = bindNullable(spec, "ipAddress", vote.getIpAddress());
+        spec = bindNullable(spec, "userAgent", vote.getUserAgent());
+
+        return spec
+                .map((row, meta) -> new VoteWriteResult(
+                        Boolean.TRUE.equals(row.get("poll_exists", Boolean.class)),
+                        row.get("option_poll_id", UUID.class),
+                        row.get("option_votes_count", Long.class),
+                        row.get("poll_total_votes", Long.class)
+                ))
+                .one();
+    }
+
+    public record InsertedVote(UUID id, UUID pollId, UUID optionId) {
+    }
+
+    // Multi-row insert for buffered votes; rows whose option does not belong to the poll, whose (poll_id, user_phone)
+    // already exists, or whose id was already written by an earlier attempt are skipped, so a retried batch is
+    // idempotent. Counters are applied by the caller from the returned rows.
+    public Flux<InsertedVote> insertVotes(List<BantoraVote> votes) {
+        if (votes == null || votes.isEmpty()) {
+            return Flux.empty();
+        }
+        if (votes.size() > MAX_INSERT_BATCH) {
+            return Flux.error(new IllegalArgumentException("insertVotes accepts at most " + MAX_INSERT_BATCH + " votes"));
+        }
+
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < votes.size(); i++) {
+            if (i > 0) {
+                values.append(",\n");
+            }
+            values.append("(:id").append(i)
+                    .append(", :pollId").append(i)
+                    .append(", :optionId").append(i)
+                    .append(", :userPhone").append(i)
+                    .append(", :anonymous").append(i)
+                    .append(", :votedAt").append(i)
+                    .append(", :ipAddress").append(i)
+                    .append(", :userAgent").append(i)
+                    .append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                INSERT INTO bantora_vote (id, poll_id, option_id, user_phone, anonymous, voted_at, ip_address, user_agent)
+                SELECT v.id, v.poll_id, v.option_id, v.user_phone, v.anonymous, v.voted_at, v.ip_address, v.user_agent
+                FROM (VALUES
+                """ + values + """
+                ) AS v (id, poll_id, option_id, user_phone, anonymous, voted_at, ip_address, user_agent)
+                WHERE EXISTS (
+                    SELECT 1 FROM bantora_poll_option o WHERE o.id = v.option_id AND o.poll_id = v.poll_id
+                )
+                ON CONFLICT DO NOTHING
+                RETURNING id, poll_id, option_id
+                """);
+
+        for (int i = 0; i < votes.size(); i++) {
+            BantoraVote vote = Objects.requireNonNull(votes.get(i), "vote");
+            spec = spec
+                    .bind("id" + i, Objects.requireNonNull(vote.getId(), "vote.id"))
+                    .bind("pollId" + i, Objects.requireNonNull(vote.getPollId(), "vote.pollId"))
+                    .bind("optionId" + i, Objects.requireNonNull(vote.getOptionId(), "vote.optionId"))
+                    .bind("anonymous" + i, Boolean.TRUE.equals(vote.getAnonymous()))
+                    .bind("votedAt" + i, Objects.requireNonNull(vote.getVotedAt(), "vote.votedAt"));
+            spec = bindNullable(spec, "userPhone" + i, vote.getUserPhone());
+            spec = bindNullable(spec, "ipAddress" + i, vote.getIpAddress());
+            spec = bindNullable(spec, "userAgent" + i, vote.getUserAgent());
+        }
+
+        return spec
+                .map((row, meta) -> new InsertedVote(
+                        row.get("id", UUID.class),
+                        row.get("poll_id", UUID.class),
+                        row.get("option_id", UUID.class)
+                ))
+                .all();
+    }
+
+    // Ids among the given ones already stored in bantora_vote; tells votes written by an earlier attempt of a retried
+    // batch apart from votes the insert rejected.
+    public Flux<UUID> findWrittenIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT id FROM bantora_vote WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(UUID[]::new))
+                .map((row, meta) -> row.get("id", UUID.class))
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+}
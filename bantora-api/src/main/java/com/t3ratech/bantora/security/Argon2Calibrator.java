@@ -0,0 +1,89 @@
+package com.t3ratech.bantora.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Derives Argon2id cost parameters for the current host from a target hash latency. Memory starts at the configured
+// ceiling and is halved (not below the OWASP minimum of 19 MiB) until one iteration fits the budget; iterations
+// then fill the remaining budget. Memory stays a power-of-two fraction of the ceiling so identically sized hosts
+// agree on parameters and do not rehash each other's passwords.
+// CLI: java -cp bantora-api.jar -Dloader.main=com.t3ratech.bantora.security.Argon2Calibrator
+//      org.springframework.boot.loader.launch.PropertiesLauncher <target-ms> <max-memory-kib> <parallelism>
+public final class Argon2Calibrator {
+
+    static final int MIN_MEMORY_KIB = 19_456;
+    private static final int MIN_ITERATIONS = 2;
+    private static final int SAMPLES = 3;
+    private static final int CLI_SALT_LENGTH = 32;
+    private static final int CLI_HASH_LENGTH = 64;
+
+    public record Parameters(int iterations, int memoryKib, int parallelism) {
+    }
+
+    @FunctionalInterface
+    interface HashClock {
+        Duration measure(Parameters parameters);
+    }
+
+    private Argon2Calibrator() {
+    }
+
+    public static Parameters calibrate(Duration target, int maxMemoryKib, int parallelism, int saltLength, int hashLength) {
+        return calibrate(target, maxMemoryKib, parallelism, parameters -> medianHashTime(parameters, saltLength, hashLength));
+    }
+
+    static Parameters calibrate(Duration target, int maxMemoryKib, int parallelism, HashClock clock) {
+        if (target == null || target.isZero() || target.isNegative()) {
+            throw new IllegalArgumentException("Calibration target must be > 0");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Argon2 parallelism must be > 0");
+        }
+        if (maxMemoryKib <= 0) {
+            throw new IllegalArgumentException("Argon2 memory must be > 0");
+        }
+
+        int memory = maxMemoryKib;
+        int memoryFloor = Math.min(MIN_MEMORY_KIB, maxMemoryKib);
+        Duration single = clock.measure(new Parameters(1, memory, parallelism));
+        while (single.compareTo(target) > 0 && memory / 2 >= memoryFloor) {
+            memory /= 2;
+            single = clock.measure(new Parameters(1, memory, parallelism));
+        }
+
+        // Argon2 time is close to linear in iterations; start from the estimate and step down if it overshoots.
+        long perIteration = Math.max(1L, single.toNanos());
+        int iterations = (int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE, target.toNanos() / perIteration));
+        while (iterations > MIN_ITERATIONS && clock.measure(new Parameters(iterations, memory, parallelism)).compareTo(target) > 0) {
+            iterations--;
+        }
+        return new Parameters(iterations, memory, parallelism);
+    }
+
+    private static Duration medianHashTime(Parameters parameters, int saltLength, int hashLength) {
+        org.springframework.security.crypto.argon2.Argon2PasswordEncoder encoder =
+                new org.springframework.security.crypto.argon2.Argon2PasswordEncoder(
+                        saltLength, hashLength, parameters.parallelism(), parameters.memoryKib(), parameters.iterations());
+        encoder.encode("calibration-warmup");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+
+    public static void main(String[] args) {
+        long targetMs = args.length > 0 ? Long.parseLong(args[0]) : 250L;
+        int maxMemoryKib = args.length > 1 ? Integer.parseInt(args[1]) : 65_536;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Parameters parameters = calibrate(Duration.ofMillis(targetMs), maxMemoryKib, parallelism, CLI_SALT_LENGTH, CLI_HASH_LENGTH);
+        System.out.println("BANTORA_ARGON2_ITERATIONS=" + parameters.iterations());
+        System.out.println("BANTORA_ARGON2_MEMORY=" + parameters.memoryKib());
+        System.out.println("BANTORA_ARGON2_PARALLELISM=" + parameters.parallelism());
+    }
+}
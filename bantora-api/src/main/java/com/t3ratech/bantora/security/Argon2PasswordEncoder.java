@@ -12,10 +12,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 public class Argon2PasswordEncoder implements PasswordEncoder {
 
+    private static final String ARGON2ID_PREFIX = "$argon2id$";
+
     private final org.springframework.security.crypto.argon2.Argon2PasswordEncoder delegate;
+    private final int iterations;
+    private final int memory;
+    private final int parallelism;
+    private final int hashLength;
 
     public Argon2PasswordEncoder(
             @Value("${bantora.security.argon2.iterations}") int iterations,
@@ -24,6 +34,12 @@ public class Argon2PasswordEncoder implements PasswordEncoder {
             @Value("${bantora.security.argon2.salt-length}") int saltLength,
             @Value("${bantora.security.argon2.hash-length}") int hashLength
     ) {
+        // Parameters are pinned in config (calibrated offline with the argon2Calibrate task), so every instance hashes
+        // with the same cost and startup does no timing work.
+        this.iterations = iterations;
+        this.memory = memory;
+        this.parallelism = parallelism;
+        this.hashLength = hashLength;
         this.delegate = new org.springframework.security.crypto.argon2.Argon2PasswordEncoder(
                 saltLength,
                 hashLength,
@@ -33,6 +49,10 @@ public class Argon2PasswordEncoder implements PasswordEncoder {
         );
     }
 
+    public int memoryKib() {
+        return memory;
+    }
+
     @Override
     public String encode(CharSequence rawPassword) {
         return delegate.encode(rawPassword);
@@ -43,8 +63,33 @@ public class Argon2PasswordEncoder implements PasswordEncoder {
         return delegate.matches(rawPassword, encodedPassword);
     }
 
+    // True when the stored hash was produced with different cost parameters (or is not argon2id), so a successful
+    // login can transparently rehash it with the current ones.
     @Override
     public boolean upgradeEncoding(String encodedPassword) {
-        return false;
+        if (encodedPassword == null || !encodedPassword.startsWith(ARGON2ID_PREFIX)) {
+            return encodedPassword != null && !encodedPassword.isBlank();
+        }
+        // $argon2id$v=19$m=65536,t=3,p=4$<salt>$<hash>
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length != 6) {
+            return true;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        for (String param : parts[3].split(",")) {
+            String[] keyValue = param.split("=", 2);
+            if (keyValue.length == 2) {
+                params.put(keyValue[0], keyValue[1]);
+            }
+        }
+        try {
+            return Integer.parseInt(params.getOrDefault("m", "-1")) != memory
+                    || Integer.parseInt(params.getOrDefault("t", "-1")) != iterations
+                    || Integer.parseInt(params.getOrDefault("p", "-1")) != parallelism
+                    || Base64.getDecoder().decode(parts[5]).length != hashLength;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
     }
 }
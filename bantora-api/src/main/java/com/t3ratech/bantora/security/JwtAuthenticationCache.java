@@ -0,0 +1,109 @@
+package com.t3ratech.bantora.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+// Resolved authentications of recently verified access tokens, keyed by SHA-256 of the token (the raw token is
+// never a key) and expiring exactly at the token's exp. Metrics: cache.gets/evictions/size{cache=jwt-authentication}.
+@Component
+public class JwtAuthenticationCache {
+
+    private static final String CACHE_NAME = "jwt-authentication";
+
+    private record CachedAuthentication(Authentication authentication, String subject, Instant expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final Cache<String, CachedAuthentication> cache;
+    private final Counter invalidations;
+
+    public JwtAuthenticationCache(
+            MeterRegistry meterRegistry,
+            @Value("${bantora.security.jwt.auth-cache.enabled}") boolean enabled,
+            @Value("${bantora.security.jwt.auth-cache.max-size}") long maxSize
+    ) {
+        if (maxSize <= 0) {
+            throw new IllegalStateException("bantora.security.jwt.auth-cache.max-size must be > 0");
+        }
+
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, CachedAuthentication>creating((key, cached) -> remainingLifetime(cached.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations = Counter.builder("bantora.security.jwt.auth-cache.invalidations")
+                .description("Cached token authentications removed by revocation hooks")
+                .register(meterRegistry);
+    }
+
+    public Authentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedAuthentication cached = cache.getIfPresent(key(token));
+        return cached == null ? null : cached.authentication();
+    }
+
+    public void put(String token, Authentication authentication, Instant expiresAt) {
+        if (!enabled || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        cache.put(key(token), new CachedAuthentication(
+                Objects.requireNonNull(authentication, "authentication"),
+                authentication.getName(),
+                expiresAt));
+    }
+
+    // Revocation hooks: a revoked token (or every token of a user) must stop authenticating immediately.
+    public void invalidateToken(String token) {
+        if (cache.asMap().remove(key(token)) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public void invalidateSubject(String subject) {
+        cache.asMap().values().removeIf(cached -> {
+            boolean matches = cached.subject().equals(subject);
+            if (matches) {
+                invalidations.increment();
+            }
+            return matches;
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.increment(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    private static Duration remainingLifetime(Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -9,15 +9,16 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
 
     private final JwtUtil jwtUtil;
+    private final JwtAuthenticationCache authenticationCache;
 
-    public JwtReactiveAuthenticationManager(JwtUtil jwtUtil) {
+    public JwtReactiveAuthenticationManager(JwtUtil jwtUtil, JwtAuthenticationCache authenticationCache) {
         this.jwtUtil = jwtUtil;
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
@@ -31,26 +32,34 @@ public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationM
             return Mono.empty();
         }
 
-        if (!jwtUtil.validateToken(token)) {
+        // Repeat requests with a token verified earlier skip the signature check until the token's exp.
+        Authentication cached = authenticationCache.get(token);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        // One signature check and one payload parse per request; every claim below comes from the same result.
+        JwtUtil.TokenClaims claims = jwtUtil.parseToken(token);
+        if (claims == null) {
             return Mono.error(new BadCredentialsException("Invalid token"));
         }
 
-        String type = jwtUtil.getTokenType(token);
-        if (type == null || !"access".equalsIgnoreCase(type)) {
+        if (!claims.isType("access")) {
             return Mono.error(new BadCredentialsException("Invalid token type"));
         }
 
-        String phoneNumber = jwtUtil.getPhoneNumberFromToken(token);
+        String phoneNumber = claims.subject();
         if (phoneNumber == null || phoneNumber.isBlank()) {
             return Mono.error(new BadCredentialsException("Invalid token subject"));
         }
 
-        Set<String> roles = jwtUtil.getRolesFromToken(token);
-        List<GrantedAuthority> authorities = roles.stream()
+        List<GrantedAuthority> authorities = claims.roles().stream()
                 .filter(r -> r != null && !r.isBlank())
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        return Mono.just(new UsernamePasswordAuthenticationToken(phoneNumber, token, authorities));
+        Authentication resolved = new UsernamePasswordAuthenticationToken(phoneNumber, token, authorities);
+        authenticationCache.put(token, resolved, claims.expiresAt());
+        return Mono.just(resolved);
     }
 }
@@ -17,7 +17,9 @@ import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -27,6 +29,8 @@ public class JwtUtil {
     private final long refreshTokenExpiration;
     private final String issuer;
     private final String audience;
+    // JwtParser is immutable and thread-safe; building it once avoids re-creating it for every token.
+    private final JwtParser parser;
     
     public JwtUtil(
             @Value("${bantora.security.jwt.secret}") String secret,
@@ -40,6 +44,11 @@ public class JwtUtil {
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.issuer = issuer;
         this.audience = audience;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .build();
     }
     
     public String generateAccessToken(String phoneNumber, Set<String> roles) {
@@ -63,6 +72,7 @@ public class JwtUtil {
         Instant expiration = now.plusMillis(refreshTokenExpiration);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(phoneNumber)
                 .claim("type", "refresh")
                 .issuer(issuer)
@@ -73,70 +83,70 @@ public class JwtUtil {
                 .compact();
     }
     
-    public boolean validateToken(String token) {
+    // Verified claims of one token; built once per token so callers never re-verify the signature per claim.
+    public record TokenClaims(String subject, String type, Set<String> roles, Instant expiresAt) {
+        public TokenClaims {
+            roles = roles == null ? Set.of() : Set.copyOf(roles);
+        }
+
+        public boolean isType(String expectedType) {
+            return type != null && type.equalsIgnoreCase(expectedType);
+        }
+    }
+
+    // Verifies signature, issuer, audience and expiry in one pass; null when the token is not valid.
+    public TokenClaims parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .requireIssuer(issuer)
-                    .requireAudience(audience)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            return new TokenClaims(
+                    claims.getSubject(),
+                    claims.get("type", String.class),
+                    parseRoles(claims.get("roles", String.class)),
+                    expiration == null ? null : expiration.toInstant()
+            );
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
+
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
     
     public String getPhoneNumberFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getSubject();
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = parseToken(token);
+        return claims == null ? null : claims.subject();
     }
     
     public Set<String> getRolesFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            String rolesString = claims.get("roles", String.class);
-            return rolesString != null ? Set.of(rolesString.split(",")) : Set.of();
-        } catch (Exception e) {
-            return Set.of();
-        }
+        TokenClaims claims = parseToken(token);
+        return claims == null ? Set.of() : claims.roles();
     }
 
     public String getTokenType(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.get("type", String.class);
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = parseToken(token);
+        return claims == null ? null : claims.type();
     }
     
     public Instant getExpirationFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getExpiration().toInstant();
-        } catch (Exception e) {
-            return null;
+        TokenClaims claims = parseToken(token);
+        return claims == null ? null : claims.expiresAt();
+    }
+
+    private static Set<String> parseRoles(String rolesString) {
+        if (rolesString == null || rolesString.isBlank()) {
+            return Set.of();
+        }
+        Set<String> roles = new HashSet<>();
+        for (String role : rolesString.split(",")) {
+            if (!role.isBlank()) {
+                roles.add(role.trim());
+            }
         }
+        return roles;
     }
 }
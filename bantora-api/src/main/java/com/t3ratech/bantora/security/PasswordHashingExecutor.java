@@ -0,0 +1,152 @@
+package com.t3ratech.bantora.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs Argon2 hashing on its own fixed pool instead of boundedElastic. Each hash allocates the configured Argon2
+// memory, so the pool is capped by CPU cores and by the memory budget, and the wait queue is bounded: when it is
+// full, requests fail fast with PasswordHashingUnavailableException instead of piling up.
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final Argon2PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            Argon2PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.security.argon2.executor.threads}") int configuredThreads,
+            @Value("${bantora.security.argon2.executor.memory-budget-mb}") long memoryBudgetMb,
+            @Value("${bantora.security.argon2.executor.queue-capacity}") int queueCapacity
+    ) {
+        int memoryKib = passwordEncoder.memoryKib();
+        if (memoryKib <= 0) {
+            throw new IllegalStateException("bantora.security.argon2.memory must be > 0");
+        }
+        if (configuredThreads < 0) {
+            throw new IllegalStateException("bantora.security.argon2.executor.threads must be >= 0");
+        }
+        if (memoryBudgetMb <= 0) {
+            throw new IllegalStateException("bantora.security.argon2.executor.memory-budget-mb must be > 0");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalStateException("bantora.security.argon2.executor.queue-capacity must be > 0");
+        }
+
+        int threads = poolSize(configuredThreads, Runtime.getRuntime().availableProcessors(), memoryBudgetMb, memoryKib);
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreads(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing pool: {} threads, queue capacity {}", threads, queueCapacity);
+
+        Gauge.builder("bantora.security.argon2.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("bantora.security.argon2.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.queueWaitTimer = Timer.builder("bantora.security.argon2.queue.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bantora.security.argon2.rejected")
+                .description("Hash requests refused because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Cheap string check on the stored hash; no hashing involved.
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // A cancelled subscriber cancels the future; a task still in the queue then skips hashing when it is dequeued.
+    private <T> Mono<T> submit(Timer timer, Supplier<T> hash) {
+        return Mono.fromFuture(() -> {
+            long queuedAt = System.nanoTime();
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    long startedAt = System.nanoTime();
+                    queueWaitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        return hash.get();
+                    } finally {
+                        timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw new PasswordHashingUnavailableException("Too many authentication requests, please retry shortly");
+            }
+        });
+    }
+
+    static int poolSize(int configuredThreads, int processors, long memoryBudgetMb, int memoryKib) {
+        if (configuredThreads > 0) {
+            return configuredThreads;
+        }
+        long byMemory = memoryBudgetMb * 1024L / memoryKib;
+        return (int) Math.max(1L, Math.min(processors, byMemory));
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "argon2-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("bantora.security.argon2.hash")
+                .description("Time spent computing one Argon2 hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
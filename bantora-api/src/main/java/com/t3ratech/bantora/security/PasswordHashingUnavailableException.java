@@ -0,0 +1,9 @@
+package com.t3ratech.bantora.security;
+
+// The password hashing queue is full; the request was refused without hashing and can be retried.
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.t3ratech.bantora.security;
+
+import com.t3ratech.bantora.entity.BantoraRefreshToken;
+import com.t3ratech.bantora.repository.BantoraRefreshTokenWriteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+// Fallback store on bantora_refresh_token (timestamps in UTC, like the rest of the auth tables).
+@Component
+@ConditionalOnProperty(name = "bantora.security.refresh-token.store", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresRefreshTokenStore implements RefreshTokenStore {
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final BantoraRefreshTokenWriteRepository refreshTokenWriteRepository;
+
+    @Override
+    public Mono<Void> store(String token, String userPhone, Instant expiresAt) {
+        BantoraRefreshToken refreshEntity = BantoraRefreshToken.builder()
+                .id(UUID.randomUUID())
+                .token(Objects.requireNonNull(token, "token"))
+                .userPhone(Objects.requireNonNull(userPhone, "userPhone"))
+                .expiresAt(LocalDateTime.ofInstant(Objects.requireNonNull(expiresAt, "expiresAt"), ZoneOffset.UTC))
+                .revoked(false)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+
+        // Explicit INSERT (R2dbcRepository.save may attempt UPDATE when @Id is non-null)
+        return entityTemplate.insert(refreshEntity).then();
+    }
+
+    @Override
+    public Mono<RotationResult> rotate(String currentToken, String userPhone, String nextToken, Instant nextExpiresAt) {
+        return refreshTokenWriteRepository.rotate(
+                        currentToken,
+                        userPhone,
+                        nextToken,
+                        LocalDateTime.ofInstant(Objects.requireNonNull(nextExpiresAt, "nextExpiresAt"), ZoneOffset.UTC),
+                        LocalDateTime.now(ZoneOffset.UTC))
+                .map(outcome -> outcome.rotated()
+                        ? RotationResult.ROTATED
+                        : outcome.known() ? RotationResult.REVOKED : RotationResult.NOT_FOUND);
+    }
+
+    @Override
+    public Mono<Void> revoke(String token) {
+        return refreshTokenWriteRepository.revoke(token).then();
+    }
+}
@@ -0,0 +1,32 @@
+package com.t3ratech.bantora.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// Runs inside the security chain right after JWT authentication, so the authenticated phone number is available.
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RequestRateLimiter rateLimiter;
+
+    public RateLimitWebFilter(RequestRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return rateLimiter.acquire(exchange)
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    long retryAfterSeconds = Math.max(1L, (decision.retryAfterMs() + 999L) / 1000L);
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                    return exchange.getResponse().setComplete();
+                });
+    }
+}
@@ -0,0 +1,16 @@
+package com.t3ratech.bantora.security;
+
+// A rate-limit bucket refused the request; it can be retried after retryAfterMs.
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public RateLimitedException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
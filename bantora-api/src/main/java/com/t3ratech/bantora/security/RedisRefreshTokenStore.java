@@ -0,0 +1,101 @@
+package com.t3ratech.bantora.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+// Refresh tokens as Redis keys bantora:refresh-token:<sha256(token)> holding the owner's phone number. Each key
+// expires natively at the token's exp, so nothing has to sweep it. A retired token keeps its key (value "revoked")
+// until that same expiry, so replaying it is reported as revoked rather than unknown.
+@Component
+@ConditionalOnProperty(name = "bantora.security.refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    static final String KEY_PREFIX = "bantora:refresh-token:";
+    // KEYS[1] = current token key, KEYS[2] = next token key; ARGV = user phone, next expiry (epoch ms).
+    private static final RedisScript<Long> ROTATE = RedisScript.of("""
+            local owner = redis.call('GET', KEYS[1])
+            if not owner then
+              return 0
+            end
+            if owner ~= ARGV[1] then
+              return -1
+            end
+            redis.call('SET', KEYS[1], 'revoked', 'KEEPTTL')
+            redis.call('SET', KEYS[2], ARGV[1], 'PXAT', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // SET XX alone would drop the TTL and leave the revoked marker behind forever.
+    private static final RedisScript<Long> REVOKE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            redis.call('SET', KEYS[1], 'revoked', 'KEEPTTL')
+            return 1
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Void> store(String token, String userPhone, Instant expiresAt) {
+        return storeIfAbsent(token, userPhone, expiresAt).then();
+    }
+
+    // SET NX PX in one command; false when the key already exists (the migration relies on this to never
+    // overwrite a token that was rotated or revoked in Redis) or when the token has already expired.
+    Mono<Boolean> storeIfAbsent(String token, String userPhone, Instant expiresAt) {
+        Objects.requireNonNull(userPhone, "userPhone");
+        Duration ttl = Duration.between(Instant.now(), Objects.requireNonNull(expiresAt, "expiresAt"));
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.just(false);
+        }
+        return redisTemplate.opsForValue().setIfAbsent(key(token), userPhone, ttl)
+                .map(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public Mono<RotationResult> rotate(String currentToken, String userPhone, String nextToken, Instant nextExpiresAt) {
+        Objects.requireNonNull(userPhone, "userPhone");
+        Objects.requireNonNull(nextExpiresAt, "nextExpiresAt");
+        return redisTemplate.execute(ROTATE, List.of(key(currentToken), key(nextToken)),
+                        List.of(userPhone, Long.toString(nextExpiresAt.toEpochMilli())))
+                .next()
+                .map(result -> switch (result.intValue()) {
+                    case 1 -> RotationResult.ROTATED;
+                    case 0 -> RotationResult.NOT_FOUND;
+                    default -> RotationResult.REVOKED;
+                });
+    }
+
+    @Override
+    public Mono<Void> revoke(String token) {
+        return redisTemplate.execute(REVOKE, List.of(key(token)), List.of())
+                .then();
+    }
+
+    static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(Objects.requireNonNull(token, "token").getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.t3ratech.bantora.security;
+
+import com.t3ratech.bantora.repository.BantoraRefreshTokenWriteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// One-shot hand-over of live refresh tokens from bantora_refresh_token to Redis, so sessions issued before the switch
+// keep working. Each token is copied with SET NX (a token already rotated or revoked in Redis is never overwritten)
+// and then revoked in Postgres, which stops being its source of truth. A later run, for example after Redis lost its
+// data, therefore finds nothing to copy and cannot bring back tokens that were rotated or logged out in Redis; the
+// affected users sign in again. Off by default: enable it for the first deploy on the Redis store only.
+@Component
+@ConditionalOnProperty(name = "bantora.security.refresh-token.store", havingValue = "redis")
+@Slf4j
+public class RefreshTokenMigration {
+
+    private static final int CONCURRENCY = 32;
+
+    private final BantoraRefreshTokenWriteRepository refreshTokenWriteRepository;
+    private final RedisRefreshTokenStore redisStore;
+    private final boolean migrateOnStartup;
+
+    public RefreshTokenMigration(
+            BantoraRefreshTokenWriteRepository refreshTokenWriteRepository,
+            RedisRefreshTokenStore redisStore,
+            @Value("${bantora.security.refresh-token.migrate-on-startup}") boolean migrateOnStartup
+    ) {
+        this.refreshTokenWriteRepository = refreshTokenWriteRepository;
+        this.redisStore = redisStore;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        migrate().subscribe(
+                copied -> log.info("Refresh-token migration copied {} live tokens to Redis and retired them in Postgres", copied),
+                e -> log.error("Refresh-token migration failed: {}", e.toString()));
+    }
+
+    public Mono<Long> migrate() {
+        return refreshTokenWriteRepository.findLiveTokens(LocalDateTime.now(ZoneOffset.UTC))
+                .flatMap(live -> redisStore.storeIfAbsent(
+                                live.token(), live.userPhone(), live.expiresAt().toInstant(ZoneOffset.UTC))
+                        .flatMap(copied -> refreshTokenWriteRepository.revoke(live.token()).thenReturn(copied)), CONCURRENCY)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+}
@@ -0,0 +1,23 @@
+package com.t3ratech.bantora.security;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Server-side record of issued refresh tokens. Selected by bantora.security.refresh-token.store (redis | postgres).
+public interface RefreshTokenStore {
+
+    enum RotationResult {
+        ROTATED,
+        REVOKED,
+        NOT_FOUND
+    }
+
+    Mono<Void> store(String token, String userPhone, Instant expiresAt);
+
+    // Atomically retires currentToken and stores nextToken, only if currentToken is live and belongs to userPhone.
+    // A token can therefore be exchanged at most once, even under concurrent refresh requests.
+    Mono<RotationResult> rotate(String currentToken, String userPhone, String nextToken, Instant nextExpiresAt);
+
+    Mono<Void> revoke(String token);
+}
@@ -0,0 +1,303 @@
+package com.t3ratech.bantora.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Token buckets in Redis for the write endpoints and login, shared by all API instances. Each endpoint has a bucket
+// per client IP and, once authenticated, one per phone number, so users behind one carrier NAT address are not
+// throttled as a single client. Login additionally has a bucket per account and address (the phone number in the
+// request body plus the client IP), taken by BantoraAuthService, so password guessing against one account is slow, but
+// failed attempts from one address cannot lock the account's owner out from another.
+// Capacity is the per-minute limit and refills continuously. Redis errors or timeouts
+// let the request through (counted in bantora.ratelimit.failures): the limiter must never take the API down.
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    static final String KEY_PREFIX = "bantora:ratelimit:";
+
+    // Only literal addresses are accepted from X-Forwarded-For, so parsing never triggers a DNS lookup.
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6_LITERAL = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    // KEYS = buckets; ARGV[i] = per-minute limit of KEYS[i]. Refills every bucket from Redis TIME, then takes one
+    // token from all of them or from none. Returns {allowed, retry-after ms, index of the bucket that refused}.
+    private static final RedisScript<List> TAKE = RedisScript.of("""
+            local clock = redis.call('TIME')
+            local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+            local available = {}
+            for i, key in ipairs(KEYS) do
+              local limit = tonumber(ARGV[i])
+              local state = redis.call('HMGET', key, 'tokens', 'ts')
+              local tokens = tonumber(state[1])
+              local ts = tonumber(state[2])
+              if tokens == nil or ts == nil then
+                tokens = limit
+              else
+                tokens = math.min(limit, tokens + math.max(0, now - ts) * limit / 60000)
+              end
+              if tokens < 1 then
+                return {0, math.ceil((1 - tokens) * 60000 / limit), i}
+              end
+              available[i] = tokens
+            end
+            for i, key in ipairs(KEYS) do
+              redis.call('HSET', key, 'tokens', tostring(available[i] - 1), 'ts', now)
+              redis.call('PEXPIRE', key, 60000)
+            end
+            return {1, 0, 0}
+            """, List.class);
+
+    public record Decision(boolean allowed, long retryAfterMs) {
+        static final Decision ALLOW = new Decision(true, 0L);
+    }
+
+    private record Rule(String endpoint, HttpMethod method, PathPattern path, long perPhone, long perIp, Timer checkTimer) {
+    }
+
+    private record Bucket(String key, String type, long perMinute) {
+    }
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final boolean trustForwardedHeaders;
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+    private final Duration redisTimeout;
+    private final List<Rule> rules = new ArrayList<>();
+    private final Rule loginAccount;
+
+    private final Counter failures;
+
+    public RequestRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.ratelimit.enabled}") boolean enabled,
+            @Value("${bantora.ratelimit.trust-forwarded-headers}") boolean trustForwardedHeaders,
+            @Value("${bantora.ratelimit.trusted-proxies}") String trustedProxies,
+            @Value("${bantora.ratelimit.redis-timeout-ms}") long redisTimeoutMs,
+            @Value("${bantora.ratelimit.votes.per-phone-per-minute}") long votesPerPhone,
+            @Value("${bantora.ratelimit.votes.per-ip-per-minute}") long votesPerIp,
+            @Value("${bantora.ratelimit.ideas.per-phone-per-minute}") long ideasPerPhone,
+            @Value("${bantora.ratelimit.ideas.per-ip-per-minute}") long ideasPerIp,
+            @Value("${bantora.ratelimit.upvotes.per-phone-per-minute}") long upvotesPerPhone,
+            @Value("${bantora.ratelimit.upvotes.per-ip-per-minute}") long upvotesPerIp,
+            @Value("${bantora.ratelimit.login.per-ip-per-minute}") long loginPerIp,
+            @Value("${bantora.ratelimit.login.per-phone-per-minute}") long loginPerPhone
+    ) {
+        if (redisTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.ratelimit.redis-timeout-ms must be > 0");
+        }
+        for (String cidr : trustedProxies.split(",")) {
+            String trimmed = cidr.trim();
+            if (!trimmed.isEmpty()) {
+                this.trustedProxies.add(new IpAddressMatcher(trimmed));
+            }
+        }
+        if (trustForwardedHeaders && this.trustedProxies.isEmpty()) {
+            throw new IllegalStateException("bantora.ratelimit.trusted-proxies must not be empty when trust-forwarded-headers=true");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.trustForwardedHeaders = trustForwardedHeaders;
+        this.redisTimeout = Duration.ofMillis(redisTimeoutMs);
+
+        // 0 disables a bucket. Login has no authenticated phone yet: the filter limits it per IP and the per-account
+        // bucket is taken by acquireLogin once the body has been read.
+        rules.add(rule("votes", "/api/votes", votesPerPhone, votesPerIp));
+        rules.add(rule("ideas", "/api/ideas", ideasPerPhone, ideasPerIp));
+        rules.add(rule("upvotes", "/api/ideas/*/upvote", upvotesPerPhone, upvotesPerIp));
+        rules.add(rule("login", "/api/v1/auth/login", 0L, loginPerIp));
+        this.loginAccount = rule("login", "/api/v1/auth/login", loginPerPhone, 0L);
+
+        this.failures = Counter.builder("bantora.ratelimit.failures")
+                .description("Rate-limit checks that let the request through because Redis failed or timed out")
+                .register(meterRegistry);
+    }
+
+    public Mono<Decision> acquire(ServerWebExchange exchange) {
+        if (!enabled) {
+            return Mono.just(Decision.ALLOW);
+        }
+        Rule rule = match(exchange.getRequest());
+        if (rule == null) {
+            return Mono.just(Decision.ALLOW);
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .defaultIfEmpty("")
+                .flatMap(phone -> take(rule, buckets(rule, phone, clientIp(exchange.getRequest()))));
+    }
+
+    public Mono<Decision> acquireLogin(String phone, String clientIp) {
+        if (!enabled || loginAccount.perPhone() == 0 || phone.isBlank()) {
+            return Mono.just(Decision.ALLOW);
+        }
+        String key = KEY_PREFIX + loginAccount.endpoint() + ":phone:" + phone;
+        if (clientIp == null) {
+            return take(loginAccount, List.of(new Bucket(key, "phone", loginAccount.perPhone())));
+        }
+        return take(loginAccount, List.of(new Bucket(key + ":ip:" + clientIp, "phone-ip", loginAccount.perPhone())));
+    }
+
+    private Mono<Decision> take(Rule rule, List<Bucket> buckets) {
+        if (buckets.isEmpty()) {
+            return Mono.just(Decision.ALLOW);
+        }
+        List<String> keys = buckets.stream().map(Bucket::key).toList();
+        List<String> limits = buckets.stream().map(bucket -> Long.toString(bucket.perMinute())).toList();
+        long start = System.nanoTime();
+
+        return redisTemplate.execute(TAKE, keys, limits)
+                .next()
+                .timeout(redisTimeout)
+                .map(result -> {
+                    List<?> values = (List<?>) result;
+                    if (((Number) values.get(0)).longValue() == 1L) {
+                        return Decision.ALLOW;
+                    }
+                    int refused = ((Number) values.get(2)).intValue() - 1;
+                    rejectedCounter(rule.endpoint(), buckets.get(refused).type()).increment();
+                    return new Decision(false, ((Number) values.get(1)).longValue());
+                })
+                .onErrorResume(e -> {
+                    failures.increment();
+                    log.debug("Rate-limit check for {} failed, allowing request: {}", rule.endpoint(), e.toString());
+                    return Mono.just(Decision.ALLOW);
+                })
+                .defaultIfEmpty(Decision.ALLOW)
+                .doFinally(signal -> rule.checkTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private Rule match(ServerHttpRequest request) {
+        for (Rule rule : rules) {
+            if (rule.method() == request.getMethod() && rule.path().matches(request.getPath().pathWithinApplication())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static List<Bucket> buckets(Rule rule, String phone, String ip) {
+        List<Bucket> buckets = new ArrayList<>(2);
+        if (rule.perPhone() > 0 && !phone.isBlank()) {
+            buckets.add(new Bucket(KEY_PREFIX + rule.endpoint() + ":phone:" + phone, "phone", rule.perPhone()));
+        }
+        if (rule.perIp() > 0 && ip != null) {
+            buckets.add(new Bucket(KEY_PREFIX + rule.endpoint() + ":ip:" + ip, "ip", rule.perIp()));
+        }
+        return buckets;
+    }
+
+    // X-Forwarded-For is only read when the socket peer is one of our proxies. Each proxy appends the address it
+    // received the request from, so the list is walked from the right past our own proxies; the first hop they did
+    // not add is the client. Anything further left was sent by the client and can be forged. An entry that is not an
+    // IP literal ends the walk at the last proxy.
+    public String clientIp(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        InetAddress client = remote.getAddress();
+        if (client == null) {
+            return remote.getHostString();
+        }
+        if (trustForwardedHeaders) {
+            List<String> hops = new ArrayList<>();
+            for (String header : request.getHeaders().getOrEmpty("X-Forwarded-For")) {
+                for (String hop : header.split(",")) {
+                    hops.add(hop.trim());
+                }
+            }
+            for (int i = hops.size() - 1; i >= 0 && isTrustedProxy(client); i--) {
+                InetAddress hop = parseLiteral(hops.get(i));
+                if (hop == null) {
+                    break;
+                }
+                client = hop;
+            }
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrustedProxy(InetAddress address) {
+        String literal = address.getHostAddress();
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(literal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static InetAddress parseLiteral(String value) {
+        try {
+            if (IPV4_LITERAL.matcher(value).matches()) {
+                String[] octets = value.split("\\.");
+                byte[] address = new byte[4];
+                for (int i = 0; i < 4; i++) {
+                    int octet = Integer.parseInt(octets[i]);
+                    if (octet > 255) {
+                        return null;
+                    }
+                    address[i] = (byte) octet;
+                }
+                return InetAddress.getByAddress(address);
+            }
+            String literal = value.startsWith("[") && value.endsWith("]") ? value.substring(1, value.length() - 1) : value;
+            return IPV6_LITERAL.matcher(literal).matches() ? InetAddress.getByName(literal) : null;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private Rule rule(String endpoint, String path, long perPhone, long perIp) {
+        if (perPhone < 0 || perIp < 0) {
+            throw new IllegalStateException("bantora.ratelimit." + endpoint + " limits must be >= 0");
+        }
+        Timer checkTimer = Timer.builder("bantora.ratelimit.check")
+                .description("Time spent in the Redis rate-limit check")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new Rule(endpoint, HttpMethod.POST, PathPatternParser.defaultInstance.parse(path), perPhone, perIp, checkTimer);
+    }
+
+    private Counter rejectedCounter(String endpoint, String keyType) {
+        return Counter.builder("bantora.ratelimit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+// Packs ideas into prompt batches under a token budget, keeping their order (the read query returns the most
+// relevant ideas first, so the first batches carry them). Token counts are estimates: ~4 characters per token for
+// the JSON each idea adds to the prompt. An idea larger than the whole budget gets a batch of its own.
+final class AiPromptBatcher {
+
+    static final int CHARS_PER_TOKEN = 4;
+
+    private AiPromptBatcher() {
+    }
+
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    // The JSON object one idea contributes to a prompt; also the basis of its token estimate.
+    static Map<String, Object> promptItem(BantoraIdea idea) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", Objects.requireNonNull(idea.getId(), "idea.id").toString());
+        item.put("categoryId", Objects.requireNonNull(idea.getCategoryId(), "idea.categoryId").toString());
+        item.put("userPhone", Objects.requireNonNull(idea.getUserPhone(), "idea.userPhone"));
+        item.put("content", Objects.requireNonNull(idea.getContent(), "idea.content"));
+        return item;
+    }
+
+    static <T> List<List<T>> pack(List<T> items, ToIntFunction<T> tokenCost, int budgetTokens) {
+        if (budgetTokens <= 0) {
+            throw new IllegalArgumentException("budgetTokens must be > 0");
+        }
+        List<List<T>> batches = new ArrayList<>();
+        List<T> current = new ArrayList<>();
+        long used = 0;
+        for (T item : items) {
+            int cost = Math.max(1, tokenCost.applyAsInt(item));
+            if (!current.isEmpty() && used + cost > budgetTokens) {
+                batches.add(current);
+                current = new ArrayList<>();
+                used = 0;
+            }
+            current.add(item);
+            used += cost;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,140 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// AI responses (the JSON text, stored only after it parsed) in Redis, keyed by a fingerprint of the hashtag and the
+// exact ideas sent. When persisting the response fails, the next run finds the same pending ideas, computes the same
+// fingerprint and replays the stored response instead of paying for another model call. Any change to the idea set
+// or to an idea's content produces a different key. Redis failures count as misses.
+@Component
+@Slf4j
+public class AiResultCache {
+
+    static final String KEY_PREFIX = "bantora:ai-result:";
+
+    // Bump when the prompt changes meaning, so responses to the old prompt are never replayed.
+    private static final String FORMAT = "p1";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration redisTimeout;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Counter stores;
+
+    public AiResultCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.ai.result-cache.enabled}") boolean enabled,
+            @Value("${bantora.ai.result-cache.ttl-ms}") long ttlMs,
+            @Value("${bantora.ai.result-cache.redis-timeout-ms}") long redisTimeoutMs
+    ) {
+        if (ttlMs <= 0) {
+            throw new IllegalStateException("bantora.ai.result-cache.ttl-ms must be > 0");
+        }
+        if (redisTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.ai.result-cache.redis-timeout-ms must be > 0");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.redisTimeout = Duration.ofMillis(redisTimeoutMs);
+
+        this.hits = Counter.builder("bantora.ai.result-cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bantora.ai.result-cache").tag("result", "miss").register(meterRegistry);
+        this.errors = Counter.builder("bantora.ai.result-cache").tag("result", "error").register(meterRegistry);
+        this.stores = Counter.builder("bantora.ai.result-cache.stores").register(meterRegistry);
+    }
+
+    // Order-independent: ideas are sorted by id; every field that reaches the prompt is part of the hash.
+    public static String fingerprint(String tag, List<BantoraIdea> ideas) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, FORMAT);
+            update(digest, Objects.requireNonNull(tag, "tag").trim().toLowerCase(Locale.ROOT));
+            List<BantoraIdea> sorted = ideas.stream()
+                    .sorted(Comparator.comparing(BantoraIdea::getId))
+                    .toList();
+            for (BantoraIdea idea : sorted) {
+                update(digest, Objects.requireNonNull(idea.getId(), "idea.id").toString());
+                update(digest, String.valueOf(idea.getCategoryId()));
+                update(digest, String.valueOf(idea.getUserPhone()));
+                update(digest, String.valueOf(idea.getContent()));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Mono<String> get(String fingerprint) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().get(KEY_PREFIX + fingerprint)
+                .timeout(redisTimeout)
+                .doOnNext(cached -> hits.increment())
+                .switchIfEmpty(Mono.fromRunnable(misses::increment))
+                .onErrorResume(e -> {
+                    errors.increment();
+                    log.debug("AI result cache read failed for {}: {}", fingerprint, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> put(String fingerprint, String aiText) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(KEY_PREFIX + fingerprint, aiText, ttl)
+                .timeout(redisTimeout)
+                .doOnNext(stored -> stores.increment())
+                .then()
+                .onErrorResume(e -> {
+                    errors.increment();
+                    log.debug("AI result cache write failed for {}: {}", fingerprint, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    // Once a response has been applied its ideas are no longer pending, so the entry can never be hit again.
+    public Mono<Void> evict(String fingerprint) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(KEY_PREFIX + fingerprint)
+                .timeout(redisTimeout)
+                .then()
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Length prefix keeps field boundaries unambiguous ("ab"+"c" vs "a"+"bc").
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+}
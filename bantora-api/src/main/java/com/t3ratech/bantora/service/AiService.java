@@ -23,18 +23,18 @@ import com.t3ratech.bantora.repository.BantoraPollHashtagLinkRepository;
 import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
 import com.t3ratech.bantora.repository.BantoraPollRepository;
 import com.t3ratech.bantora.repository.BantoraPollSourceIdeaLinkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.reactive.TransactionalOperator;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -42,13 +42,15 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AiService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final IdeaPollEngine ideaPollEngine;
     private final BantoraHashtagStatsReadRepository hashtagStatsReadRepository;
     private final BantoraIdeaReadRepository ideaReadRepository;
     private final BantoraIdeaRepository ideaRepository;
@@ -58,12 +60,11 @@ public class AiService {
     private final BantoraPollSourceIdeaLinkRepository pollSourceIdeaLinkRepository;
     private final TransactionalOperator transactionalOperator;
     private final ObjectMapper objectMapper;
-
-    @Value("${bantora.ai.gemini.api-key}")
-    private String geminiApiKey;
-
-    @Value("${bantora.ai.gemini.url}")
-    private String geminiUrl;
+    private final BantoraPollFeedCache pollFeedCache;
+    private final BantoraPollLeaderboard pollLeaderboard;
+    private final MeterRegistry meterRegistry;
+    private final AiResultCache aiResultCache;
+    private final IdeaDuplicateIndex ideaDuplicateIndex;
 
     @Value("${bantora.ai.poll.duration-days}")
     private int pollDurationDays;
@@ -77,162 +78,241 @@ public class AiService {
     @Value("${bantora.poll.approval-required}")
     private boolean pollApprovalRequired;
 
+    @Value("${bantora.ai.job.hashtags-per-run}")
+    private int hashtagsPerRun;
+
+    @Value("${bantora.ai.job.concurrency}")
+    private int hashtagConcurrency;
+
+    @Value("${bantora.ai.prompt.token-budget}")
+    private int promptTokenBudget;
+
+    @Value("${bantora.ai.prompt.batch-concurrency}")
+    private int promptBatchConcurrency;
+
+    @Value("${bantora.ai.engine.pre-cluster.enabled}")
+    private boolean preClusterEnabled;
+
+    @Value("${bantora.ai.engine.similarity-threshold}")
+    private double similarityThreshold;
+
+    // Hashtags are processed in parallel (bounded by bantora.ai.job.concurrency); a failing hashtag is logged and
+    // counted without cancelling the others. Emits nothing; per-run throughput is logged and recorded as metrics.
     public Mono<Void> processTopHashtags() {
-        return hashtagStatsReadRepository.findTopHashtagsByPendingIdeaCount(2)
-                .concatMap(this::processHashtag)
-                .then();
+        if (hashtagsPerRun <= 0) {
+            return Mono.error(new IllegalStateException("bantora.ai.job.hashtags-per-run must be > 0"));
+        }
+        if (hashtagConcurrency <= 0) {
+            return Mono.error(new IllegalStateException("bantora.ai.job.concurrency must be > 0"));
+        }
+
+        if (!ideaPollEngine.isAvailable()) {
+            log.warn("Skipping AI run: {} engine is unavailable", ideaPollEngine.name());
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Set<UUID> claimedIdeaIds = ConcurrentHashMap.newKeySet();
+            return hashtagStatsReadRepository.findTopHashtagsByPendingIdeaCount(hashtagsPerRun)
+                    .flatMap(stat -> processHashtag(stat, claimedIdeaIds)
+                            .onErrorResume(e -> {
+                                meterRegistry.counter("bantora.ai.hashtag.failures").increment();
+                                log.error("AI processing failed for hashtag {}: {}", stat.tag(), e.toString());
+                                return Mono.just(0);
+                            }), hashtagConcurrency)
+                    .reduce(0L, (total, processed) -> total + processed)
+                    .doOnNext(processed -> recordRunThroughput(processed, System.nanoTime() - start))
+                    .then();
+        });
+    }
+
+    private void recordRunThroughput(long ideasProcessed, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1L) / 1_000_000_000d;
+        double ideasPerSecond = ideasProcessed / seconds;
+        meterRegistry.counter("bantora.ai.ideas.processed").increment(ideasProcessed);
+        meterRegistry.timer("bantora.ai.run").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.summary("bantora.ai.run.ideas-per-second").record(ideasPerSecond);
+        log.info("AI run processed {} ideas in {} ms ({} ideas/s)",
+                ideasProcessed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format("%.2f", ideasPerSecond));
     }
 
-    private Mono<Void> processHashtag(BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount stat) {
+    // Emits the number of ideas the AI response was applied to (0 when the hashtag had nothing pending). An idea with
+    // several hashtags is claimed by the first hashtag of the run that loads it, so parallel hashtags never turn the
+    // same idea into two polls.
+    private Mono<Integer> processHashtag(
+            BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount stat,
+            Set<UUID> claimedIdeaIds
+    ) {
         UUID hashtagId = Objects.requireNonNull(stat.hashtagId(), "hashtagId");
         if (stat.pendingIdeaCount() <= 0) {
-            return Mono.empty();
+            return Mono.just(0);
         }
 
         return ideaReadRepository.findPendingIdeasByHashtagId(hashtagId, maxIdeasPerHashtag)
+                .filter(idea -> claimedIdeaIds.add(Objects.requireNonNull(idea.getId(), "idea.id")))
                 .collectList()
                 .flatMap(ideas -> {
                     if (ideas.isEmpty()) {
-                        return Mono.empty();
+                        return Mono.just(0);
                     }
                     return processIdeasForHashtag(stat, ideas);
                 });
     }
 
-    private Mono<Void> processIdeasForHashtag(
+    // With pre-clustering on, only the first idea of each group of similar ideas (same category) is sent to the engine;
+    // the rest follow their representative into the same polls or rejections. The ideas sent are split into prompt
+    // batches under bantora.ai.prompt.token-budget, the batches go to the engine with bounded concurrency, and the
+    // polls of all answered batches are applied together. A failed batch, or one whose answer fails validation,
+    // leaves its ideas pending for the next run; the hashtag only fails when no batch was usable. Emits the ideas
+    // applied.
+    private Mono<Integer> processIdeasForHashtag(
             BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount stat,
             List<BantoraIdea> ideas
     ) {
         UUID hashtagId = Objects.requireNonNull(stat.hashtagId(), "hashtagId");
         String tag = Objects.requireNonNull(stat.tag(), "tag");
-
-        Map<UUID, BantoraIdea> ideaById = new HashMap<>();
-        for (BantoraIdea idea : ideas) {
-            UUID ideaId = Objects.requireNonNull(idea.getId(), "idea.id");
-            ideaById.put(ideaId, idea);
+        if (promptTokenBudget <= 0) {
+            return Mono.error(new IllegalStateException("bantora.ai.prompt.token-budget must be > 0"));
+        }
+        if (promptBatchConcurrency <= 0) {
+            return Mono.error(new IllegalStateException("bantora.ai.prompt.batch-concurrency must be > 0"));
         }
 
-        String prompt = buildPromptForHashtag(tag, ideas);
-
-        return callGemini(prompt)
-                .flatMap(aiResponse -> applyAiResponse(hashtagId, ideaById, aiResponse));
+        Map<UUID, List<BantoraIdea>> similarByRepresentative = new HashMap<>();
+        List<BantoraIdea> sent = preClusterEnabled ? preCluster(ideas, similarByRepresentative) : ideas;
+
+        int ideaBudget = Math.max(1, promptTokenBudget - ideaPollEngine.promptOverheadTokens(tag));
+        List<List<BantoraIdea>> batches = AiPromptBatcher.pack(
+                sent, idea -> AiPromptBatcher.estimateTokens(toJson(AiPromptBatcher.promptItem(idea))) + 1, ideaBudget);
+        meterRegistry.summary("bantora.ai.prompt.batches").record(batches.size());
+
+        return Flux.fromIterable(batches)
+                .flatMap(batch -> requestBatch(tag, batch)
+                        .flatMap(result -> validated(result, similarByRepresentative))
+                        .onErrorResume(e -> {
+                            meterRegistry.counter("bantora.ai.prompt.batch.failures").increment();
+                            log.warn("AI batch of {} ideas for hashtag {} failed: {}", batch.size(), tag, e.toString());
+                            return Mono.empty();
+                        }), promptBatchConcurrency)
+                .collectList()
+                .flatMap(answered -> {
+                    if (answered.isEmpty()) {
+                        return Mono.error(new IllegalStateException("No AI batch succeeded for hashtag " + tag));
+                    }
+                    return applyBatches(hashtagId, tag, answered, similarByRepresentative);
+                });
     }
 
-    private String buildPromptForHashtag(String tag, List<BantoraIdea> ideas) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("You are generating polls for the hashtag '");
-        builder.append(tag);
-        builder.append("'.\n\n");
-        builder.append("Input ideas are JSON objects with fields: id, categoryId, userPhone, content.\n");
-        builder.append("Return STRICT JSON (no markdown) with this schema:\n");
-        builder.append("{\n");
-        builder.append("  \"polls\": [\n");
-        builder.append("    {\n");
-        builder.append("      \"title\": \"...\",\n");
-        builder.append("      \"description\": \"...\",\n");
-        builder.append("      \"categoryId\": \"<uuid-from-input>\",\n");
-        builder.append("      \"options\": [\"...\", \"...\"],\n");
-        builder.append("      \"sourceIdeaIds\": [\"<uuid>\", ...]\n");
-        builder.append("    }\n");
-        builder.append("  ],\n");
-        builder.append("  \"rejectedIdeaIds\": [\"<uuid>\", ...]\n");
-        builder.append("}\n\n");
-        builder.append("Rules:\n");
-        builder.append("- Deduplicate similar ideas into one poll when appropriate.\n");
-        builder.append("- Reject infeasible or unclear ideas by listing their IDs in rejectedIdeaIds.\n");
-        builder.append("- Every poll must reference at least 1 source idea ID from the input list.\n");
-        builder.append("- categoryId for each poll MUST be one of the categoryIds from its source ideas.\n\n");
-        builder.append("Input ideas:\n");
-
-        List<Map<String, Object>> ideaPayload = new ArrayList<>();
-        for (BantoraIdea idea : ideas) {
-            Map<String, Object> item = new HashMap<>();
-            item.put("id", Objects.requireNonNull(idea.getId(), "idea.id").toString());
-            item.put("categoryId", Objects.requireNonNull(idea.getCategoryId(), "idea.categoryId").toString());
-            item.put("userPhone", Objects.requireNonNull(idea.getUserPhone(), "idea.userPhone"));
-            item.put("content", Objects.requireNonNull(idea.getContent(), "idea.content"));
-            ideaPayload.add(item);
-        }
-
-        try {
-            builder.append(objectMapper.writeValueAsString(ideaPayload));
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to build AI prompt JSON", e);
+    private List<BantoraIdea> preCluster(List<BantoraIdea> ideas, Map<UUID, List<BantoraIdea>> similarByRepresentative) {
+        List<BantoraIdea> representatives = new ArrayList<>();
+        for (List<BantoraIdea> cluster : IdeaClusterer.cluster(ideas, BantoraIdea::getContent, BantoraIdea::getCategoryId, similarityThreshold)) {
+            BantoraIdea representative = cluster.get(0);
+            representatives.add(representative);
+            if (cluster.size() > 1) {
+                similarByRepresentative.put(representative.getId(), cluster.subList(1, cluster.size()));
+            }
         }
+        meterRegistry.counter("bantora.ai.pre-cluster.folded").increment(ideas.size() - representatives.size());
+        return representatives;
+    }
 
-        return builder.toString();
+    private record BatchResult(List<BantoraIdea> ideas, String fingerprint, AiResponse response) {
     }
 
-    private Mono<AiResponse> callGemini(String prompt) {
-        if (prompt == null || prompt.isBlank()) {
-            return Mono.error(new IllegalArgumentException("prompt is required"));
+    // A remote answer that parsed but could not be persisted is replayed from the cache by the next run.
+    private Mono<BatchResult> requestBatch(String tag, List<BantoraIdea> batch) {
+        if (!ideaPollEngine.cachesResults()) {
+            return ideaPollEngine.suggestPolls(tag, batch)
+                    .map(aiText -> new BatchResult(batch, null, parseAiResponse(aiText)));
         }
-        if (geminiApiKey == null || geminiApiKey.isBlank()) {
-            return Mono.error(new IllegalStateException("Missing Gemini API key configuration"));
-        }
-        if (geminiUrl == null || geminiUrl.isBlank()) {
-            return Mono.error(new IllegalStateException("Missing Gemini URL configuration"));
-        }
-
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of(
-                                "parts", List.of(
-                                        Map.of("text", prompt)
-                                )
-                        )
-                )
-        );
-
-        return webClientBuilder.build()
-                .post()
-                .uri(geminiUrl + "?key=" + geminiApiKey)
-                .header("Content-Type", "application/json")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(this::extractAiTextFromGeminiResponse)
+        String fingerprint = AiResultCache.fingerprint(tag, batch);
+        return aiResultCache.get(fingerprint)
                 .map(this::parseAiResponse)
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    String body = e.getResponseBodyAsString();
-                    return Mono.error(new IllegalStateException("Gemini API call failed: HTTP " + e.getStatusCode() + " body=" + body));
-                });
+                .switchIfEmpty(Mono.defer(() -> ideaPollEngine.suggestPolls(tag, batch)
+                        .flatMap(aiText -> {
+                            AiResponse parsed = parseAiResponse(aiText);
+                            return aiResultCache.put(fingerprint, aiText).thenReturn(parsed);
+                        })))
+                .map(response -> new BatchResult(batch, fingerprint, response));
     }
 
-    private String extractAiTextFromGeminiResponse(String response) {
+    // An answer that fails validation would fail the same way when replayed, so that batch's cache entry is dropped.
+    // The other batches keep theirs until they have been applied.
+    private Mono<BatchResult> validated(BatchResult result, Map<UUID, List<BantoraIdea>> similarByRepresentative) {
+        Map<UUID, BantoraIdea> ideaById = new HashMap<>();
+        for (BantoraIdea idea : result.ideas()) {
+            ideaById.put(Objects.requireNonNull(idea.getId(), "idea.id"), idea);
+            similarByRepresentative.getOrDefault(idea.getId(), List.of()).forEach(similar -> ideaById.put(similar.getId(), similar));
+        }
         try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode candidates = root.path("candidates");
-            if (!candidates.isArray() || candidates.isEmpty()) {
-                throw new IllegalStateException("Gemini response missing candidates");
+            for (AiPoll poll : result.response().polls()) {
+                validatePoll(poll, ideaById);
             }
-            String text = candidates.get(0)
-                    .path("content")
-                    .path("parts")
-                    .get(0)
-                    .path("text")
-                    .asText();
-            if (text == null || text.isBlank()) {
-                throw new IllegalStateException("Gemini response missing text");
+            for (UUID rejectedId : result.response().rejectedIdeaIds()) {
+                if (!ideaById.containsKey(rejectedId)) {
+                    throw new IllegalArgumentException("AI rejectedIdeaIds contains unknown id: " + rejectedId);
+                }
             }
-            return stripMarkdownCodeFences(text.trim());
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to parse Gemini response", e);
+            return Mono.just(result);
+        } catch (IllegalArgumentException e) {
+            if (result.fingerprint() == null) {
+                return Mono.error(e);
+            }
+            return aiResultCache.evict(result.fingerprint()).then(Mono.error(e));
         }
     }
 
-    private String stripMarkdownCodeFences(String text) {
-        String cleaned = text;
-        if (cleaned.startsWith("```")) {
-            int firstNewline = cleaned.indexOf('\n');
-            if (firstNewline > 0) {
-                cleaned = cleaned.substring(firstNewline + 1);
+    // One transaction for all answered batches; their cache entries are dropped once it committed. If it fails, the
+    // entries stay so the next run replays the answers instead of asking the engine again.
+    private Mono<Integer> applyBatches(
+            UUID hashtagId,
+            String tag,
+            List<BatchResult> answered,
+            Map<UUID, List<BantoraIdea>> similarByRepresentative
+    ) {
+        Map<UUID, BantoraIdea> ideaById = new HashMap<>();
+        List<AiPoll> polls = new ArrayList<>();
+        Set<UUID> rejected = new HashSet<>();
+        for (BatchResult result : answered) {
+            for (BantoraIdea idea : result.ideas()) {
+                ideaById.put(Objects.requireNonNull(idea.getId(), "idea.id"), idea);
+                similarByRepresentative.getOrDefault(idea.getId(), List.of()).forEach(similar -> ideaById.put(similar.getId(), similar));
+            }
+            for (AiPoll poll : result.response().polls()) {
+                polls.add(poll.withSourceIdeaIds(withSimilar(poll.sourceIdeaIds(), similarByRepresentative)));
             }
+            rejected.addAll(withSimilar(result.response().rejectedIdeaIds(), similarByRepresentative));
         }
-        if (cleaned.endsWith("```")) {
-            cleaned = cleaned.substring(0, cleaned.length() - 3);
+        Mono<Void> evictApplied = Flux.fromIterable(answered)
+                .filter(result -> result.fingerprint() != null)
+                .concatMap(result -> aiResultCache.evict(result.fingerprint()))
+                .then();
+
+        // Converted and rejected ideas are no longer pending, so submissions must not be folded into them.
+        Set<UUID> settled = new HashSet<>(rejected);
+        polls.forEach(poll -> settled.addAll(poll.sourceIdeaIds()));
+
+        return applyAiResponse(hashtagId, tag, ideaById, new AiResponse(polls, rejected))
+                .then(Mono.fromRunnable(() -> ideaDuplicateIndex.remove(settled)))
+                .then(Mono.defer(() -> evictApplied))
+                .thenReturn(ideaById.size());
+    }
+
+    private static List<UUID> withSimilar(Collection<UUID> ideaIds, Map<UUID, List<BantoraIdea>> similarByRepresentative) {
+        List<UUID> expanded = new ArrayList<>(ideaIds);
+        for (UUID ideaId : ideaIds) {
+            similarByRepresentative.getOrDefault(ideaId, List.of()).forEach(similar -> expanded.add(similar.getId()));
+        }
+        return expanded;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build AI prompt JSON", e);
         }
-        return cleaned.trim();
     }
 
     AiResponse parseAiResponse(String aiText) {
@@ -264,6 +344,7 @@ public class AiService {
 
     private Mono<Void> applyAiResponse(
             UUID hashtagId,
+            String tag,
             Map<UUID, BantoraIdea> ideaById,
             AiResponse aiResponse
     ) {
@@ -271,18 +352,27 @@ public class AiService {
         Objects.requireNonNull(ideaById, "ideaById");
         Objects.requireNonNull(aiResponse, "aiResponse");
 
+        List<BantoraPoll> createdPolls = new ArrayList<>();
         return transactionalOperator.transactional(Mono.defer(() -> {
             LocalDateTime now = LocalDateTime.now();
 
             Set<UUID> usedIdeaIds = new HashSet<>();
             return Flux.fromIterable(aiResponse.polls())
                     .concatMap(poll -> createPollFromAi(hashtagId, ideaById, poll, now)
-                            .doOnNext(created -> usedIdeaIds.addAll(poll.sourceIdeaIds())))
+                            .doOnNext(created -> {
+                                createdPolls.add(created);
+                                usedIdeaIds.addAll(poll.sourceIdeaIds());
+                            }))
                     .then(updateIdeaStatuses(ideaById, usedIdeaIds, aiResponse.rejectedIdeaIds(), now));
-        }));
+        }))
+                // Only after commit: new active polls join the vote leaderboard (at zero votes) and cached feeds expire.
+                .thenMany(Flux.defer(() -> Flux.fromIterable(createdPolls)))
+                .filter(created -> created.getStatus() == BantoraPollStatus.ACTIVE)
+                .concatMap(created -> pollLeaderboard.register(created.getId(), created.getCategoryId(), List.of(tag), 0L, created.getEndTime()))
+                .then(Mono.defer(() -> aiResponse.polls().isEmpty() ? Mono.empty() : pollFeedCache.invalidate()));
     }
 
-    private Mono<UUID> createPollFromAi(
+    private Mono<BantoraPoll> createPollFromAi(
             UUID hashtagId,
             Map<UUID, BantoraIdea> ideaById,
             AiPoll poll,
@@ -293,38 +383,12 @@ public class AiService {
         Objects.requireNonNull(poll, "poll");
         Objects.requireNonNull(now, "now");
 
-        if (poll.title().isBlank()) {
-            return Mono.error(new IllegalArgumentException("AI poll title is required"));
-        }
-        if (poll.categoryId() == null) {
-            return Mono.error(new IllegalArgumentException("AI poll categoryId is required"));
-        }
-        if (poll.options().isEmpty()) {
-            return Mono.error(new IllegalArgumentException("AI poll options are required"));
-        }
-        if (poll.sourceIdeaIds().isEmpty()) {
-            return Mono.error(new IllegalArgumentException("AI poll sourceIdeaIds are required"));
-        }
-        if (poll.options().size() < 2) {
-            return Mono.error(new IllegalArgumentException("AI poll must have at least 2 options"));
-        }
-
-        BantoraIdea firstIdea = ideaById.get(poll.sourceIdeaIds().get(0));
-        if (firstIdea == null) {
-            return Mono.error(new IllegalArgumentException("AI poll references unknown source idea"));
-        }
-        String creatorPhone = Objects.requireNonNull(firstIdea.getUserPhone(), "idea.userPhone");
-
-        for (UUID sourceIdeaId : poll.sourceIdeaIds()) {
-            BantoraIdea sourceIdea = ideaById.get(sourceIdeaId);
-            if (sourceIdea == null) {
-                return Mono.error(new IllegalArgumentException("AI poll references unknown sourceIdeaId: " + sourceIdeaId));
-            }
-            UUID sourceCategoryId = Objects.requireNonNull(sourceIdea.getCategoryId(), "idea.categoryId");
-            if (!poll.categoryId().equals(sourceCategoryId)) {
-                return Mono.error(new IllegalArgumentException("AI poll categoryId must match source idea categories"));
-            }
+        try {
+            validatePoll(poll, ideaById);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
         }
+        String creatorPhone = Objects.requireNonNull(ideaById.get(poll.sourceIdeaIds().get(0)).getUserPhone(), "idea.userPhone");
 
         BantoraPollScope scope = BantoraPollScope.valueOf(Objects.requireNonNull(defaultScope, "defaultScope").trim().toUpperCase());
         BantoraPollStatus status = pollApprovalRequired ? BantoraPollStatus.PENDING : BantoraPollStatus.ACTIVE;
@@ -349,7 +413,44 @@ public class AiService {
                 .then(pollHashtagLinkRepository.linkPollToHashtag(pollId, hashtagId))
                 .thenMany(Flux.fromIterable(poll.sourceIdeaIds())
                         .concatMap(ideaId -> pollSourceIdeaLinkRepository.linkPollToIdea(pollId, ideaId)))
-                .then(Mono.just(pollId));
+                .then(Mono.just(entity));
+    }
+
+    private static void validatePoll(AiPoll poll, Map<UUID, BantoraIdea> ideaById) {
+        if (poll.title().isBlank()) {
+            throw new IllegalArgumentException("AI poll title is required");
+        }
+        if (poll.categoryId() == null) {
+            throw new IllegalArgumentException("AI poll categoryId is required");
+        }
+        if (poll.options().isEmpty()) {
+            throw new IllegalArgumentException("AI poll options are required");
+        }
+        if (poll.sourceIdeaIds().isEmpty()) {
+            throw new IllegalArgumentException("AI poll sourceIdeaIds are required");
+        }
+        if (poll.options().size() < 2) {
+            throw new IllegalArgumentException("AI poll must have at least 2 options");
+        }
+        for (String optionText : poll.options()) {
+            if (optionText == null || optionText.isBlank()) {
+                throw new IllegalArgumentException("AI poll option text must not be blank");
+            }
+        }
+        if (!ideaById.containsKey(poll.sourceIdeaIds().get(0))) {
+            throw new IllegalArgumentException("AI poll references unknown source idea");
+        }
+
+        for (UUID sourceIdeaId : poll.sourceIdeaIds()) {
+            BantoraIdea sourceIdea = ideaById.get(sourceIdeaId);
+            if (sourceIdea == null) {
+                throw new IllegalArgumentException("AI poll references unknown sourceIdeaId: " + sourceIdeaId);
+            }
+            UUID sourceCategoryId = Objects.requireNonNull(sourceIdea.getCategoryId(), "idea.categoryId");
+            if (!poll.categoryId().equals(sourceCategoryId)) {
+                throw new IllegalArgumentException("AI poll categoryId must match source idea categories");
+            }
+        }
     }
 
     private Flux<BantoraPollOption> savePollOptions(UUID pollId, List<String> options) {
@@ -445,5 +546,9 @@ public class AiService {
 
             return new AiPoll(title, description, categoryId, options, sourceIdeaIds);
         }
+
+        AiPoll withSourceIdeaIds(List<UUID> ideaIds) {
+            return new AiPoll(title, description, categoryId, options, ideaIds);
+        }
     }
 }
@@ -3,28 +3,29 @@ package com.t3ratech.bantora.service;
 import com.t3ratech.bantora.dto.auth.AuthResponse;
 import com.t3ratech.bantora.dto.auth.LoginRequest;
 import com.t3ratech.bantora.dto.auth.RegisterRequest;
-import com.t3ratech.bantora.entity.BantoraRefreshToken;
 import com.t3ratech.bantora.entity.BantoraUser;
-import com.t3ratech.bantora.repository.BantoraCountryRepository;
-import com.t3ratech.bantora.repository.BantoraRefreshTokenRepository;
+import com.t3ratech.bantora.repository.BantoraRegistrationReadRepository;
 import com.t3ratech.bantora.repository.BantoraUserRepository;
-import com.t3ratech.bantora.security.Argon2PasswordEncoder;
 import com.t3ratech.bantora.security.JwtUtil;
+import com.t3ratech.bantora.security.PasswordHashingExecutor;
+import com.t3ratech.bantora.security.RateLimitedException;
+import com.t3ratech.bantora.security.RefreshTokenStore;
+import com.t3ratech.bantora.security.RequestRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
+import java.util.function.BiFunction;
 
 @Service
 @RequiredArgsConstructor
@@ -32,11 +33,16 @@ import java.util.UUID;
 public class BantoraAuthService {
 
     private static final Set<String> DEFAULT_ROLES = Set.of("ROLE_USER");
+    private static final String PHONE_TAKEN = "Phone number already registered";
+    private static final String EMAIL_TAKEN = "Email already registered";
+    private static final String EMAIL_UNIQUE_INDEX = "uq_bantora_user_email";
 
     private final BantoraUserRepository userRepository;
-    private final BantoraCountryRepository countryRepository;
-    private final BantoraRefreshTokenRepository refreshTokenRepository;
-    private final Argon2PasswordEncoder passwordEncoder;
+    private final BantoraRegistrationReadRepository registrationReadRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BantoraLastLoginWriter lastLoginWriter;
+    private final RequestRateLimiter rateLimiter;
     private final JwtUtil jwtUtil;
     private final R2dbcEntityTemplate entityTemplate;
 
@@ -51,34 +57,47 @@ public class BantoraAuthService {
         String countryCode = Objects.requireNonNull(request.getCountryCode(), "countryCode").trim().toUpperCase();
         String preferredCurrency = Objects.requireNonNull(request.getPreferredCurrency(), "preferredCurrency").trim().toUpperCase();
 
-        return countryRepository.findByCodeAndRegistrationEnabledTrue(countryCode)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Country code not allowed")))
-                .then(userRepository.existsByPhoneNumber(phone)
-                        .flatMap(exists -> {
-                            if (Boolean.TRUE.equals(exists)) {
-                                return Mono.error(new IllegalArgumentException("Phone number already registered"));
-                            }
-                            if (request.getEmail() != null && !request.getEmail().isBlank()) {
-                                return userRepository.existsByEmail(request.getEmail().trim())
-                                        .flatMap(emailExists -> {
-                                            if (Boolean.TRUE.equals(emailExists)) {
-                                                return Mono.error(new IllegalArgumentException("Email already registered"));
-                                            }
-                                            return createUserAndIssueTokens(request, phone, password, countryCode, preferredCurrency);
-                                        });
-                            }
-                            return createUserAndIssueTokens(request, phone, password, countryCode, preferredCurrency);
-                        }))
+        String email = request.getEmail() == null || request.getEmail().isBlank() ? null : request.getEmail().trim();
+
+        String resolvedPreferredLanguage = resolvePreferredLanguage(request.getPreferredLanguage());
+        if (resolvedPreferredLanguage.isBlank()) {
+            return Mono.error(new IllegalStateException("bantora.i18n.default-locale must not be blank"));
+        }
+
+        // Hashing starts together with the database pre-checks. When a check fails, zip cancels the hash: a queued
+        // hash never runs and its slot is freed.
+        Mono<Void> preChecks = registrationReadRepository.check(countryCode, phone, email)
+                .flatMap(check -> {
+                    if (!check.countryAllowed()) {
+                        return Mono.error(new IllegalArgumentException("Country code not allowed"));
+                    }
+                    if (check.phoneTaken()) {
+                        return Mono.error(new IllegalArgumentException(PHONE_TAKEN));
+                    }
+                    if (check.emailTaken()) {
+                        return Mono.error(new IllegalArgumentException(EMAIL_TAKEN));
+                    }
+                    return Mono.<Void>empty();
+                });
+
+        return Mono.zip(preChecks.thenReturn(Boolean.TRUE), passwordHashingExecutor.encode(password))
+                .flatMap(checkedAndHash -> createUserAndIssueTokens(
+                        request, phone, email, checkedAndHash.getT2(), countryCode, preferredCurrency, resolvedPreferredLanguage))
                 .doOnError(e -> log.error("Auth register failed for {}: {}", phone, e.toString()));
     }
 
-    public Mono<AuthResponse> login(LoginRequest request) {
+    public Mono<AuthResponse> login(LoginRequest request, String clientIp) {
         Objects.requireNonNull(request, "request");
 
         String phone = Objects.requireNonNull(request.getPhoneNumber(), "phoneNumber").trim();
         String password = Objects.requireNonNull(request.getPassword(), "password");
 
-        return userRepository.findByPhoneNumber(phone)
+        // The per-account bucket is taken before the lookup, so unknown numbers are throttled like real ones. It is
+        // keyed on the client IP as well, so guessing from one address cannot lock the owner out everywhere.
+        return rateLimiter.acquireLogin(phone, clientIp)
+                .flatMap(decision -> decision.allowed()
+                        ? userRepository.findByPhoneNumber(phone)
+                        : Mono.error(new RateLimitedException("Too many login attempts", decision.retryAfterMs())))
                 .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid credentials")))
                 .flatMap(user -> {
                     if (Boolean.FALSE.equals(user.getEnabled())) {
@@ -87,23 +106,38 @@ public class BantoraAuthService {
                     if (Boolean.FALSE.equals(user.getVerified())) {
                         return Mono.error(new IllegalStateException("Account not verified"));
                     }
-                    return Mono.fromCallable(() -> passwordEncoder.matches(password, user.getPasswordHash()))
-                            .subscribeOn(Schedulers.boundedElastic())
+                    return passwordHashingExecutor.matches(password, user.getPasswordHash())
                             .flatMap(matches -> {
                                 if (!Boolean.TRUE.equals(matches)) {
                                     return Mono.error(new BadCredentialsException("Invalid credentials"));
                                 }
 
-                                user.setLastLoginAt(LocalDateTime.now(ZoneOffset.UTC));
-                                user.setUpdatedAt(LocalDateTime.now(ZoneOffset.UTC));
+                                LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+                                user.setLastLoginAt(now);
 
-                                return userRepository.save(user)
+                                return lastLoginWriter.recordLogin(user.getPhoneNumber(), now)
+                                        .then(rehashIfOutdated(user, password, now))
                                         .then(issueTokensForUser(user));
                             });
                 })
                 .doOnError(e -> log.error("Auth login failed for {}: {}", phone, e.toString()));
     }
 
+    // Hashes stored with older Argon2 parameters are replaced while the plaintext is at hand. A refused or failed
+    // rehash never fails the login; the next login tries again.
+    private Mono<Void> rehashIfOutdated(BantoraUser user, String password, LocalDateTime now) {
+        if (!passwordHashingExecutor.needsRehash(user.getPasswordHash())) {
+            return Mono.empty();
+        }
+        return passwordHashingExecutor.encode(password)
+                .flatMap(passwordHash -> userRepository.updatePasswordHash(user.getPhoneNumber(), passwordHash, now))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Password rehash skipped for {}: {}", user.getPhoneNumber(), e.toString());
+                    return Mono.empty();
+                });
+    }
+
     public Mono<AuthResponse> refresh(String refreshToken) {
         String token = Objects.requireNonNull(refreshToken, "refreshToken").trim();
         if (token.toLowerCase().startsWith("bearer ")) {
@@ -114,37 +148,35 @@ public class BantoraAuthService {
             return Mono.error(new BadCredentialsException("Missing refresh token"));
         }
 
-        if (!jwtUtil.validateToken(token)) {
+        JwtUtil.TokenClaims claims = jwtUtil.parseToken(token);
+        if (claims == null) {
             return Mono.error(new BadCredentialsException("Invalid refresh token"));
         }
 
-        String type = jwtUtil.getTokenType(token);
-        if (type == null || !"refresh".equalsIgnoreCase(type)) {
+        if (!claims.isType("refresh")) {
             return Mono.error(new BadCredentialsException("Invalid refresh token type"));
         }
 
-        Instant exp = jwtUtil.getExpirationFromToken(token);
+        Instant exp = claims.expiresAt();
         if (exp == null || exp.isBefore(Instant.now())) {
             return Mono.error(new BadCredentialsException("Refresh token expired"));
         }
 
-        String phone = jwtUtil.getPhoneNumberFromToken(token);
+        String phone = claims.subject();
         if (phone == null || phone.isBlank()) {
             return Mono.error(new BadCredentialsException("Invalid refresh token subject"));
         }
 
-        return refreshTokenRepository.findByToken(token)
-                .switchIfEmpty(Mono.error(new BadCredentialsException("Refresh token not recognized")))
-                .flatMap(stored -> {
-                    if (Boolean.TRUE.equals(stored.getRevoked())) {
-                        return Mono.error(new BadCredentialsException("Refresh token revoked"));
-                    }
-                    stored.setRevoked(true);
-                    return refreshTokenRepository.save(stored)
-                            .then(userRepository.findByPhoneNumber(phone))
-                            .switchIfEmpty(Mono.error(new BadCredentialsException("User not found")))
-                            .flatMap(this::issueTokensForUser);
-                });
+        String currentToken = token;
+        return userRepository.findByPhoneNumber(phone)
+                .switchIfEmpty(Mono.error(new BadCredentialsException("User not found")))
+                .flatMap(user -> issueTokens(user, (nextToken, nextExpiresAt) ->
+                        refreshTokenStore.rotate(currentToken, phone, nextToken, nextExpiresAt)
+                                .flatMap(result -> switch (result) {
+                                    case ROTATED -> Mono.<Void>empty();
+                                    case REVOKED -> Mono.<Void>error(new BadCredentialsException("Refresh token revoked"));
+                                    case NOT_FOUND -> Mono.<Void>error(new BadCredentialsException("Refresh token not recognized"));
+                                })));
     }
 
     public Mono<Void> logout(String refreshToken) {
@@ -157,54 +189,57 @@ public class BantoraAuthService {
             return Mono.error(new IllegalArgumentException("Missing token"));
         }
 
-        return refreshTokenRepository.findByToken(token)
-                .switchIfEmpty(Mono.empty())
-                .flatMap(stored -> {
-                    stored.setRevoked(true);
-                    return refreshTokenRepository.save(stored).then();
-                });
+        return refreshTokenStore.revoke(token);
     }
 
-    private Mono<AuthResponse> createUserAndIssueTokens(RegisterRequest request, String phone, String password, String countryCode, String preferredCurrency) {
-        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-
-        String requestedPreferredLanguage = request.getPreferredLanguage();
-        final String resolvedPreferredLanguage;
-        if (requestedPreferredLanguage == null || requestedPreferredLanguage.isBlank()) {
-            String configuredDefaultLocale = Objects.requireNonNull(defaultLocale, "bantora.i18n.default-locale").trim();
-            if (configuredDefaultLocale.isBlank()) {
-                return Mono.error(new IllegalStateException("bantora.i18n.default-locale must not be blank"));
-            }
-            resolvedPreferredLanguage = configuredDefaultLocale;
-        } else {
-            resolvedPreferredLanguage = requestedPreferredLanguage.trim();
+    private String resolvePreferredLanguage(String requestedPreferredLanguage) {
+        if (requestedPreferredLanguage != null && !requestedPreferredLanguage.isBlank()) {
+            return requestedPreferredLanguage.trim();
         }
+        return Objects.requireNonNull(defaultLocale, "bantora.i18n.default-locale").trim();
+    }
 
-        return Mono.fromCallable(() -> passwordEncoder.encode(password))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(passwordHash -> {
-                    BantoraUser user = BantoraUser.builder()
-                            .phoneNumber(phone)
-                            .passwordHash(passwordHash)
-                            .fullName(request.getFullName())
-                            .email(request.getEmail())
-                            .countryCode(countryCode)
-                            .verified(true)
-                            .enabled(true)
-                            .preferredLanguage(resolvedPreferredLanguage)
-                            .preferredCurrency(preferredCurrency)
-                            .createdAt(now)
-                            .updatedAt(now)
-                            .lastLoginAt(now)
-                            .build();
-
-                    // Explicit INSERT (R2dbcRepository.save may attempt UPDATE when @Id is non-null)
-                    return entityTemplate.insert(Objects.requireNonNull(user, "user"))
-                            .flatMap(saved -> issueTokensForUser(Objects.requireNonNull(saved, "savedUser")));
-                });
+    private Mono<AuthResponse> createUserAndIssueTokens(
+            RegisterRequest request,
+            String phone,
+            String email,
+            String passwordHash,
+            String countryCode,
+            String preferredCurrency,
+            String preferredLanguage
+    ) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        BantoraUser user = BantoraUser.builder()
+                .phoneNumber(phone)
+                .passwordHash(passwordHash)
+                .fullName(request.getFullName())
+                .email(email)
+                .countryCode(countryCode)
+                .verified(true)
+                .enabled(true)
+                .preferredLanguage(preferredLanguage)
+                .preferredCurrency(preferredCurrency)
+                .createdAt(now)
+                .updatedAt(now)
+                .lastLoginAt(now)
+                .build();
+
+        // Explicit INSERT (R2dbcRepository.save may attempt UPDATE when @Id is non-null). The unique constraints are
+        // the real guard against concurrent registrations; a conflict reports the same message as the pre-check.
+        return entityTemplate.insert(Objects.requireNonNull(user, "user"))
+                .onErrorMap(DuplicateKeyException.class, e -> new IllegalArgumentException(
+                        String.valueOf(e.getMessage()).contains(EMAIL_UNIQUE_INDEX) ? EMAIL_TAKEN : PHONE_TAKEN))
+                .flatMap(saved -> issueTokensForUser(Objects.requireNonNull(saved, "savedUser")));
     }
 
     private Mono<AuthResponse> issueTokensForUser(BantoraUser user) {
+        return issueTokens(user, (refreshToken, refreshExpiresAt) ->
+                refreshTokenStore.store(refreshToken, user.getPhoneNumber(), refreshExpiresAt));
+    }
+
+    // persistRefreshToken either stores the new refresh token or atomically swaps it in for the presented one;
+    // the response is only built once that write succeeded.
+    private Mono<AuthResponse> issueTokens(BantoraUser user, BiFunction<String, Instant, Mono<Void>> persistRefreshToken) {
         String phone = Objects.requireNonNull(user.getPhoneNumber(), "user.phoneNumber");
 
         String accessToken = jwtUtil.generateAccessToken(phone, DEFAULT_ROLES);
@@ -219,17 +254,7 @@ public class BantoraAuthService {
             return Mono.error(new IllegalStateException("Refresh token expiration missing"));
         }
 
-        BantoraRefreshToken refreshEntity = BantoraRefreshToken.builder()
-                .id(UUID.randomUUID())
-                .token(refreshToken)
-                .userPhone(phone)
-                .expiresAt(LocalDateTime.ofInstant(refreshExpiresAt, ZoneOffset.UTC))
-                .revoked(false)
-                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
-                .build();
-
-        // Explicit INSERT (R2dbcRepository.save may attempt UPDATE when @Id is non-null)
-        return entityTemplate.insert(Objects.requireNonNull(refreshEntity, "refreshEntity"))
+        return persistRefreshToken.apply(refreshToken, refreshExpiresAt)
                 .thenReturn(AuthResponse.builder()
                         .accessToken(accessToken)
                         .refreshToken(refreshToken)
@@ -10,6 +10,7 @@ import com.t3ratech.bantora.repository.BantoraHashtagRepository;
 import com.t3ratech.bantora.repository.BantoraIdeaRepository;
 import com.t3ratech.bantora.repository.BantoraIdeaHashtagLinkRepository;
 import com.t3ratech.bantora.repository.BantoraIdeaHashtagReadRepository;
+import com.t3ratech.bantora.repository.BantoraPollSourceIdeaReadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -33,14 +35,17 @@ import java.util.UUID;
 public class BantoraIdeaService {
 
     private static final int MAX_HASHTAG_LENGTH = 64;
+    private static final int TAG_LOOKUP_CONCURRENCY = 16;
 
     private final BantoraIdeaRepository ideaRepository;
     private final BantoraCategoryRepository categoryRepository;
     private final BantoraHashtagRepository hashtagRepository;
     private final BantoraIdeaHashtagLinkRepository ideaHashtagLinkRepository;
     private final BantoraIdeaHashtagReadRepository ideaHashtagReadRepository;
+    private final BantoraPollSourceIdeaReadRepository pollSourceIdeaReadRepository;
     private final R2dbcEntityTemplate entityTemplate;
     private final TransactionalOperator transactionalOperator;
+    private final IdeaDuplicateIndex duplicateIndex;
 
     public Flux<BantoraIdeaResponse> getPendingIdeas() {
         return ideaRepository.findByStatusOrderByCreatedAtDesc(BantoraIdeaStatus.PENDING)
@@ -81,9 +86,10 @@ public class BantoraIdeaService {
             ideas = ideaRepository.findByStatusOrderByCreatedAtDesc(resolvedStatus);
         }
 
-        return ideas.flatMap(idea -> ideaHashtagReadRepository.findTagsByIdeaId(idea.getId())
+        // Sequential merge keeps the query order for streaming clients and bounds rows requested ahead of the tag lookups.
+        return ideas.flatMapSequential(idea -> ideaHashtagReadRepository.findTagsByIdeaId(idea.getId())
                 .collectList()
-                .map(tags -> toResponse(idea, tags)));
+                .map(tags -> toResponse(idea, tags)), TAG_LOOKUP_CONCURRENCY);
     }
 
     public Mono<BantoraIdeaResponse> getIdeaById(UUID ideaId) {
@@ -93,6 +99,11 @@ public class BantoraIdeaService {
                         .map(tags -> toResponse(idea, tags)));
     }
 
+    public Flux<BantoraIdeaResponse> getSourceIdeasForPoll(UUID pollId) {
+        return pollSourceIdeaReadRepository.findIdeasByPollId(Objects.requireNonNull(pollId, "pollId"))
+                .map(sourceIdea -> toResponse(sourceIdea.idea(), sourceIdea.tags()));
+    }
+
     public Mono<BantoraIdeaResponse> createIdea(String userPhone, BantoraCreateIdeaRequest request) {
         if (request == null) {
             return Mono.error(new IllegalArgumentException("Missing request body"));
@@ -114,6 +125,34 @@ public class BantoraIdeaService {
             return Mono.error(new IllegalArgumentException("Missing required field: hashtags"));
         }
 
+        // A near-copy of a recent pending idea under the same hashtag and category becomes an upvote of that idea
+        // (or nothing, when the author submits their own idea again). If the match is no longer pending, for
+        // example converted by another instance, it is dropped from the index and the idea is stored as usual.
+        Optional<IdeaDuplicateIndex.Match> duplicate = duplicateIndex.findDuplicate(hashtags, categoryId, content);
+        if (duplicate.isPresent()) {
+            IdeaDuplicateIndex.Match match = duplicate.get();
+            return foldIntoDuplicate(userPhone, match)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        duplicateIndex.remove(List.of(match.ideaId()));
+                        return insertIdea(userPhone, content, categoryId, hashtags);
+                    }));
+        }
+        return insertIdea(userPhone, content, categoryId, hashtags);
+    }
+
+    private Mono<BantoraIdeaResponse> foldIntoDuplicate(String userPhone, IdeaDuplicateIndex.Match match) {
+        Mono<BantoraIdea> existing = Objects.equals(userPhone, match.userPhone())
+                ? ideaRepository.findById(match.ideaId()).filter(idea -> idea.getStatus() == BantoraIdeaStatus.PENDING)
+                : ideaRepository.incrementUpvotesIfPending(match.ideaId());
+        return existing.flatMap(idea -> {
+            log.info("Submitted idea folded into pending idea {} (similarity {})", idea.getId(), match.similarity());
+            return ideaHashtagReadRepository.findTagsByIdeaId(idea.getId())
+                    .collectList()
+                    .map(tags -> toResponse(idea, tags));
+        });
+    }
+
+    private Mono<BantoraIdeaResponse> insertIdea(String userPhone, String content, UUID categoryId, List<String> hashtags) {
         Mono<Void> requireValidCategory = categoryRepository.findById(categoryId)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Invalid categoryId")))
                 .then();
@@ -140,17 +179,14 @@ public class BantoraIdeaService {
                         .then(ideaHashtagReadRepository.findTagsByIdeaId(savedIdea.getId()).collectList())
                         .map(tags -> toResponse(savedIdea, tags)));
 
-        return transactionalOperator.transactional(tx);
+        // Indexed only after commit, so a rolled-back idea is never matched.
+        return transactionalOperator.transactional(tx)
+                .doOnNext(response -> duplicateIndex.add(idea, response.getHashtags()));
     }
 
     public Mono<BantoraIdeaResponse> upvoteIdea(UUID ideaId) {
-        return ideaRepository.findById(Objects.requireNonNull(ideaId, "ideaId"))
+        return ideaRepository.incrementUpvotes(Objects.requireNonNull(ideaId, "ideaId"))
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Idea not found")))
-                .flatMap(idea -> {
-                    long currentUpvotes = idea.getUpvotes() == null ? 0L : idea.getUpvotes();
-                    idea.setUpvotes(currentUpvotes + 1L);
-                    return ideaRepository.save(idea);
-                })
                 .flatMap(updated -> ideaHashtagReadRepository.findTagsByIdeaId(updated.getId())
                         .collectList()
                         .map(tags -> toResponse(updated, tags)));
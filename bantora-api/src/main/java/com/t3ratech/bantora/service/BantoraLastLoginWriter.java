@@ -0,0 +1,135 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.repository.BantoraUserWriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Collects last-login timestamps in memory (latest per user) and writes them in batches, so login latency does not
+// include a bantora_user write. Pending timestamps are lost only if the process dies without a graceful shutdown.
+@Component
+@Slf4j
+public class BantoraLastLoginWriter {
+
+    private final BantoraUserWriteRepository userWriteRepository;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushTimeout;
+
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Timer flushTimer;
+    private final Counter flushedLogins;
+
+    public BantoraLastLoginWriter(
+            BantoraUserWriteRepository userWriteRepository,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.auth.last-login.batch.enabled}") boolean enabled,
+            @Value("${bantora.auth.last-login.batch.batch-size}") int batchSize,
+            @Value("${bantora.auth.last-login.batch.flush-timeout-ms}") long flushTimeoutMs
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalStateException("bantora.auth.last-login.batch.batch-size must be > 0");
+        }
+        if (flushTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.auth.last-login.batch.flush-timeout-ms must be > 0");
+        }
+
+        this.userWriteRepository = userWriteRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushTimeout = Duration.ofMillis(flushTimeoutMs);
+
+        Gauge.builder("bantora.auth.last-login.pending", pending, Map::size)
+                .description("Users whose last login is not yet written to bantora_user")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("bantora.auth.last-login.flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedLogins = Counter.builder("bantora.auth.last-login.flushed").register(meterRegistry);
+    }
+
+    // Disabled: the timestamp is written immediately (still a two-column update, not a full row save).
+    public Mono<Void> recordLogin(String phoneNumber, LocalDateTime loginAt) {
+        Objects.requireNonNull(phoneNumber, "phoneNumber");
+        Objects.requireNonNull(loginAt, "loginAt");
+        if (!enabled) {
+            return userWriteRepository.updateLastLogins(Map.of(phoneNumber, loginAt)).then();
+        }
+        pending.merge(phoneNumber, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+        return Mono.empty();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.auth.last-login.batch.flush-interval-ms}")
+    public void flushScheduled() {
+        if (!enabled) {
+            return;
+        }
+        flushAll();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        flushAll();
+        if (!pending.isEmpty()) {
+            log.error("Last-login shutdown flush incomplete: {} timestamps not persisted", pending.size());
+        }
+    }
+
+    synchronized long flushAll() {
+        long written = 0;
+        while (!pending.isEmpty()) {
+            Map<String, LocalDateTime> batch = nextBatch();
+            long start = System.nanoTime();
+            try {
+                Long updated = userWriteRepository.updateLastLogins(batch).block(flushTimeout);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushedLogins.increment(batch.size());
+                written += updated == null ? 0 : updated;
+            } catch (RuntimeException e) {
+                // Put the batch back without overwriting newer logins recorded meanwhile; retried on the next flush.
+                batch.forEach((phone, loginAt) -> pending.merge(phone, loginAt, (current, failed) -> current.isAfter(failed) ? current : failed));
+                log.error("Last-login flush of {} users failed, will retry: {}", batch.size(), e.toString());
+                return written;
+            }
+        }
+        return written;
+    }
+
+    private Map<String, LocalDateTime> nextBatch() {
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        Iterator<String> phones = pending.keySet().iterator();
+        while (phones.hasNext() && batch.size() < batchSize) {
+            String phone = phones.next();
+            LocalDateTime loginAt = pending.remove(phone);
+            if (loginAt != null) {
+                batch.put(phone, loginAt);
+            }
+        }
+        return batch;
+    }
+}
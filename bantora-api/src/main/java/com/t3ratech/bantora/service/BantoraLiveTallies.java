@@ -0,0 +1,251 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.entity.BantoraPollOption;
+import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
+import com.t3ratech.bantora.repository.BantoraPollRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory vote tallies per poll and option. Counters are LongAdders so concurrent votes on a hot poll do not
+// contend on one cache line; values are seeded from persisted counts on first read and reconciled periodically.
+// Tallies are per instance: a vote taken by another instance shows up here only once it is persisted and the next
+// reconcile has run. Idle polls are dropped after the idle TTL; nothing evicts a poll explicitly.
+@Component
+@Slf4j
+public class BantoraLiveTallies {
+
+    private static final Duration RECONCILE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final BantoraPollRepository pollRepository;
+    private final BantoraPollOptionRepository optionRepository;
+    private final BantoraVoteBuffer voteBuffer;
+
+    private final boolean enabled;
+    private final long idleTtlNanos;
+
+    private final Map<UUID, PollTally> tallies = new ConcurrentHashMap<>();
+
+    private final Timer reconcileTimer;
+    private final Counter corrections;
+
+    private static final class PollTally {
+        private final LongAdder totalVotes = new LongAdder();
+        private final Map<UUID, LongAdder> optionVotes = new ConcurrentHashMap<>();
+        private volatile long lastTouchedNanos = System.nanoTime();
+
+        private PollTally(long persistedTotalVotes) {
+            totalVotes.add(persistedTotalVotes);
+        }
+
+        private void touch() {
+            lastTouchedNanos = System.nanoTime();
+        }
+    }
+
+    public BantoraLiveTallies(
+            BantoraPollRepository pollRepository,
+            BantoraPollOptionRepository optionRepository,
+            BantoraVoteBuffer voteBuffer,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.tally.enabled}") boolean enabled,
+            @Value("${bantora.tally.idle-ttl-ms}") long idleTtlMs
+    ) {
+        if (idleTtlMs <= 0) {
+            throw new IllegalStateException("bantora.tally.idle-ttl-ms must be > 0");
+        }
+
+        this.pollRepository = pollRepository;
+        this.optionRepository = optionRepository;
+        this.voteBuffer = voteBuffer;
+        this.enabled = enabled;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+
+        Gauge.builder("bantora.tally.polls", tallies, Map::size)
+                .description("Polls with live in-memory tallies")
+                .register(meterRegistry);
+        this.reconcileTimer = Timer.builder("bantora.tally.reconcile")
+                .description("Latency of one tally reconciliation pass against the database")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("bantora.tally.corrections")
+                .description("Absolute vote drift corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long totalVotes(UUID pollId, Long persistedTotalVotes) {
+        long persisted = persistedTotalVotes == null ? 0L : persistedTotalVotes;
+        if (!enabled) {
+            return persisted;
+        }
+        PollTally tally = tallies.computeIfAbsent(pollId, id -> new PollTally(persisted));
+        tally.touch();
+        return tally.totalVotes.sum();
+    }
+
+    public long optionVotes(UUID pollId, UUID optionId, Long persistedVotesCount) {
+        long persisted = persistedVotesCount == null ? 0L : persistedVotesCount;
+        if (!enabled) {
+            return persisted;
+        }
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            return persisted;
+        }
+        return tally.optionVotes.computeIfAbsent(optionId, id -> {
+            LongAdder adder = new LongAdder();
+            adder.add(persisted);
+            return adder;
+        }).sum();
+    }
+
+    // Read-only variants for counts served from a cache: they never seed a tally, so a stale cached count cannot
+    // become the live value. Untracked polls and options keep the cached count.
+    public long trackedTotalVotes(UUID pollId, Long cachedTotalVotes) {
+        long cached = cachedTotalVotes == null ? 0L : cachedTotalVotes;
+        PollTally tally = enabled ? tallies.get(pollId) : null;
+        if (tally == null) {
+            return cached;
+        }
+        tally.touch();
+        return tally.totalVotes.sum();
+    }
+
+    public long trackedOptionVotes(UUID pollId, UUID optionId, Long cachedVotesCount) {
+        long cached = cachedVotesCount == null ? 0L : cachedVotesCount;
+        PollTally tally = enabled ? tallies.get(pollId) : null;
+        LongAdder option = tally == null ? null : tally.optionVotes.get(optionId);
+        return option == null ? cached : option.sum();
+    }
+
+    // Only bumps counters that are already tracked; an untracked poll/option is seeded from the database on next read.
+    public void recordVote(UUID pollId, UUID optionId) {
+        if (!enabled) {
+            return;
+        }
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            return;
+        }
+        LongAdder option = tally.optionVotes.get(optionId);
+        if (option != null) {
+            option.increment();
+        }
+        tally.totalVotes.increment();
+        tally.touch();
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.tally.reconcile-interval-ms}")
+    public void reconcileScheduled() {
+        if (!enabled || tallies.isEmpty()) {
+            return;
+        }
+        try {
+            Long corrected = reconcile().block(RECONCILE_TIMEOUT);
+            if (corrected != null && corrected > 0) {
+                log.info("Live tally reconciliation corrected {} votes of drift", corrected);
+            }
+        } catch (RuntimeException e) {
+            log.error("Live tally reconciliation failed: {}", e.toString());
+        }
+    }
+
+    // Sets each tracked counter to persisted + buffered-but-unflushed votes. A counter that moved while the
+    // database was being read is left alone this pass; corrections are relative, so concurrent votes are never lost.
+    Mono<Long> reconcile() {
+        evictIdle();
+        List<UUID> pollIds = List.copyOf(tallies.keySet());
+        if (pollIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        long start = System.nanoTime();
+        Map<UUID, Long> totalsBefore = new HashMap<>();
+        Map<UUID, Long> optionsBefore = new HashMap<>();
+        for (UUID pollId : pollIds) {
+            PollTally tally = tallies.get(pollId);
+            if (tally != null) {
+                totalsBefore.put(pollId, tally.totalVotes.sum());
+                tally.optionVotes.forEach((optionId, adder) -> optionsBefore.put(optionId, adder.sum()));
+            }
+        }
+
+        Mono<Map<UUID, Long>> persistedTotals = pollRepository.findAllById(pollIds)
+                .collectMap(BantoraPoll::getId, poll -> nullToZero(poll.getTotalVotes()));
+        Mono<Map<UUID, Long>> persistedOptions = optionRepository.findByPollIds(pollIds.toArray(UUID[]::new))
+                .collectMap(BantoraPollOption::getId, option -> nullToZero(option.getVotesCount()));
+
+        return Mono.zip(persistedTotals, persistedOptions)
+                .map(persisted -> {
+                    BantoraVoteBuffer.PendingCounts pending = voteBuffer.pendingCounts();
+                    long drift = 0L;
+                    for (UUID pollId : totalsBefore.keySet()) {
+                        PollTally tally = tallies.get(pollId);
+                        if (tally == null) {
+                            continue;
+                        }
+                        Long persistedTotal = persisted.getT1().get(pollId);
+                        if (persistedTotal == null) {
+                            tallies.remove(pollId);
+                            continue;
+                        }
+                        drift += correct(tally.totalVotes, totalsBefore.get(pollId),
+                                persistedTotal + pending.byPoll().getOrDefault(pollId, 0L));
+
+                        for (Map.Entry<UUID, LongAdder> option : tally.optionVotes.entrySet()) {
+                            Long persistedVotes = persisted.getT2().get(option.getKey());
+                            Long before = optionsBefore.get(option.getKey());
+                            if (persistedVotes == null) {
+                                tally.optionVotes.remove(option.getKey());
+                            } else if (before != null) {
+                                drift += correct(option.getValue(), before,
+                                        persistedVotes + pending.byOption().getOrDefault(option.getKey(), 0L));
+                            }
+                        }
+                    }
+                    corrections.increment(drift);
+                    reconcileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return drift;
+                });
+    }
+
+    private static long correct(LongAdder adder, long before, long expected) {
+        long current = adder.sum();
+        if (current != before) {
+            return 0L;
+        }
+        long drift = expected - current;
+        if (drift != 0L) {
+            adder.add(drift);
+        }
+        return Math.abs(drift);
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        tallies.entrySet().removeIf(entry -> now - entry.getValue().lastTouchedNanos > idleTtlNanos);
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.t3ratech.bantora.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.t3ratech.bantora.dto.response.BantoraPollOptionResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// In-process cache of assembled poll detail responses. Entries are treated as immutable: votes swap in a patched
+// copy, so a response already handed to a caller is never modified. Metrics: cache.gets/evictions/size{cache=poll-detail}.
+@Component
+public class BantoraPollDetailCache {
+
+    private static final String CACHE_NAME = "poll-detail";
+
+    private final boolean enabled;
+    private final Cache<UUID, BantoraPollResponse> cache;
+
+    public BantoraPollDetailCache(
+            MeterRegistry meterRegistry,
+            @Value("${bantora.poll.cache.enabled}") boolean enabled,
+            @Value("${bantora.poll.cache.max-size}") long maxSize,
+            @Value("${bantora.poll.cache.ttl-ms}") long ttlMs
+    ) {
+        if (maxSize <= 0) {
+            throw new IllegalStateException("bantora.poll.cache.max-size must be > 0");
+        }
+        if (ttlMs <= 0) {
+            throw new IllegalStateException("bantora.poll.cache.ttl-ms must be > 0");
+        }
+
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Mono<BantoraPollResponse> get(UUID pollId, Function<UUID, Mono<BantoraPollResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(pollId);
+        }
+        BantoraPollResponse cached = cache.getIfPresent(pollId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return loader.apply(pollId)
+                .doOnNext(loaded -> cache.put(pollId, loaded));
+    }
+
+    // Direct votes know the exact post-insert counters; max() keeps out-of-order patches from moving counts backwards.
+    public void applyCounts(UUID pollId, UUID optionId, long optionVotesCount, long pollTotalVotes) {
+        patch(pollId, poll -> withCounts(poll, optionId,
+                current -> Math.max(current, optionVotesCount),
+                current -> Math.max(current, pollTotalVotes)));
+    }
+
+    public void recordVote(UUID pollId, UUID optionId) {
+        patch(pollId, poll -> withCounts(poll, optionId, current -> current + 1, current -> current + 1));
+    }
+
+    public void invalidate(UUID pollId) {
+        cache.invalidate(pollId);
+    }
+
+    private void patch(UUID pollId, UnaryOperator<BantoraPollResponse> patcher) {
+        if (!enabled) {
+            return;
+        }
+        cache.asMap().computeIfPresent(pollId, (id, poll) -> patcher.apply(poll));
+    }
+
+    private static BantoraPollResponse withCounts(
+            BantoraPollResponse poll,
+            UUID optionId,
+            UnaryOperator<Long> optionVotes,
+            UnaryOperator<Long> totalVotes
+    ) {
+        List<BantoraPollOptionResponse> options = poll.getOptions() == null ? List.of() : poll.getOptions().stream()
+                .map(option -> optionId.equals(option.getId())
+                        ? option.toBuilder().votesCount(optionVotes.apply(nullToZero(option.getVotesCount()))).build()
+                        : option)
+                .toList();
+        return poll.toBuilder()
+                .totalVotes(totalVotes.apply(nullToZero(poll.getTotalVotes())))
+                .options(options)
+                .build();
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,202 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.dto.response.BantoraPollPageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Feed pages shared by all API instances through Redis. Keys embed a feed version; creating a poll or changing its
+// status bumps the version in Redis and publishes it, so every instance moves to fresh keys and old pages age out by TTL.
+@Component
+@Slf4j
+public class BantoraPollFeedCache {
+
+    static final String KEY_PREFIX = "bantora:poll-feed:";
+    static final String VERSION_KEY = KEY_PREFIX + "version";
+    static final String INVALIDATION_CHANNEL = KEY_PREFIX + "invalidate";
+
+    // Bump when the cached BantoraPollPageResponse JSON shape changes so old instances and new ones never share keys.
+    private static final String FORMAT = "f1";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration redisTimeout;
+
+    private final AtomicLong feedVersion = new AtomicLong();
+    private volatile Disposable invalidationSubscription;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Counter invalidations;
+
+    public BantoraPollFeedCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.poll.feed.cache.enabled}") boolean enabled,
+            @Value("${bantora.poll.feed.cache.ttl-ms}") long ttlMs,
+            @Value("${bantora.poll.feed.cache.redis-timeout-ms}") long redisTimeoutMs
+    ) {
+        if (ttlMs <= 0) {
+            throw new IllegalStateException("bantora.poll.feed.cache.ttl-ms must be > 0");
+        }
+        if (redisTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.poll.feed.cache.redis-timeout-ms must be > 0");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.redisTimeout = Duration.ofMillis(redisTimeoutMs);
+
+        this.hits = Counter.builder("bantora.poll.feed.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bantora.poll.feed.cache").tag("result", "miss").register(meterRegistry);
+        this.errors = Counter.builder("bantora.poll.feed.cache").tag("result", "error").register(meterRegistry);
+        this.invalidations = Counter.builder("bantora.poll.feed.cache.invalidations").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToInvalidations() {
+        if (!enabled) {
+            return;
+        }
+        // Re-read the version on every (re)subscribe so bumps published while disconnected are not missed.
+        invalidationSubscription = Mono.defer(this::refreshVersion)
+                .thenMany(redisTemplate.listenToChannel(INVALIDATION_CHANNEL))
+                .doOnNext(message -> observeVersion(Long.parseLong(message.getMessage())))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Poll feed invalidation listener failed, resubscribing: {}",
+                                signal.failure().toString())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        Disposable subscription = invalidationSubscription;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<BantoraPollPageResponse> getPage(
+            String sort,
+            UUID categoryId,
+            String hashtag,
+            String cursor,
+            int pageSize,
+            Supplier<Mono<BantoraPollPageResponse>> loader
+    ) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = key(sort, categoryId, hashtag, cursor, pageSize);
+
+        return redisTemplate.opsForValue().get(key)
+                .timeout(redisTimeout)
+                .map(this::deserialize)
+                .doOnNext(page -> hits.increment())
+                .onErrorResume(e -> {
+                    errors.increment();
+                    log.debug("Poll feed cache read failed for {}: {}", key, e.toString());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    misses.increment();
+                    return loader.get().flatMap(page -> store(key, page).thenReturn(page));
+                }));
+    }
+
+    // Call after the change is committed. Failures are logged only: cached pages still expire after the TTL.
+    public Mono<Void> invalidate() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().increment(VERSION_KEY)
+                .flatMap(version -> {
+                    observeVersion(version);
+                    invalidations.increment();
+                    return redisTemplate.convertAndSend(INVALIDATION_CHANNEL, Long.toString(version));
+                })
+                .timeout(redisTimeout)
+                .then()
+                .onErrorResume(e -> {
+                    errors.increment();
+                    log.warn("Poll feed cache invalidation failed: {}", e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    long currentVersion() {
+        return feedVersion.get();
+    }
+
+    // The hashtag arrives normalised by BantoraPollService, the same value its loader queries with.
+    String key(String sort, UUID categoryId, String hashtag, String cursor, int pageSize) {
+        return KEY_PREFIX + FORMAT
+                + ":v" + feedVersion.get()
+                + ":" + ("votes".equalsIgnoreCase(sort) ? "votes" : "created")
+                + ":" + (categoryId == null ? "-" : categoryId)
+                + ":" + (hashtag == null ? "-" : hashtag)
+                + ":" + (cursor == null || cursor.isBlank() ? "-" : cursor)
+                + ":" + pageSize;
+    }
+
+    private Mono<Void> refreshVersion() {
+        return redisTemplate.opsForValue().get(VERSION_KEY)
+                .doOnNext(version -> observeVersion(Long.parseLong(version)))
+                .then();
+    }
+
+    private void observeVersion(long version) {
+        feedVersion.accumulateAndGet(version, Math::max);
+    }
+
+    private Mono<Void> store(String key, BantoraPollPageResponse page) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(page);
+        } catch (JsonProcessingException e) {
+            errors.increment();
+            log.warn("Poll feed page could not be serialized for caching: {}", e.toString());
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(key, json, ttl)
+                .timeout(redisTimeout)
+                .then()
+                .onErrorResume(e -> {
+                    errors.increment();
+                    log.debug("Poll feed cache write failed for {}: {}", key, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private BantoraPollPageResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, BantoraPollPageResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt poll feed cache entry", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.repository.BantoraPollRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque keyset cursor: the sort key and id of the last poll on a page, base64url-encoded so clients treat it as a token.
+record BantoraPollFeedCursor(boolean sortByVotes, LocalDateTime createdAt, long totalVotes, UUID id) {
+
+    private static final String CREATED = "c";
+    private static final String VOTES = "v";
+
+    static BantoraPollFeedCursor start(boolean sortByVotes) {
+        return new BantoraPollFeedCursor(
+                sortByVotes,
+                BantoraPollRepository.FEED_START_CREATED_AT,
+                BantoraPollRepository.FEED_START_TOTAL_VOTES,
+                BantoraPollRepository.FEED_START_ID);
+    }
+
+    static BantoraPollFeedCursor after(BantoraPoll poll, boolean sortByVotes) {
+        return new BantoraPollFeedCursor(
+                sortByVotes,
+                poll.getCreatedAt(),
+                poll.getTotalVotes() == null ? 0L : poll.getTotalVotes(),
+                poll.getId());
+    }
+
+    static BantoraPollFeedCursor decode(String cursor, boolean sortByVotes) {
+        if (cursor == null || cursor.isBlank()) {
+            return start(sortByVotes);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 3);
+            if (parts.length != 3 || !(sortByVotes ? VOTES : CREATED).equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            UUID id = UUID.fromString(parts[2]);
+            return sortByVotes
+                    ? new BantoraPollFeedCursor(true, BantoraPollRepository.FEED_START_CREATED_AT, Long.parseLong(parts[1]), id)
+                    : new BantoraPollFeedCursor(false, LocalDateTime.parse(parts[1]), BantoraPollRepository.FEED_START_TOTAL_VOTES, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    boolean isStart() {
+        return BantoraPollRepository.FEED_START_ID.equals(id);
+    }
+
+    String encode() {
+        String key = sortByVotes ? VOTES + "|" + totalVotes : CREATED + "|" + createdAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
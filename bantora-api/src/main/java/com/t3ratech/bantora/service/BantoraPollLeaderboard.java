@@ -0,0 +1,258 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.repository.BantoraPollLeaderboardReadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+// Redis sorted sets of active polls by total votes, one per scope (global, category, hashtag). Votes bump the poll in
+// every scope it belongs to; ended polls are pruned using an end-time index. The sets are rebuilt on a schedule with the
+// exact score (persisted total plus buffered votes), which also drops increments for votes the flush skipped.
+@Component
+@Slf4j
+public class BantoraPollLeaderboard {
+
+    static final String KEY_PREFIX = "bantora:poll-leaderboard:";
+    static final String GLOBAL_KEY = KEY_PREFIX + "global";
+    static final String ENDS_KEY = KEY_PREFIX + "ends";
+    static final String READY_KEY = KEY_PREFIX + "ready";
+    static final String SCOPES_KEY_PREFIX = KEY_PREFIX + "scopes:";
+
+    private static final Duration SCHEDULED_TIMEOUT = Duration.ofMinutes(2);
+    private static final int REBUILD_CONCURRENCY = 16;
+    private static final int PRUNE_BATCH_SIZE = 500;
+
+    // KEYS[1] = scopes set of the poll; ARGV = poll id, delta. Only scopes still holding the poll are bumped, so a
+    // late vote cannot re-insert a pruned poll.
+    private static final RedisScript<Long> RECORD_VOTE = RedisScript.of("""
+            local scopes = redis.call('SMEMBERS', KEYS[1])
+            for _, key in ipairs(scopes) do
+              if redis.call('ZSCORE', key, ARGV[1]) then
+                redis.call('ZINCRBY', key, ARGV[2], ARGV[1])
+              end
+            end
+            return #scopes
+            """, Long.class);
+
+    // KEYS[1] = scopes set, KEYS[2] = end-time index, KEYS[3..] = scope sorted sets; ARGV = poll id, votes, end epoch.
+    private static final RedisScript<Long> REGISTER = RedisScript.of("""
+            for i = 3, #KEYS do
+              redis.call('ZADD', KEYS[i], ARGV[2], ARGV[1])
+              redis.call('SADD', KEYS[1], KEYS[i])
+            end
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+            return #KEYS - 2
+            """, Long.class);
+
+    // KEYS[1] = end-time index; ARGV = max end epoch, batch size, scopes key prefix.
+    private static final RedisScript<Long> PRUNE = RedisScript.of("""
+            local ended = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, pollId in ipairs(ended) do
+              local scopesKey = ARGV[3] .. pollId
+              for _, key in ipairs(redis.call('SMEMBERS', scopesKey)) do
+                redis.call('ZREM', key, pollId)
+              end
+              redis.call('DEL', scopesKey)
+              redis.call('ZREM', KEYS[1], pollId)
+            end
+            return #ended
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final BantoraPollLeaderboardReadRepository leaderboardReadRepository;
+    // Provider because the vote buffer itself depends on the leaderboard (it retracts skipped votes).
+    private final ObjectProvider<BantoraVoteBuffer> voteBuffer;
+
+    private final boolean enabled;
+    private final Duration redisTimeout;
+
+    private final Counter reads;
+    private final Counter fallbacks;
+    private final Counter pruned;
+
+    public BantoraPollLeaderboard(
+            ReactiveStringRedisTemplate redisTemplate,
+            BantoraPollLeaderboardReadRepository leaderboardReadRepository,
+            ObjectProvider<BantoraVoteBuffer> voteBuffer,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.poll.leaderboard.enabled}") boolean enabled,
+            @Value("${bantora.poll.leaderboard.redis-timeout-ms}") long redisTimeoutMs
+    ) {
+        if (redisTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.poll.leaderboard.redis-timeout-ms must be > 0");
+        }
+
+        this.redisTemplate = redisTemplate;
+        this.leaderboardReadRepository = leaderboardReadRepository;
+        this.voteBuffer = voteBuffer;
+        this.enabled = enabled;
+        this.redisTimeout = Duration.ofMillis(redisTimeoutMs);
+
+        this.reads = Counter.builder("bantora.poll.leaderboard.reads").register(meterRegistry);
+        this.fallbacks = Counter.builder("bantora.poll.leaderboard.fallbacks")
+                .description("Popular-feed reads served by Postgres because the leaderboard was unavailable")
+                .register(meterRegistry);
+        this.pruned = Counter.builder("bantora.poll.leaderboard.pruned").register(meterRegistry);
+    }
+
+    // Category + hashtag together has no dedicated set; those feeds keep using the SQL ordering.
+    public boolean supports(UUID categoryId, String hashtag) {
+        return enabled && (categoryId == null || normalizeTag(hashtag) == null);
+    }
+
+    // Highest-voted poll ids (ties by id descending, like the SQL feed). Empty when the leaderboard has not been
+    // built yet or Redis is unreachable, so callers fall back to Postgres.
+    public Mono<List<UUID>> topPollIds(UUID categoryId, String hashtag, int count) {
+        if (!supports(categoryId, hashtag) || count <= 0) {
+            return Mono.empty();
+        }
+        String key = scopeKey(categoryId, hashtag);
+
+        return redisTemplate.hasKey(READY_KEY)
+                .filter(Boolean.TRUE::equals)
+                .flatMap(ready -> redisTemplate.opsForZSet()
+                        .reverseRange(key, Range.closed(0L, count - 1L))
+                        .map(UUID::fromString)
+                        .collectList())
+                .timeout(redisTimeout)
+                .doOnNext(ids -> reads.increment())
+                .onErrorResume(e -> {
+                    log.debug("Poll leaderboard read failed for {}: {}", key, e.toString());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.fromRunnable(fallbacks::increment));
+    }
+
+    // A negative delta takes back a vote that was counted when buffered but skipped at flush.
+    public Mono<Void> recordVote(UUID pollId, long delta) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.execute(RECORD_VOTE, List.of(SCOPES_KEY_PREFIX + pollId), List.of(pollId.toString(), Long.toString(delta)))
+                .then()
+                .timeout(redisTimeout)
+                .onErrorResume(e -> {
+                    log.debug("Poll leaderboard vote update failed for {}: {}", pollId, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> register(UUID pollId, UUID categoryId, Collection<String> tags, long totalVotes, LocalDateTime endTime) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(SCOPES_KEY_PREFIX + pollId);
+        keys.add(ENDS_KEY);
+        keys.add(GLOBAL_KEY);
+        if (categoryId != null) {
+            keys.add(scopeKey(categoryId, null));
+        }
+        if (tags != null) {
+            tags.stream()
+                    .map(BantoraPollLeaderboard::normalizeTag)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(tag -> keys.add(scopeKey(null, tag)));
+        }
+        long endEpoch = endTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+
+        return redisTemplate.execute(REGISTER, keys, List.of(pollId.toString(), Long.toString(totalVotes), Long.toString(endEpoch)))
+                .then()
+                .timeout(redisTimeout)
+                .onErrorResume(e -> {
+                    log.warn("Poll leaderboard registration failed for {}: {}", pollId, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.poll.leaderboard.rebuild-interval-ms}")
+    public void rebuildScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Long registered = rebuild().block(SCHEDULED_TIMEOUT);
+            log.debug("Poll leaderboard rebuilt from {} active polls", registered);
+        } catch (RuntimeException e) {
+            log.warn("Poll leaderboard rebuild failed: {}", e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.poll.leaderboard.prune-interval-ms}")
+    public void pruneScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            prune(LocalDateTime.now()).block(SCHEDULED_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Poll leaderboard prune failed: {}", e.toString());
+        }
+    }
+
+    // Pending votes are snapshotted before the Postgres read, so a vote flushed in between is counted twice until the
+    // next rebuild rather than dropped.
+    Mono<Long> rebuild() {
+        BantoraVoteBuffer buffer = voteBuffer.getIfAvailable();
+        Map<UUID, Long> pending = buffer == null || !buffer.isEnabled() ? Map.of() : buffer.pendingCounts().byPoll();
+        return leaderboardReadRepository.findActiveEntries(LocalDateTime.now())
+                .flatMap(entry -> register(entry.pollId(), entry.categoryId(), entry.tags(),
+                        entry.totalVotes() + pending.getOrDefault(entry.pollId(), 0L), entry.endTime())
+                        .thenReturn(entry), REBUILD_CONCURRENCY)
+                .count()
+                .flatMap(count -> redisTemplate.opsForValue().set(READY_KEY, LocalDateTime.now().toString()).thenReturn(count));
+    }
+
+    // Removes polls whose end time has passed, in bounded batches so a single script never blocks Redis for long.
+    Mono<Long> prune(LocalDateTime now) {
+        long nowEpoch = now.atZone(ZoneId.systemDefault()).toEpochSecond();
+        return redisTemplate.execute(PRUNE, List.of(ENDS_KEY),
+                        List.of(Long.toString(nowEpoch), Integer.toString(PRUNE_BATCH_SIZE), SCOPES_KEY_PREFIX))
+                .next()
+                .expand(removed -> removed >= PRUNE_BATCH_SIZE
+                        ? redisTemplate.execute(PRUNE, List.of(ENDS_KEY),
+                                List.of(Long.toString(nowEpoch), Integer.toString(PRUNE_BATCH_SIZE), SCOPES_KEY_PREFIX)).next()
+                        : Mono.empty())
+                .reduce(0L, Long::sum)
+                .doOnNext(pruned::increment);
+    }
+
+    static String scopeKey(UUID categoryId, String hashtag) {
+        String tag = normalizeTag(hashtag);
+        if (categoryId != null) {
+            return KEY_PREFIX + "category:" + categoryId;
+        }
+        if (tag != null) {
+            return KEY_PREFIX + "hashtag:" + tag;
+        }
+        return GLOBAL_KEY;
+    }
+
+    private static String normalizeTag(String hashtag) {
+        if (hashtag == null) {
+            return null;
+        }
+        // Same matching as the SQL feed: lower(h.tag) = lower(:tag).
+        return hashtag.isBlank() ? null : hashtag.toLowerCase(Locale.ROOT);
+    }
+}
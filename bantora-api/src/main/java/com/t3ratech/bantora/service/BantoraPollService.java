@@ -1,18 +1,25 @@
 package com.t3ratech.bantora.service;
 
 import com.t3ratech.bantora.dto.response.BantoraPollOptionResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollPageResponse;
 import com.t3ratech.bantora.dto.response.BantoraPollResponse;
 import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.entity.BantoraPollOption;
+import com.t3ratech.bantora.enums.BantoraPollStatus;
 import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
 import com.t3ratech.bantora.repository.BantoraPollRepository;
 import com.t3ratech.bantora.repository.BantoraPollSourceIdeaReadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -24,6 +31,16 @@ public class BantoraPollService {
         private final BantoraPollRepository pollRepository;
         private final BantoraPollOptionRepository optionRepository;
         private final BantoraPollSourceIdeaReadRepository pollSourceIdeaReadRepository;
+        private final BantoraLiveTallies liveTallies;
+        private final BantoraPollDetailCache pollDetailCache;
+        private final BantoraPollFeedCache pollFeedCache;
+        private final BantoraPollLeaderboard pollLeaderboard;
+
+        @Value("${bantora.poll.feed.default-page-size}")
+        private int defaultPageSize;
+
+        @Value("${bantora.poll.feed.max-page-size}")
+        private int maxPageSize;
 
         public Flux<BantoraPollResponse> getAllActivePolls() {
                 return getActivePolls(null, null, "created", null);
@@ -39,71 +56,222 @@ public class BantoraPollService {
                         String sort,
                         Integer limit
         ) {
-                final LocalDateTime now = LocalDateTime.now();
+                return getActivePollsPage(categoryId, hashtag, sort, null, limit)
+                                .flatMapIterable(BantoraPollPageResponse::getPolls);
+        }
+
+        public Mono<BantoraPollPageResponse> getActivePollsPage(
+                        UUID categoryId,
+                        String hashtag,
+                        String sort,
+                        String cursor,
+                        Integer limit
+        ) {
                 final boolean sortByVotes = "votes".equalsIgnoreCase(sort);
+                final int pageSize = Math.max(1, Math.min(limit == null ? defaultPageSize : limit, maxPageSize));
 
-                Flux<BantoraPoll> polls;
-                if (categoryId != null && hashtag != null && !hashtag.isBlank()) {
-                        polls = sortByVotes
-                                        ? pollRepository.findActiveByCategoryIdAndHashtagOrderByVotesDesc(categoryId, hashtag, now)
-                                        : pollRepository.findActiveByCategoryIdAndHashtagOrderByCreatedDesc(categoryId, hashtag, now);
-                } else if (categoryId != null) {
-                        polls = sortByVotes
-                                        ? pollRepository.findActiveByCategoryIdOrderByVotesDesc(categoryId, now)
-                                        : pollRepository.findActiveByCategoryIdOrderByCreatedDesc(categoryId, now);
-                } else if (hashtag != null && !hashtag.isBlank()) {
-                        polls = sortByVotes
-                                        ? pollRepository.findActiveByHashtagOrderByVotesDesc(hashtag, now)
-                                        : pollRepository.findActiveByHashtagOrderByCreatedDesc(hashtag, now);
-                } else {
-                        polls = sortByVotes
-                                        ? pollRepository.findActiveOrderByVotesDesc(now)
-                                        : pollRepository.findActiveOrderByCreatedDesc(now);
+                // Normalised once so the cache key and the query it caches always see the same tag.
+                final String tag = hashtag == null || hashtag.isBlank() ? null : hashtag.trim().toLowerCase(Locale.ROOT);
+
+                final BantoraPollFeedCursor after;
+                try {
+                        after = BantoraPollFeedCursor.decode(cursor, sortByVotes);
+                } catch (IllegalArgumentException e) {
+                        return Mono.error(e);
+                }
+
+                return pollFeedCache.getPage(sort, categoryId, tag, cursor, pageSize,
+                                () -> loadActivePollsPage(categoryId, tag, after, pageSize))
+                                .map(this::withLiveTallies);
+        }
+
+        // Cached pages hold the counts from when they were stored; polls tracked by the live tallies get their
+        // current counts on every read, whether the page came from the cache or the loader.
+        private BantoraPollPageResponse withLiveTallies(BantoraPollPageResponse page) {
+                if (!liveTallies.isEnabled() || page.getPolls() == null) {
+                        return page;
                 }
+                return BantoraPollPageResponse.builder()
+                                .polls(page.getPolls().stream().map(this::withLiveTallies).toList())
+                                .nextCursor(page.getNextCursor())
+                                .build();
+        }
 
-                if (limit != null) {
-                        polls = polls.take(Math.max(0, limit));
+        private BantoraPollResponse withLiveTallies(BantoraPollResponse poll) {
+                if (!liveTallies.isEnabled()) {
+                        return poll;
                 }
+                return poll.toBuilder()
+                                .totalVotes(liveTallies.trackedTotalVotes(poll.getId(), poll.getTotalVotes()))
+                                .options(poll.getOptions() == null ? null : poll.getOptions().stream()
+                                                .map(opt -> opt.toBuilder()
+                                                                .votesCount(liveTallies.trackedOptionVotes(poll.getId(), opt.getId(), opt.getVotesCount()))
+                                                                .build())
+                                                .toList())
+                                .build();
+        }
 
-                return polls.flatMap(this::toResponse);
+        // First page of a votes-sorted feed: top-K ids from the Redis leaderboard plus one batched detail fetch. That page
+        // is ordered by Redis scores, which can differ from total_votes, so it ends the feed (no nextCursor) rather than
+        // handing a SQL keyset query a position it cannot resume from. Cursor pages, unsupported scopes and an
+        // unavailable leaderboard use the SQL keyset query.
+        private Mono<BantoraPollPageResponse> loadActivePollsPage(
+                        UUID categoryId,
+                        String hashtag,
+                        BantoraPollFeedCursor after,
+                        int pageSize
+        ) {
+                if (!after.sortByVotes() || !after.isStart() || !pollLeaderboard.supports(categoryId, hashtag)) {
+                        return loadActivePollsPageFromDatabase(categoryId, hashtag, after, pageSize);
+                }
+                return pollLeaderboard.topPollIds(categoryId, hashtag, pageSize)
+                                .flatMap(pollIds -> findPollsInOrder(pollIds)
+                                                .map(polls -> {
+                                                        final LocalDateTime now = LocalDateTime.now();
+                                                        return polls.stream()
+                                                                        .filter(poll -> poll.getStatus() == BantoraPollStatus.ACTIVE)
+                                                                        .filter(poll -> poll.getEndTime() != null && poll.getEndTime().isAfter(now))
+                                                                        .toList();
+                                                })
+                                                // Stale (ended) entries in a full leaderboard page would return a short page while
+                                                // more polls exist, so that page is left to SQL until the next prune.
+                                                .filter(rows -> rows.size() == pollIds.size() || pollIds.size() < pageSize)
+                                                .flatMap(rows -> toPage(rows, pageSize, true)))
+                                .switchIfEmpty(Mono.defer(() -> loadActivePollsPageFromDatabase(categoryId, hashtag, after, pageSize)));
         }
 
-        public Mono<BantoraPollResponse> getPollById(UUID id) {
-                return pollRepository.findById(Objects.requireNonNull(id, "id"))
-                                .flatMap(this::toResponse);
+        private Mono<BantoraPollPageResponse> loadActivePollsPageFromDatabase(
+                        UUID categoryId,
+                        String hashtag,
+                        BantoraPollFeedCursor after,
+                        int pageSize
+        ) {
+                // One extra row tells us whether another page exists without a COUNT query.
+                return findActivePolls(categoryId, hashtag, after, pageSize + 1)
+                                .collectList()
+                                .flatMap(rows -> toPage(rows, pageSize, after.sortByVotes()));
+        }
+
+        private Mono<BantoraPollPageResponse> toPage(List<BantoraPoll> rows, int pageSize, boolean sortByVotes) {
+                List<BantoraPoll> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+                String nextCursor = rows.size() > pageSize
+                                ? BantoraPollFeedCursor.after(page.get(page.size() - 1), sortByVotes).encode()
+                                : null;
+                return toResponses(page)
+                                .collectList()
+                                .map(polls -> BantoraPollPageResponse.builder()
+                                                .polls(polls)
+                                                .nextCursor(nextCursor)
+                                                .build());
+        }
+
+        // Walks the whole feed one keyset page at a time; the next page is only queried once downstream demands it.
+        public Flux<BantoraPollResponse> streamActivePolls(
+                        UUID categoryId,
+                        String hashtag,
+                        String sort,
+                        Integer limit
+        ) {
+                final int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+                Flux<BantoraPollResponse> polls = getActivePollsPage(categoryId, hashtag, sort, null, pageSize)
+                                .expand(page -> page.getNextCursor() == null
+                                                ? Mono.empty()
+                                                : getActivePollsPage(categoryId, hashtag, sort, page.getNextCursor(), pageSize))
+                                .concatMapIterable(BantoraPollPageResponse::getPolls);
+                return limit == null ? polls : polls.take(Math.max(0, limit));
+        }
+
+        private Flux<BantoraPoll> findActivePolls(UUID categoryId, String hashtag, BantoraPollFeedCursor after, int limit) {
+                final LocalDateTime now = LocalDateTime.now();
+                final boolean byHashtag = hashtag != null && !hashtag.isBlank();
+
+                if (categoryId != null && byHashtag) {
+                        return after.sortByVotes()
+                                        ? pollRepository.findActiveByCategoryIdAndHashtagOrderByVotesDescAfter(categoryId, hashtag, now, after.totalVotes(), after.id(), limit)
+                                        : pollRepository.findActiveByCategoryIdAndHashtagOrderByCreatedDescAfter(categoryId, hashtag, now, after.createdAt(), after.id(), limit);
+                } else if (categoryId != null) {
+                        return after.sortByVotes()
+                                        ? pollRepository.findActiveByCategoryIdOrderByVotesDescAfter(categoryId, now, after.totalVotes(), after.id(), limit)
+                                        : pollRepository.findActiveByCategoryIdOrderByCreatedDescAfter(categoryId, now, after.createdAt(), after.id(), limit);
+                } else if (byHashtag) {
+                        return after.sortByVotes()
+                                        ? pollRepository.findActiveByHashtagOrderByVotesDescAfter(hashtag, now, after.totalVotes(), after.id(), limit)
+                                        : pollRepository.findActiveByHashtagOrderByCreatedDescAfter(hashtag, now, after.createdAt(), after.id(), limit);
+                }
+                return after.sortByVotes()
+                                ? pollRepository.findActiveOrderByVotesDescAfter(now, after.totalVotes(), after.id(), limit)
+                                : pollRepository.findActiveOrderByCreatedDescAfter(now, after.createdAt(), after.id(), limit);
         }
 
-        public Flux<UUID> getSourceIdeaIdsForPoll(UUID pollId) {
-                return pollSourceIdeaReadRepository.findIdeaIdsByPollId(Objects.requireNonNull(pollId, "pollId"));
+        // Detail-cache hits carry the counts of when they were cached or last patched; the live tallies (which
+        // reconcile also folds other instances' votes into) are overlaid the same way as on feed pages.
+        public Mono<BantoraPollResponse> getPollById(UUID id) {
+                return pollDetailCache.get(Objects.requireNonNull(id, "id"), pollId -> pollRepository.findById(pollId)
+                                .flatMap(this::toResponse))
+                                .map(this::withLiveTallies);
         }
 
         public Flux<BantoraPollResponse> getPollsBySourceIdeaId(UUID ideaId) {
                 return pollSourceIdeaReadRepository.findPollIdsByIdeaId(Objects.requireNonNull(ideaId, "ideaId"))
-                        .concatMap(this::getPollById);
+                        .collectList()
+                        .flatMap(this::findPollsInOrder)
+                        .flatMapMany(this::toResponses);
+        }
+
+        private Mono<List<BantoraPoll>> findPollsInOrder(List<UUID> pollIds) {
+                if (pollIds.isEmpty()) {
+                        return Mono.just(List.of());
+                }
+                return pollRepository.findAllById(pollIds)
+                                .collectMap(BantoraPoll::getId)
+                                .map(pollsById -> pollIds.stream()
+                                                .map(pollsById::get)
+                                                .filter(Objects::nonNull)
+                                                .toList());
+        }
+
+        // One options query for the whole batch of polls (instead of one per poll); responses keep the input order.
+        private Flux<BantoraPollResponse> toResponses(List<BantoraPoll> polls) {
+                if (polls.isEmpty()) {
+                        return Flux.empty();
+                }
+                UUID[] pollIds = polls.stream().map(BantoraPoll::getId).toArray(UUID[]::new);
+                return optionRepository.findByPollIds(pollIds)
+                                .collectMultimap(BantoraPollOption::getPollId)
+                                .flatMapIterable(optionsByPoll -> polls.stream()
+                                                .map(poll -> toResponse(poll, optionsByPoll.getOrDefault(poll.getId(), List.of())))
+                                                .toList());
         }
 
         private Mono<BantoraPollResponse> toResponse(BantoraPoll poll) {
                 return optionRepository.findByPollIdOrderByOptionOrder(poll.getId())
+                                .collectList()
+                                .map(options -> toResponse(poll, options));
+        }
+
+        private BantoraPollResponse toResponse(BantoraPoll poll, Collection<BantoraPollOption> pollOptions) {
+                final long totalVotes = liveTallies.totalVotes(poll.getId(), poll.getTotalVotes());
+                final List<BantoraPollOptionResponse> options = pollOptions.stream()
                                 .map(opt -> BantoraPollOptionResponse.builder()
                                                 .id(opt.getId())
                                                 .optionText(opt.getOptionText())
                                                 .optionOrder(opt.getOptionOrder())
-                                                .votesCount(opt.getVotesCount())
+                                                .votesCount(liveTallies.optionVotes(poll.getId(), opt.getId(), opt.getVotesCount()))
                                                 .build())
-                                .collectList()
-                                .map(options -> BantoraPollResponse.builder()
-                                                .id(poll.getId())
-                                                .title(poll.getTitle())
-                                                .description(poll.getDescription())
-                                                .creatorPhone(poll.getCreatorPhone())
-                                                .categoryId(poll.getCategoryId())
-                                                .scope(poll.getScope())
-                                                .status(poll.getStatus())
-                                                .startTime(poll.getStartTime())
-                                                .endTime(poll.getEndTime())
-                                                .totalVotes(poll.getTotalVotes())
-                                                .options(options)
-                                                .createdAt(poll.getCreatedAt())
-                                                .build());
+                                .toList();
+                return BantoraPollResponse.builder()
+                                .id(poll.getId())
+                                .title(poll.getTitle())
+                                .description(poll.getDescription())
+                                .creatorPhone(poll.getCreatorPhone())
+                                .categoryId(poll.getCategoryId())
+                                .scope(poll.getScope())
+                                .status(poll.getStatus())
+                                .startTime(poll.getStartTime())
+                                .endTime(poll.getEndTime())
+                                .totalVotes(totalVotes)
+                                .options(options)
+                                .createdAt(poll.getCreatedAt())
+                                .build();
         }
 }
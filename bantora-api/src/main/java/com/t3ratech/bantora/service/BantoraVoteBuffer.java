@@ -0,0 +1,366 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraVote;
+import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
+import com.t3ratech.bantora.repository.BantoraPollRepository;
+import com.t3ratech.bantora.repository.BantoraVoteWriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BantoraVoteBuffer {
+
+    private final BantoraVoteWriteRepository voteWriteRepository;
+    private final BantoraPollOptionRepository optionRepository;
+    private final BantoraPollRepository pollRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final BantoraPollDetailCache pollDetailCache;
+    private final BantoraPollLeaderboard pollLeaderboard;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final int maxFlushAttempts;
+
+    private final BlockingQueue<BantoraVote> queue;
+    private final Set<String> pendingVoterKeys = ConcurrentHashMap.newKeySet();
+    // Batch drained from the queue but not yet committed; kept across a failed flush so it is retried first.
+    private volatile List<BantoraVote> inFlight = List.of();
+    // Failed flushes of the in-flight batch; once it reaches maxFlushAttempts the batch is written vote by vote.
+    private int failedAttempts;
+    private volatile boolean accepting = true;
+
+    private final Timer flushTimer;
+    private final Counter flushedVotes;
+    private final Counter skippedVotes;
+    private final Counter rejectedVotes;
+    private final Counter deadLetteredVotes;
+
+    public BantoraVoteBuffer(
+            BantoraVoteWriteRepository voteWriteRepository,
+            BantoraPollOptionRepository optionRepository,
+            BantoraPollRepository pollRepository,
+            TransactionalOperator transactionalOperator,
+            BantoraPollDetailCache pollDetailCache,
+            BantoraPollLeaderboard pollLeaderboard,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.vote.buffer.enabled}") boolean enabled,
+            @Value("${bantora.vote.buffer.capacity}") int capacity,
+            @Value("${bantora.vote.buffer.batch-size}") int batchSize,
+            @Value("${bantora.vote.buffer.shutdown-timeout-ms}") long shutdownTimeoutMs,
+            @Value("${bantora.vote.buffer.max-flush-attempts}") int maxFlushAttempts
+    ) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("bantora.vote.buffer.capacity must be > 0");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalStateException("bantora.vote.buffer.batch-size must be > 0");
+        }
+        if (batchSize > BantoraVoteWriteRepository.MAX_INSERT_BATCH) {
+            throw new IllegalStateException("bantora.vote.buffer.batch-size must be <= " + BantoraVoteWriteRepository.MAX_INSERT_BATCH);
+        }
+        if (shutdownTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.vote.buffer.shutdown-timeout-ms must be > 0");
+        }
+        if (maxFlushAttempts <= 0) {
+            throw new IllegalStateException("bantora.vote.buffer.max-flush-attempts must be > 0");
+        }
+
+        this.voteWriteRepository = voteWriteRepository;
+        this.optionRepository = optionRepository;
+        this.pollRepository = pollRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.pollDetailCache = pollDetailCache;
+        this.pollLeaderboard = pollLeaderboard;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = Duration.ofMillis(shutdownTimeoutMs);
+        this.maxFlushAttempts = maxFlushAttempts;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("bantora.vote.buffer.depth", this, BantoraVoteBuffer::depth)
+                .description("Votes accepted but not yet written to bantora_vote")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("bantora.vote.buffer.flush")
+                .description("Latency of one batched vote flush (insert + counter deltas)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushedVotes = Counter.builder("bantora.vote.buffer.flushed").register(meterRegistry);
+        this.skippedVotes = Counter.builder("bantora.vote.buffer.skipped").register(meterRegistry);
+        this.rejectedVotes = Counter.builder("bantora.vote.buffer.rejected").register(meterRegistry);
+        this.deadLetteredVotes = Counter.builder("bantora.vote.buffer.dead-lettered")
+                .description("Buffered votes dropped because writing them on their own failed with a data error")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int depth() {
+        return queue.size() + inFlight.size();
+    }
+
+    public record PendingCounts(Map<UUID, Long> byPoll, Map<UUID, Long> byOption) {
+    }
+
+    // Accepted-but-unflushed votes per poll and option; a weakly consistent view used by tally reconciliation.
+    public PendingCounts pendingCounts() {
+        Map<UUID, Long> byPoll = new HashMap<>();
+        Map<UUID, Long> byOption = new HashMap<>();
+        for (BantoraVote vote : inFlight) {
+            byPoll.merge(vote.getPollId(), 1L, Long::sum);
+            byOption.merge(vote.getOptionId(), 1L, Long::sum);
+        }
+        for (BantoraVote vote : queue) {
+            byPoll.merge(vote.getPollId(), 1L, Long::sum);
+            byOption.merge(vote.getOptionId(), 1L, Long::sum);
+        }
+        return new PendingCounts(byPoll, byOption);
+    }
+
+    public void enqueue(BantoraVote vote) {
+        Objects.requireNonNull(vote, "vote");
+        if (!accepting) {
+            rejectedVotes.increment();
+            throw new IllegalStateException("Vote service is shutting down, please retry");
+        }
+
+        String voterKey = voterKey(vote.getPollId(), vote.getUserPhone());
+        if (voterKey != null && !pendingVoterKeys.add(voterKey)) {
+            throw new IllegalStateException("User has already voted");
+        }
+        if (!queue.offer(vote)) {
+            if (voterKey != null) {
+                pendingVoterKeys.remove(voterKey);
+            }
+            rejectedVotes.increment();
+            throw new IllegalStateException("Vote buffer full, please retry");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bantora.vote.buffer.flush-interval-ms}")
+    public void flushScheduled() {
+        if (!enabled) {
+            return;
+        }
+        flushAll(null);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        accepting = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        flushAll(deadline);
+
+        int remaining = depth();
+        if (remaining > 0) {
+            log.error("Vote buffer shutdown flush incomplete: {} votes not persisted", remaining);
+        } else {
+            log.info("Vote buffer drained on shutdown");
+        }
+    }
+
+    synchronized int flushAll(Long deadlineNanos) {
+        int written = 0;
+        while (true) {
+            List<BantoraVote> batch = nextBatch();
+            if (batch.isEmpty()) {
+                return written;
+            }
+
+            if (failedAttempts >= maxFlushAttempts) {
+                int before = batch.size();
+                written += flushIndividually(batch, deadlineNanos);
+                if (!inFlight.isEmpty()) {
+                    log.error("Vote buffer stopped writing {} votes one by one after {} of them, will retry",
+                            before, before - inFlight.size());
+                    return written;
+                }
+                failedAttempts = 0;
+            } else {
+                try {
+                    Integer inserted = flushBatch(batch).block(timeout(deadlineNanos));
+                    written += inserted == null ? 0 : inserted;
+                    inFlight = List.of();
+                    failedAttempts = 0;
+                    releaseVoterKeys(batch);
+                } catch (RuntimeException e) {
+                    failedAttempts++;
+                    log.error("Vote buffer flush of {} votes failed (attempt {}/{}), will retry: {}",
+                            batch.size(), failedAttempts, maxFlushAttempts, e.toString());
+                    return written;
+                }
+            }
+
+            if (deadlineNanos != null && System.nanoTime() >= deadlineNanos) {
+                return written;
+            }
+        }
+    }
+
+    // Isolates the votes that made the batch fail: each is written in its own transaction, and one that fails with a
+    // data error is dropped to the dead-letter log. A connection failure or timeout stops the pass and leaves the
+    // unwritten votes in flight for the next flush.
+    private int flushIndividually(List<BantoraVote> batch, Long deadlineNanos) {
+        int written = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            BantoraVote vote = batch.get(i);
+            try {
+                Integer inserted = flushBatch(List.of(vote)).block(timeout(deadlineNanos));
+                written += inserted == null ? 0 : inserted;
+            } catch (RuntimeException e) {
+                if (!isDataError(e)) {
+                    inFlight = List.copyOf(batch.subList(i, batch.size()));
+                    releaseVoterKeys(batch.subList(0, i));
+                    return written;
+                }
+                deadLetteredVotes.increment();
+                log.error("Vote buffer dead-lettered vote id={} pollId={} optionId={} userPhone={}: {}",
+                        vote.getId(), vote.getPollId(), vote.getOptionId(), vote.getUserPhone(), e.toString());
+                retract(vote).block();
+            }
+        }
+        inFlight = List.of();
+        releaseVoterKeys(batch);
+        return written;
+    }
+
+    private static boolean isDataError(Throwable error) {
+        Throwable cause = Exceptions.unwrap(error);
+        if (cause instanceof NonTransientDataAccessResourceException) {
+            return false;
+        }
+        return cause instanceof NonTransientDataAccessException
+                || cause instanceof NullPointerException
+                || cause instanceof IllegalArgumentException;
+    }
+
+    private Duration timeout(Long deadlineNanos) {
+        return deadlineNanos == null
+                ? shutdownTimeout
+                : Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime()));
+    }
+
+    private List<BantoraVote> nextBatch() {
+        List<BantoraVote> pendingRetry = inFlight;
+        if (!pendingRetry.isEmpty()) {
+            return pendingRetry;
+        }
+        List<BantoraVote> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        inFlight = batch;
+        return batch;
+    }
+
+    private Mono<Integer> flushBatch(List<BantoraVote> batch) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        Mono<List<BantoraVoteWriteRepository.InsertedVote>> write = voteWriteRepository.insertVotes(batch)
+                .collectList()
+                .flatMap(inserted -> applyCounterDeltas(inserted, now).thenReturn(inserted));
+
+        return transactionalOperator.transactional(write)
+                .doOnSuccess(inserted -> {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    flushedVotes.increment(inserted.size());
+                    skippedVotes.increment(batch.size() - inserted.size());
+                })
+                .flatMap(inserted -> inserted.size() == batch.size()
+                        ? Mono.just(inserted.size())
+                        : retractSkipped(batch, inserted).thenReturn(inserted.size()));
+    }
+
+    // Skipped votes (cross-instance duplicates, foreign options) were counted at enqueue time by the detail cache and
+    // the leaderboard, so take them back there; live tallies correct themselves on reconcile. A skipped vote whose id
+    // is already stored was written by an earlier attempt of this batch and stays counted.
+    private Mono<Void> retractSkipped(List<BantoraVote> batch, List<BantoraVoteWriteRepository.InsertedVote> inserted) {
+        Set<UUID> insertedIds = inserted.stream()
+                .map(BantoraVoteWriteRepository.InsertedVote::id)
+                .collect(Collectors.toSet());
+        List<BantoraVote> skipped = batch.stream()
+                .filter(vote -> !insertedIds.contains(vote.getId()))
+                .toList();
+
+        return voteWriteRepository.findWrittenIds(skipped.stream().map(BantoraVote::getId).toList())
+                .collect(Collectors.toSet())
+                .flatMapMany(written -> Flux.fromIterable(skipped).filter(vote -> !written.contains(vote.getId())))
+                .concatMap(this::retract)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Vote buffer could not retract {} skipped votes: {}", skipped.size(), e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> retract(BantoraVote vote) {
+        pollDetailCache.invalidate(vote.getPollId());
+        return pollLeaderboard.recordVote(vote.getPollId(), -1L);
+    }
+
+    // TreeMaps keep a stable lock order (options, then polls, each by id) across concurrent flushes and direct votes.
+    private Mono<Void> applyCounterDeltas(List<BantoraVoteWriteRepository.InsertedVote> inserted, LocalDateTime now) {
+        Map<UUID, Long> optionDeltas = new TreeMap<>();
+        Map<UUID, Long> pollDeltas = new TreeMap<>();
+        for (BantoraVoteWriteRepository.InsertedVote vote : inserted) {
+            optionDeltas.merge(vote.optionId(), 1L, Long::sum);
+            pollDeltas.merge(vote.pollId(), 1L, Long::sum);
+        }
+
+        return Flux.fromIterable(optionDeltas.entrySet())
+                .concatMap(delta -> optionRepository.incrementVotesCount(delta.getKey(), delta.getValue()))
+                .thenMany(Flux.fromIterable(pollDeltas.entrySet())
+                        .concatMap(delta -> pollRepository.incrementTotalVotes(delta.getKey(), delta.getValue(), now)))
+                .then();
+    }
+
+    private void releaseVoterKeys(List<BantoraVote> batch) {
+        for (BantoraVote vote : batch) {
+            String voterKey = voterKey(vote.getPollId(), vote.getUserPhone());
+            if (voterKey != null) {
+                pendingVoterKeys.remove(voterKey);
+            }
+        }
+    }
+
+    private static String voterKey(UUID pollId, String userPhone) {
+        if (userPhone == null || userPhone.isBlank()) {
+            return null;
+        }
+        return pollId + ":" + userPhone;
+    }
+}
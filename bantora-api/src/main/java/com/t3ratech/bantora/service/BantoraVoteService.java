@@ -1,15 +1,14 @@
 package com.t3ratech.bantora.service;
 
 import com.t3ratech.bantora.dto.response.BantoraPollResponse;
-import com.t3ratech.bantora.entity.BantoraPoll;
 import com.t3ratech.bantora.entity.BantoraPollOption;
 import com.t3ratech.bantora.entity.BantoraVote;
 import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
 import com.t3ratech.bantora.repository.BantoraPollRepository;
 import com.t3ratech.bantora.repository.BantoraVoteRepository;
+import com.t3ratech.bantora.repository.BantoraVoteWriteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -22,11 +21,15 @@ import java.util.UUID;
 @Slf4j
 public class BantoraVoteService {
 
+    private final BantoraVoteWriteRepository voteWriteRepository;
     private final BantoraPollRepository pollRepository;
     private final BantoraPollOptionRepository optionRepository;
     private final BantoraVoteRepository voteRepository;
+    private final BantoraVoteBuffer voteBuffer;
+    private final BantoraLiveTallies liveTallies;
+    private final BantoraPollDetailCache pollDetailCache;
+    private final BantoraPollLeaderboard pollLeaderboard;
     private final BantoraPollService pollService;
-    private final R2dbcEntityTemplate entityTemplate;
 
     public Mono<BantoraPollResponse> submitVote(
             UUID pollId,
@@ -39,55 +42,78 @@ public class BantoraVoteService {
         UUID nonNullPollId = Objects.requireNonNull(pollId, "pollId");
         UUID nonNullOptionId = Objects.requireNonNull(optionId, "optionId");
 
-        Mono<BantoraPoll> pollMono = pollRepository.findById(nonNullPollId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Poll not found")));
+        BantoraVote vote = BantoraVote.builder()
+                .id(UUID.randomUUID())
+                .pollId(nonNullPollId)
+                .optionId(nonNullOptionId)
+                .userPhone(userPhone)
+                .anonymous(anonymous)
+                .votedAt(LocalDateTime.now())
+                .ipAddress(ipAddress)
+                .userAgent(userAgent)
+                .build();
 
-        Mono<BantoraPollOption> optionMono = optionRepository.findById(nonNullOptionId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Option not found")));
+        if (voteBuffer.isEnabled()) {
+            return submitBufferedVote(vote);
+        }
 
-        return pollMono.zipWith(optionMono)
-                .flatMap(tuple -> {
-                    BantoraPoll poll = tuple.getT1();
-                    BantoraPollOption option = tuple.getT2();
-
-                    if (option.getPollId() == null || !option.getPollId().equals(nonNullPollId)) {
-                        return Mono.error(new IllegalArgumentException("Option does not belong to poll"));
-                    }
-
-                    Mono<Boolean> alreadyVotedMono;
-                    if (userPhone != null && !userPhone.isBlank()) {
-                        alreadyVotedMono = voteRepository.existsByPollIdAndUserPhone(nonNullPollId, userPhone);
-                    } else {
-                        alreadyVotedMono = Mono.just(false);
+        return voteWriteRepository.recordVote(vote)
+                .flatMap(result -> {
+                    if (!result.recorded()) {
+                        return Mono.error(toVoteRejection(nonNullPollId, result));
                     }
+                    liveTallies.recordVote(nonNullPollId, nonNullOptionId);
+                    pollDetailCache.applyCounts(nonNullPollId, nonNullOptionId, result.optionVotesCount(), result.pollTotalVotes());
+                    return pollLeaderboard.recordVote(nonNullPollId, 1L)
+                            .then(pollService.getPollById(nonNullPollId));
+                });
+    }
 
-                    return alreadyVotedMono.flatMap(alreadyVoted -> {
-                        if (alreadyVoted && Boolean.FALSE.equals(poll.getAllowMultipleVotes())) {
-                            return Mono.error(new IllegalStateException("User has already voted"));
-                        }
-
-                        BantoraVote vote = BantoraVote.builder()
-                                .id(UUID.randomUUID())
-                                .pollId(nonNullPollId)
-                                .optionId(nonNullOptionId)
-                                .userPhone(userPhone)
-                                .anonymous(anonymous)
-                                .votedAt(LocalDateTime.now())
-                                .ipAddress(ipAddress)
-                                .userAgent(userAgent)
-                                .build();
+    // Write-behind mode: validate with reads only, then hand the vote to the buffer for a batched insert.
+    // Persisted counters lag by up to one flush interval; with live tallies enabled the returned poll already counts it.
+    private Mono<BantoraPollResponse> submitBufferedVote(BantoraVote vote) {
+        UUID pollId = vote.getPollId();
+        String userPhone = vote.getUserPhone();
 
-                        long currentOptionVotes = option.getVotesCount() == null ? 0L : option.getVotesCount();
-                        option.setVotesCount(currentOptionVotes + 1L);
+        Mono<BantoraPollOption> optionMono = optionRepository.findById(vote.getOptionId())
+                .switchIfEmpty(pollRepository.existsById(pollId)
+                        .flatMap(pollExists -> Mono.error(new IllegalArgumentException(
+                                Boolean.TRUE.equals(pollExists) ? "Option not found" : "Poll not found"))));
 
-                        long currentTotalVotes = poll.getTotalVotes() == null ? 0L : poll.getTotalVotes();
-                        poll.setTotalVotes(currentTotalVotes + 1L);
+        Mono<Boolean> alreadyVotedMono = (userPhone == null || userPhone.isBlank())
+                ? Mono.just(false)
+                : voteRepository.existsByPollIdAndUserPhone(pollId, userPhone);
 
-                        return entityTemplate.insert(Objects.requireNonNull(vote, "vote"))
-                                .then(optionRepository.save(option))
-                                .then(pollRepository.save(poll))
-                                .then(pollService.getPollById(nonNullPollId));
-                    });
+        return Mono.zip(optionMono, alreadyVotedMono)
+                .flatMap(tuple -> {
+                    if (!pollId.equals(tuple.getT1().getPollId())) {
+                        return Mono.error(new IllegalArgumentException("Option does not belong to poll"));
+                    }
+                    if (Boolean.TRUE.equals(tuple.getT2())) {
+                        return Mono.error(new IllegalStateException("User has already voted"));
+                    }
+                    try {
+                        voteBuffer.enqueue(vote);
+                    } catch (IllegalStateException e) {
+                        return Mono.error(e);
+                    }
+                    liveTallies.recordVote(pollId, vote.getOptionId());
+                    pollDetailCache.recordVote(pollId, vote.getOptionId());
+                    return pollLeaderboard.recordVote(pollId, 1L)
+                            .then(pollService.getPollById(pollId));
                 });
     }
+
+    private RuntimeException toVoteRejection(UUID pollId, BantoraVoteWriteRepository.VoteWriteResult result) {
+        if (!result.pollExists()) {
+            return new IllegalArgumentException("Poll not found");
+        }
+        if (result.optionPollId() == null) {
+            return new IllegalArgumentException("Option not found");
+        }
+        if (!result.optionPollId().equals(pollId)) {
+            return new IllegalArgumentException("Option does not belong to poll");
+        }
+        return new IllegalStateException("User has already voted");
+    }
 }
@@ -0,0 +1,63 @@
+package com.t3ratech.bantora.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Consecutive-failure breaker for the Gemini client. After failure-threshold failed calls it opens for open-ms;
+// then exactly one probe call is let through (half-open) and its outcome closes or re-opens the breaker.
+class GeminiCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openUntil;
+
+    GeminiCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    State state() {
+        if (consecutiveFailures.get() < failureThreshold) {
+            return State.CLOSED;
+        }
+        return clock.getAsLong() < openUntil ? State.OPEN : State.HALF_OPEN;
+    }
+
+    // true when a call may proceed; in HALF_OPEN only the first caller gets the probe.
+    boolean tryAcquire() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> probeInFlight.compareAndSet(false, true);
+        };
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        probeInFlight.set(false);
+    }
+
+    // A cancelled probe reports nothing; let the next caller probe instead.
+    void releaseProbe() {
+        probeInFlight.set(false);
+    }
+
+    // Returns true when this failure opened (or re-opened) the breaker.
+    boolean onFailure() {
+        boolean wasProbe = probeInFlight.getAndSet(false);
+        int failures = consecutiveFailures.incrementAndGet();
+        if (wasProbe || failures == failureThreshold) {
+            openUntil = clock.getAsLong() + openMillis;
+            return true;
+        }
+        return false;
+    }
+}
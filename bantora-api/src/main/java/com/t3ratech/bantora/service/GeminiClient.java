@@ -0,0 +1,204 @@
+package com.t3ratech.bantora.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// One WebClient for all Gemini calls, on its own Reactor Netty pool with connect and response timeouts. 429, 5xx
+// and connection failures are retried with jittered exponential backoff; when calls keep failing after their retries,
+// the circuit breaker opens and AI processing pauses (callers check isCallPermitted) until a probe call succeeds.
+@Component
+@Slf4j
+public class GeminiClient {
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final GeminiCircuitBreaker circuitBreaker;
+
+    private final String geminiUrl;
+    private final String geminiApiKey;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    private final Timer callTimer;
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter shortCircuited;
+    private final Counter retries;
+
+    public GeminiClient(
+            WebClient.Builder webClientBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.ai.gemini.url}") String geminiUrl,
+            @Value("${bantora.ai.gemini.api-key}") String geminiApiKey,
+            @Value("${bantora.ai.gemini.client.max-connections}") int maxConnections,
+            @Value("${bantora.ai.gemini.client.connect-timeout-ms}") int connectTimeoutMs,
+            @Value("${bantora.ai.gemini.client.response-timeout-ms}") long responseTimeoutMs,
+            @Value("${bantora.ai.gemini.client.max-retries}") int maxRetries,
+            @Value("${bantora.ai.gemini.client.retry-min-backoff-ms}") long minBackoffMs,
+            @Value("${bantora.ai.gemini.client.retry-max-backoff-ms}") long maxBackoffMs,
+            @Value("${bantora.ai.gemini.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${bantora.ai.gemini.circuit-breaker.open-ms}") long openMs
+    ) {
+        if (maxConnections <= 0) {
+            throw new IllegalStateException("bantora.ai.gemini.client.max-connections must be > 0");
+        }
+        if (connectTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.ai.gemini.client.connect-timeout-ms must be > 0");
+        }
+        if (responseTimeoutMs <= 0) {
+            throw new IllegalStateException("bantora.ai.gemini.client.response-timeout-ms must be > 0");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalStateException("bantora.ai.gemini.client.max-retries must be >= 0");
+        }
+        if (minBackoffMs <= 0 || maxBackoffMs < minBackoffMs) {
+            throw new IllegalStateException("bantora.ai.gemini.client.retry-min-backoff-ms must be > 0 and <= retry-max-backoff-ms");
+        }
+        if (failureThreshold <= 0) {
+            throw new IllegalStateException("bantora.ai.gemini.circuit-breaker.failure-threshold must be > 0");
+        }
+        if (openMs <= 0) {
+            throw new IllegalStateException("bantora.ai.gemini.circuit-breaker.open-ms must be > 0");
+        }
+
+        this.geminiUrl = geminiUrl;
+        this.geminiApiKey = geminiApiKey;
+        this.maxRetries = maxRetries;
+        this.minBackoff = Duration.ofMillis(minBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.circuitBreaker = new GeminiCircuitBreaker(failureThreshold, openMs, System::currentTimeMillis);
+
+        this.connectionProvider = ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        this.callTimer = Timer.builder("bantora.ai.gemini.call")
+                .description("Gemini call time including retries")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.successes = Counter.builder("bantora.ai.gemini.calls").tag("outcome", "success").register(meterRegistry);
+        this.failures = Counter.builder("bantora.ai.gemini.calls").tag("outcome", "failure").register(meterRegistry);
+        this.shortCircuited = Counter.builder("bantora.ai.gemini.calls").tag("outcome", "short-circuited").register(meterRegistry);
+        this.retries = Counter.builder("bantora.ai.gemini.retries").register(meterRegistry);
+        Gauge.builder("bantora.ai.gemini.circuit-breaker.open", circuitBreaker,
+                        breaker -> breaker.state() == GeminiCircuitBreaker.State.OPEN ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    // False while the breaker is open; the AI job skips its run instead of queueing calls that would fail.
+    public boolean isCallPermitted() {
+        return circuitBreaker.state() != GeminiCircuitBreaker.State.OPEN;
+    }
+
+    // Emits the raw generateContent response body.
+    public Mono<String> generateContent(String prompt) {
+        if (prompt == null || prompt.isBlank()) {
+            return Mono.error(new IllegalArgumentException("prompt is required"));
+        }
+        if (geminiApiKey == null || geminiApiKey.isBlank()) {
+            return Mono.error(new IllegalStateException("Missing Gemini API key configuration"));
+        }
+        if (geminiUrl == null || geminiUrl.isBlank()) {
+            return Mono.error(new IllegalStateException("Missing Gemini URL configuration"));
+        }
+
+        Map<String, Object> requestBody = Map.of(
+                "contents", List.of(
+                        Map.of(
+                                "parts", List.of(
+                                        Map.of("text", prompt)
+                                )
+                        )
+                )
+        );
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                shortCircuited.increment();
+                return Mono.error(new IllegalStateException("Gemini circuit breaker is open"));
+            }
+            long start = System.nanoTime();
+            return webClient.post()
+                    .uri(geminiUrl + "?key=" + geminiApiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                            .maxBackoff(maxBackoff)
+                            .jitter(0.5)
+                            .filter(GeminiClient::isRetryable)
+                            .doBeforeRetry(signal -> retries.increment())
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(body -> {
+                        circuitBreaker.onSuccess();
+                        successes.increment();
+                    })
+                    .doOnError(this::onFailure)
+                    .doOnCancel(circuitBreaker::releaseProbe)
+                    .doFinally(signal -> callTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .onErrorMap(WebClientResponseException.class, e -> new IllegalStateException(
+                            "Gemini API call failed: HTTP " + e.getStatusCode() + " body=" + e.getResponseBodyAsString()));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.disposeLater().subscribe();
+    }
+
+    // Only provider-side trouble trips the breaker; a 4xx other than 429 means the provider answered, so it counts as
+    // healthy.
+    private void onFailure(Throwable error) {
+        failures.increment();
+        if (!isRetryable(error)) {
+            circuitBreaker.onSuccess();
+            return;
+        }
+        if (circuitBreaker.onFailure()) {
+            log.warn("Gemini circuit breaker opened after repeated failures: {}", error.toString());
+        }
+    }
+
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof ReadTimeoutException
+                || error instanceof TimeoutException;
+    }
+}
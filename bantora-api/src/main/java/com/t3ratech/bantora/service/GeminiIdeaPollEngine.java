@@ -0,0 +1,132 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.entity.BantoraIdea;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "bantora.ai.engine.type", havingValue = "gemini")
+public class GeminiIdeaPollEngine implements IdeaPollEngine {
+
+    private final GeminiClient geminiClient;
+    private final ObjectMapper objectMapper;
+
+    public GeminiIdeaPollEngine(GeminiClient geminiClient, ObjectMapper objectMapper) {
+        this.geminiClient = geminiClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "gemini";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return geminiClient.isCallPermitted();
+    }
+
+    @Override
+    public int promptOverheadTokens(String tag) {
+        return AiPromptBatcher.estimateTokens(buildPromptForHashtag(tag, List.of()));
+    }
+
+    @Override
+    public boolean cachesResults() {
+        return true;
+    }
+
+    // Emits the model's answer text (code fences stripped); parsing is left to the caller.
+    @Override
+    public Mono<String> suggestPolls(String tag, List<BantoraIdea> ideas) {
+        return Mono.fromCallable(() -> buildPromptForHashtag(tag, ideas))
+                .flatMap(geminiClient::generateContent)
+                .map(this::extractAiTextFromGeminiResponse);
+    }
+
+    String buildPromptForHashtag(String tag, List<BantoraIdea> ideas) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("You are generating polls for the hashtag '");
+        builder.append(tag);
+        builder.append("'.\n\n");
+        builder.append("Input ideas are JSON objects with fields: id, categoryId, userPhone, content.\n");
+        builder.append("Return STRICT JSON (no markdown) with this schema:\n");
+        builder.append("{\n");
+        builder.append("  \"polls\": [\n");
+        builder.append("    {\n");
+        builder.append("      \"title\": \"...\",\n");
+        builder.append("      \"description\": \"...\",\n");
+        builder.append("      \"categoryId\": \"<uuid-from-input>\",\n");
+        builder.append("      \"options\": [\"...\", \"...\"],\n");
+        builder.append("      \"sourceIdeaIds\": [\"<uuid>\", ...]\n");
+        builder.append("    }\n");
+        builder.append("  ],\n");
+        builder.append("  \"rejectedIdeaIds\": [\"<uuid>\", ...]\n");
+        builder.append("}\n\n");
+        builder.append("Rules:\n");
+        builder.append("- Deduplicate similar ideas into one poll when appropriate.\n");
+        builder.append("- Reject infeasible or unclear ideas by listing their IDs in rejectedIdeaIds.\n");
+        builder.append("- Every poll must reference at least 1 source idea ID from the input list.\n");
+        builder.append("- categoryId for each poll MUST be one of the categoryIds from its source ideas.\n\n");
+        builder.append("Input ideas:\n");
+
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (BantoraIdea idea : ideas) {
+            payload.add(AiPromptBatcher.promptItem(idea));
+        }
+        builder.append(toPromptJson(payload));
+
+        return builder.toString();
+    }
+
+    private String toPromptJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build AI prompt JSON", e);
+        }
+    }
+
+    private String extractAiTextFromGeminiResponse(String response) {
+        try {
+            JsonNode root = objectMapper.readTree(response);
+            JsonNode candidates = root.path("candidates");
+            if (!candidates.isArray() || candidates.isEmpty()) {
+                throw new IllegalStateException("Gemini response missing candidates");
+            }
+            String text = candidates.get(0)
+                    .path("content")
+                    .path("parts")
+                    .get(0)
+                    .path("text")
+                    .asText();
+            if (text == null || text.isBlank()) {
+                throw new IllegalStateException("Gemini response missing text");
+            }
+            return stripMarkdownCodeFences(text.trim());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to parse Gemini response", e);
+        }
+    }
+
+    private String stripMarkdownCodeFences(String text) {
+        String cleaned = text;
+        if (cleaned.startsWith("```")) {
+            int firstNewline = cleaned.indexOf('\n');
+            if (firstNewline > 0) {
+                cleaned = cleaned.substring(firstNewline + 1);
+            }
+        }
+        if (cleaned.endsWith("```")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 3);
+        }
+        return cleaned.trim();
+    }
+}
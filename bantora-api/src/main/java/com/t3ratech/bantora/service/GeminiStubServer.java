@@ -0,0 +1,138 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for the Gemini generateContent endpoint, for tests, CI and load benchmarks: point
+// bantora.ai.gemini.url at http://localhost:<port>/generateContent. It answers with one poll per category of the
+// ideas in the prompt, after a configurable latency, and fails a configurable fraction of calls with failure-status.
+@Component
+@ConditionalOnProperty(name = "bantora.ai.gemini.stub.enabled", havingValue = "true")
+@Slf4j
+public class GeminiStubServer {
+
+    private static final String IDEAS_MARKER = "Input ideas:\n";
+    private static final String HASHTAG_MARKER = "for the hashtag '";
+
+    private final ObjectMapper objectMapper;
+    private final Duration latency;
+    private final double failureRate;
+    private final int failureStatus;
+    private final DisposableServer server;
+    private final AtomicLong requests = new AtomicLong();
+
+    public GeminiStubServer(
+            ObjectMapper objectMapper,
+            @Value("${bantora.ai.gemini.stub.port}") int port,
+            @Value("${bantora.ai.gemini.stub.latency-ms}") long latencyMs,
+            @Value("${bantora.ai.gemini.stub.failure-rate}") double failureRate,
+            @Value("${bantora.ai.gemini.stub.failure-status}") int failureStatus
+    ) {
+        if (port < 0) {
+            throw new IllegalStateException("bantora.ai.gemini.stub.port must be >= 0");
+        }
+        if (latencyMs < 0) {
+            throw new IllegalStateException("bantora.ai.gemini.stub.latency-ms must be >= 0");
+        }
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalStateException("bantora.ai.gemini.stub.failure-rate must be between 0 and 1");
+        }
+
+        this.objectMapper = objectMapper;
+        this.latency = Duration.ofMillis(latencyMs);
+        this.failureRate = failureRate;
+        this.failureStatus = failureStatus;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(port)
+                .handle((request, response) -> request.receive().aggregate().asString()
+                        .defaultIfEmpty("")
+                        .delayElement(latency)
+                        .flatMap(body -> {
+                            requests.incrementAndGet();
+                            if (failureRate > 0.0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                                return response.status(failureStatus).sendString(Mono.just("{\"error\":\"stub failure\"}")).then();
+                            }
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.fromCallable(() -> respond(body)))
+                                    .then();
+                        }))
+                .bindNow();
+        log.info("Gemini stub server listening on 127.0.0.1:{}", server.port());
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        server.disposeNow();
+    }
+
+    // Deterministic answer: ideas grouped by categoryId in prompt order, one two-option poll per group, none rejected.
+    String respond(String requestBody) throws Exception {
+        String prompt = objectMapper.readTree(requestBody)
+                .path("contents").path(0).path("parts").path(0).path("text").asText("");
+        String tag = hashtag(prompt);
+
+        Map<String, List<JsonNode>> ideasByCategory = new LinkedHashMap<>();
+        int ideasAt = prompt.indexOf(IDEAS_MARKER);
+        if (ideasAt >= 0) {
+            for (JsonNode idea : objectMapper.readTree(prompt.substring(ideasAt + IDEAS_MARKER.length()))) {
+                ideasByCategory.computeIfAbsent(idea.path("categoryId").asText(), key -> new ArrayList<>()).add(idea);
+            }
+        }
+
+        ObjectNode answer = objectMapper.createObjectNode();
+        ArrayNode polls = answer.putArray("polls");
+        ideasByCategory.forEach((categoryId, ideas) -> {
+            ObjectNode poll = polls.addObject();
+            poll.put("title", "Should #" + tag + " be a priority?");
+            poll.put("description", ideas.get(0).path("content").asText(""));
+            poll.put("categoryId", categoryId);
+            poll.putArray("options").add("Yes").add("No");
+            ArrayNode sources = poll.putArray("sourceIdeaIds");
+            ideas.forEach(idea -> sources.add(idea.path("id").asText()));
+        });
+        answer.putArray("rejectedIdeaIds");
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.putArray("candidates").addObject()
+                .putObject("content")
+                .putArray("parts").addObject()
+                .put("text", objectMapper.writeValueAsString(answer));
+        return objectMapper.writeValueAsString(response);
+    }
+
+    private static String hashtag(String prompt) {
+        int start = prompt.indexOf(HASHTAG_MARKER);
+        if (start < 0) {
+            return "stub";
+        }
+        int end = prompt.indexOf('\'', start + HASHTAG_MARKER.length());
+        return end < 0 ? "stub" : prompt.substring(start + HASHTAG_MARKER.length(), end);
+    }
+}
@@ -0,0 +1,111 @@
+package com.t3ratech.bantora.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+// Groups similar texts by TF-IDF cosine similarity, with no model or external dependency. Clustering is
+// leader-based and follows the input order: each item joins the first cluster whose leader (first item) is at least
+// `threshold` similar and in the same partition, otherwise it leads a new cluster. The same input list therefore
+// always yields the same clusters.
+final class IdeaClusterer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "in", "into", "is",
+            "it", "its", "of", "on", "or", "our", "so", "that", "the", "their", "there", "this", "to", "was", "we",
+            "were", "will", "with", "should", "would", "could", "can", "more", "all", "need", "needs", "please");
+
+    private IdeaClusterer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    static <T> List<List<T>> cluster(List<T> items, Function<T, String> text, Function<T, ?> partition, double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be in (0, 1]");
+        }
+        List<Map<String, Double>> vectors = tfIdf(items.stream().map(item -> terms(text.apply(item))).toList());
+
+        List<List<T>> clusters = new ArrayList<>();
+        List<Integer> leaders = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            int target = -1;
+            for (int c = 0; c < clusters.size() && target < 0; c++) {
+                int leader = leaders.get(c);
+                if (Objects.equals(partition.apply(items.get(leader)), partition.apply(item))
+                        && cosine(vectors.get(leader), vectors.get(i)) >= threshold) {
+                    target = c;
+                }
+            }
+            if (target < 0) {
+                clusters.add(new ArrayList<>(List.of(item)));
+                leaders.add(i);
+            } else {
+                clusters.get(target).add(item);
+            }
+        }
+        return clusters;
+    }
+
+    // Smoothed idf, so a term present in every document still counts a little; vectors are L2-normalised.
+    static List<Map<String, Double>> tfIdf(List<List<String>> documents) {
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (List<String> document : documents) {
+            document.stream().distinct().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        }
+        int n = documents.size();
+        List<Map<String, Double>> vectors = new ArrayList<>(n);
+        for (List<String> document : documents) {
+            Map<String, Double> vector = new HashMap<>();
+            for (String term : document) {
+                vector.merge(term, 1d, Double::sum);
+            }
+            double norm = 0;
+            for (Map.Entry<String, Double> entry : vector.entrySet()) {
+                double idf = Math.log((1d + n) / (1d + documentFrequency.get(entry.getKey()))) + 1d;
+                double weight = entry.getValue() * idf;
+                entry.setValue(weight);
+                norm += weight * weight;
+            }
+            double length = Math.sqrt(norm);
+            if (length > 0) {
+                vector.replaceAll((term, weight) -> weight / length);
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    static double cosine(Map<String, Double> a, Map<String, Double> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0d;
+        }
+        Map<String, Double> smaller = a.size() <= b.size() ? a : b;
+        Map<String, Double> larger = smaller == a ? b : a;
+        double dot = 0;
+        for (Map.Entry<String, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                dot += entry.getValue() * other;
+            }
+        }
+        return dot;
+    }
+}
@@ -0,0 +1,317 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+import com.t3ratech.bantora.repository.BantoraIdeaReadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// In-memory MinHash/LSH index of recent pending ideas, one per hashtag, used to spot near-copies at submission time.
+// Each idea's words and word pairs are reduced to a 64-value MinHash signature; the signature is cut into 16 bands of
+// 4 and an idea is a candidate when any band matches exactly. Candidates of the same category whose estimated
+// Jaccard similarity reaches the threshold are duplicates. Entries older than the window, beyond the per-hashtag cap,
+// or no longer pending (see remove) drop out. The index is per instance: it is rebuilt page by page from the database
+// at startup and serves lookups while it fills. Access is synchronized; lookups touch a few buckets only.
+@Component
+@Slf4j
+public class IdeaDuplicateIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    private static final int NUM_HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new SplittableRandom(0x6A09E667F3BCC908L).longs(NUM_HASHES).toArray();
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    public record Match(UUID ideaId, String userPhone, double similarity) {
+    }
+
+    private record Entry(UUID ideaId, String userPhone, UUID categoryId, LocalDateTime createdAt, int[] signature) {
+    }
+
+    private static final class HashtagIndex {
+        private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>();
+        private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+    }
+
+    private final BantoraIdeaReadRepository ideaReadRepository;
+    private final boolean enabled;
+    private final double similarityThreshold;
+    private final Duration window;
+    private final int maxIdeasPerHashtag;
+    private final int rebuildPageSize;
+
+    private final Map<String, HashtagIndex> byHashtag = new HashMap<>();
+    private int indexedCount;
+
+    private final Counter matches;
+    private final Timer rebuildTimer;
+
+    public IdeaDuplicateIndex(
+            BantoraIdeaReadRepository ideaReadRepository,
+            MeterRegistry meterRegistry,
+            @Value("${bantora.idea.dedup.enabled}") boolean enabled,
+            @Value("${bantora.idea.dedup.similarity-threshold}") double similarityThreshold,
+            @Value("${bantora.idea.dedup.window-hours}") long windowHours,
+            @Value("${bantora.idea.dedup.max-ideas-per-hashtag}") int maxIdeasPerHashtag,
+            @Value("${bantora.idea.dedup.rebuild-page-size}") int rebuildPageSize
+    ) {
+        if (similarityThreshold <= 0 || similarityThreshold > 1) {
+            throw new IllegalStateException("bantora.idea.dedup.similarity-threshold must be in (0, 1]");
+        }
+        if (windowHours <= 0) {
+            throw new IllegalStateException("bantora.idea.dedup.window-hours must be > 0");
+        }
+        if (maxIdeasPerHashtag <= 0) {
+            throw new IllegalStateException("bantora.idea.dedup.max-ideas-per-hashtag must be > 0");
+        }
+        if (rebuildPageSize <= 0) {
+            throw new IllegalStateException("bantora.idea.dedup.rebuild-page-size must be > 0");
+        }
+
+        this.ideaReadRepository = ideaReadRepository;
+        this.enabled = enabled;
+        this.similarityThreshold = similarityThreshold;
+        this.window = Duration.ofHours(windowHours);
+        this.maxIdeasPerHashtag = maxIdeasPerHashtag;
+        this.rebuildPageSize = rebuildPageSize;
+
+        Gauge.builder("bantora.idea.dedup.indexed", this, IdeaDuplicateIndex::indexedCount)
+                .description("Idea entries held in the near-duplicate index, counted once per hashtag")
+                .register(meterRegistry);
+        this.matches = Counter.builder("bantora.idea.dedup.matches")
+                .description("Submitted ideas matched to an existing pending idea")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("bantora.idea.dedup.rebuild").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        rebuild().subscribe(
+                loaded -> {
+                    rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.info("Idea duplicate index loaded {} pending ideas", loaded);
+                },
+                e -> log.error("Idea duplicate index rebuild failed: {}", e.toString()));
+    }
+
+    // Loads pending ideas of the window oldest first, one keyset page at a time, so each page is searchable as soon
+    // as it is added. Ideas submitted meanwhile are added by createIdea; adding an idea twice is a no-op.
+    public Mono<Long> rebuild() {
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        return ideaReadRepository.findPendingIdeasWithTagsAfter(since, since, MIN_UUID, rebuildPageSize)
+                .collectList()
+                .expand(page -> {
+                    if (page.size() < rebuildPageSize) {
+                        return Mono.empty();
+                    }
+                    BantoraIdea last = page.get(page.size() - 1).idea();
+                    return ideaReadRepository.findPendingIdeasWithTagsAfter(since, last.getCreatedAt(), last.getId(), rebuildPageSize)
+                            .collectList();
+                })
+                .doOnNext(page -> page.forEach(row -> add(row.idea(), row.tags())))
+                .reduce(0L, (total, page) -> total + page.size());
+    }
+
+    public synchronized void add(BantoraIdea idea, Collection<String> hashtags) {
+        if (!enabled) {
+            return;
+        }
+        int[] signature = signature(idea.getContent());
+        if (signature == null) {
+            return;
+        }
+        LocalDateTime createdAt = idea.getCreatedAt() == null ? LocalDateTime.now() : idea.getCreatedAt();
+        Entry entry = new Entry(
+                Objects.requireNonNull(idea.getId(), "idea.id"),
+                idea.getUserPhone(),
+                Objects.requireNonNull(idea.getCategoryId(), "idea.categoryId"),
+                createdAt,
+                signature);
+        for (String tag : hashtags) {
+            HashtagIndex index = byHashtag.computeIfAbsent(tag, ignored -> new HashtagIndex());
+            if (index.entries.containsKey(entry.ideaId())) {
+                continue;
+            }
+            index.entries.put(entry.ideaId(), entry);
+            indexedCount++;
+            for (int band = 0; band < BANDS; band++) {
+                index.buckets.computeIfAbsent(bandKey(signature, band), ignored -> new HashSet<>()).add(entry.ideaId());
+            }
+            evictExpired(tag, index);
+        }
+    }
+
+    // Best match among the submitted hashtags' recent ideas of the same category, if any reaches the threshold.
+    public synchronized Optional<Match> findDuplicate(Collection<String> hashtags, UUID categoryId, String content) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        int[] signature = signature(content);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        Match best = null;
+        for (String tag : new LinkedHashSet<>(hashtags)) {
+            HashtagIndex index = byHashtag.get(tag);
+            if (index == null || evictExpired(tag, index)) {
+                continue;
+            }
+            Set<UUID> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                candidates.addAll(index.buckets.getOrDefault(bandKey(signature, band), Set.of()));
+            }
+            for (UUID candidateId : candidates) {
+                Entry candidate = index.entries.get(candidateId);
+                if (candidate == null || !candidate.categoryId().equals(categoryId)) {
+                    continue;
+                }
+                double similarity = similarity(signature, candidate.signature());
+                if (similarity >= similarityThreshold && (best == null || similarity > best.similarity()
+                        || (similarity == best.similarity() && candidateId.compareTo(best.ideaId()) < 0))) {
+                    best = new Match(candidateId, candidate.userPhone(), similarity);
+                }
+            }
+        }
+        if (best != null) {
+            matches.increment();
+        }
+        return Optional.ofNullable(best);
+    }
+
+    // Called once ideas leave PENDING (converted, rejected) or turn out to be stale.
+    public synchronized void remove(Collection<UUID> ideaIds) {
+        if (!enabled || ideaIds.isEmpty()) {
+            return;
+        }
+        Iterator<Map.Entry<String, HashtagIndex>> hashtags = byHashtag.entrySet().iterator();
+        while (hashtags.hasNext()) {
+            HashtagIndex index = hashtags.next().getValue();
+            for (UUID ideaId : ideaIds) {
+                Entry entry = index.entries.remove(ideaId);
+                if (entry != null) {
+                    unindex(index, entry);
+                }
+            }
+            if (index.entries.isEmpty()) {
+                hashtags.remove();
+            }
+        }
+    }
+
+    synchronized int indexedCount() {
+        return indexedCount;
+    }
+
+    // Entries are kept in insertion order, which is creation order apart from the startup overlap, so expired and
+    // over-cap entries are at the head. Returns true when the hashtag's index became empty and was dropped.
+    private boolean evictExpired(String tag, HashtagIndex index) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(window);
+        Iterator<Entry> entries = index.entries.values().iterator();
+        while (entries.hasNext()) {
+            Entry oldest = entries.next();
+            if (index.entries.size() <= maxIdeasPerHashtag && !oldest.createdAt().isBefore(cutoff)) {
+                break;
+            }
+            entries.remove();
+            unindex(index, oldest);
+        }
+        if (index.entries.isEmpty()) {
+            byHashtag.remove(tag);
+            return true;
+        }
+        return false;
+    }
+
+    private void unindex(HashtagIndex index, Entry entry) {
+        indexedCount--;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.signature(), band);
+            Set<UUID> bucket = index.buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(entry.ideaId());
+                if (bucket.isEmpty()) {
+                    index.buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    // Shingles are the content's words (as IdeaClusterer tokenises them) and adjacent word pairs; null when the
+    // content has no meaningful words, such ideas are neither indexed nor matched.
+    static int[] signature(String content) {
+        List<String> terms = IdeaClusterer.terms(content);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        Set<String> shingles = new HashSet<>(terms);
+        for (int i = 1; i < terms.size(); i++) {
+            shingles.add(terms.get(i - 1) + ' ' + terms.get(i));
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = shingle.hashCode() * 0x9E3779B97F4A7C15L;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) (mix64(base ^ SEEDS[i]) >>> 32);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        int hash = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return ((long) band << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    // MurmurHash3 fmix64 finaliser.
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB93FE1A85A53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,26 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Turns one batch of a hashtag's pending ideas into poll suggestions. Answers are JSON in the schema the Gemini
+// prompt asks for ({"polls": [{title, description, categoryId, options, sourceIdeaIds}], "rejectedIdeaIds": []}),
+// so AiService parses, validates and applies them the same way whichever engine produced them.
+// Selected by bantora.ai.engine.type: gemini or local.
+public interface IdeaPollEngine {
+
+    String name();
+
+    // False while the engine cannot take calls (the Gemini circuit breaker is open); the AI run is then skipped.
+    boolean isAvailable();
+
+    // Estimated tokens of the fixed part of a request for this hashtag, reserved out of the batch token budget.
+    int promptOverheadTokens(String tag);
+
+    // Remote answers are worth keeping in AiResultCache until they are applied; local ones are cheaper to recompute.
+    boolean cachesResults();
+
+    Mono<String> suggestPolls(String tag, List<BantoraIdea> ideas);
+}
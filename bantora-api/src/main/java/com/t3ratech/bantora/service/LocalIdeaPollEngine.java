@@ -0,0 +1,125 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.entity.BantoraIdea;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Model-free engine for CI and air-gapped load tests: ideas of the same category are grouped by TF-IDF similarity
+// (IdeaClusterer) and each group becomes one Yes/No poll titled after its first idea. Ideas with fewer than two
+// meaningful words are rejected as unclear. The same batch always produces the same polls.
+@Component
+@ConditionalOnProperty(name = "bantora.ai.engine.type", havingValue = "local")
+public class LocalIdeaPollEngine implements IdeaPollEngine {
+
+    static final int MIN_TERMS = 2;
+    static final int TITLE_MAX_LENGTH = 200;
+    private static final int KEY_TERMS = 5;
+
+    private final ObjectMapper objectMapper;
+    private final double similarityThreshold;
+
+    public LocalIdeaPollEngine(
+            ObjectMapper objectMapper,
+            @Value("${bantora.ai.engine.similarity-threshold}") double similarityThreshold
+    ) {
+        if (similarityThreshold <= 0 || similarityThreshold > 1) {
+            throw new IllegalStateException("bantora.ai.engine.similarity-threshold must be in (0, 1]");
+        }
+        this.objectMapper = objectMapper;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public int promptOverheadTokens(String tag) {
+        return 0;
+    }
+
+    @Override
+    public boolean cachesResults() {
+        return false;
+    }
+
+    @Override
+    public Mono<String> suggestPolls(String tag, List<BantoraIdea> ideas) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(suggest(tag, ideas)));
+    }
+
+    Map<String, Object> suggest(String tag, List<BantoraIdea> ideas) {
+        List<String> rejected = new ArrayList<>();
+        List<BantoraIdea> clear = new ArrayList<>();
+        for (BantoraIdea idea : ideas) {
+            if (IdeaClusterer.terms(idea.getContent()).size() < MIN_TERMS) {
+                rejected.add(Objects.requireNonNull(idea.getId(), "idea.id").toString());
+            } else {
+                clear.add(idea);
+            }
+        }
+
+        List<Map<String, Object>> polls = new ArrayList<>();
+        for (List<BantoraIdea> cluster : IdeaClusterer.cluster(clear, BantoraIdea::getContent, BantoraIdea::getCategoryId, similarityThreshold)) {
+            polls.add(poll(tag, cluster));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("polls", polls);
+        response.put("rejectedIdeaIds", rejected);
+        return response;
+    }
+
+    private Map<String, Object> poll(String tag, List<BantoraIdea> cluster) {
+        BantoraIdea leader = cluster.get(0);
+        String description = cluster.size() == 1
+                ? "Suggested under #" + tag + "."
+                : "Grouped from " + cluster.size() + " similar ideas under #" + tag + ". Key terms: " + String.join(", ", keyTerms(cluster)) + ".";
+
+        Map<String, Object> poll = new LinkedHashMap<>();
+        poll.put("title", title(leader.getContent()));
+        poll.put("description", description);
+        poll.put("categoryId", Objects.requireNonNull(leader.getCategoryId(), "idea.categoryId").toString());
+        poll.put("options", List.of("Yes", "No"));
+        poll.put("sourceIdeaIds", cluster.stream().map(idea -> idea.getId().toString()).toList());
+        return poll;
+    }
+
+    static String title(String content) {
+        String normalized = content.trim().replaceAll("\\s+", " ");
+        if (normalized.length() <= TITLE_MAX_LENGTH) {
+            return normalized;
+        }
+        return normalized.substring(0, TITLE_MAX_LENGTH - 3).trim() + "...";
+    }
+
+    // Most frequent terms across the group; ties broken alphabetically so the text is stable.
+    private static List<String> keyTerms(List<BantoraIdea> cluster) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (BantoraIdea idea : cluster) {
+            IdeaClusterer.terms(idea.getContent()).stream().distinct().forEach(term -> counts.merge(term, 1, Integer::sum));
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(KEY_TERMS)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -102,6 +102,11 @@ CREATE INDEX idx_bantora_poll_region ON bantora_poll(region);
 CREATE INDEX idx_bantora_poll_country ON bantora_poll(country_code);
 CREATE INDEX idx_bantora_poll_start_time ON bantora_poll(start_time);
 CREATE INDEX idx_bantora_poll_end_time ON bantora_poll(end_time);
+-- Keyset pagination over active polls: (created_at, id) and (total_votes, id), newest / most voted first
+CREATE INDEX idx_bantora_poll_active_created ON bantora_poll(created_at DESC, id DESC) WHERE status = 'ACTIVE';
+CREATE INDEX idx_bantora_poll_active_votes ON bantora_poll(total_votes DESC, id DESC) WHERE status = 'ACTIVE';
+CREATE INDEX idx_bantora_poll_category_active_created ON bantora_poll(category_id, created_at DESC, id DESC) WHERE status = 'ACTIVE';
+CREATE INDEX idx_bantora_poll_category_active_votes ON bantora_poll(category_id, total_votes DESC, id DESC) WHERE status = 'ACTIVE';
 
 -- Poll options
 CREATE TABLE bantora_poll_option (
@@ -220,3 +225,5 @@ CREATE TABLE bantora_refresh_token (
 CREATE INDEX idx_bantora_refresh_token_token ON bantora_refresh_token(token);
 CREATE INDEX idx_bantora_refresh_token_user ON bantora_refresh_token(user_phone);
 CREATE INDEX idx_bantora_refresh_token_expires ON bantora_refresh_token(expires_at);
+-- Revoked tokens are swept before they expire; expired ones are found through idx_bantora_refresh_token_expires
+CREATE INDEX idx_bantora_refresh_token_revoked ON bantora_refresh_token(expires_at) WHERE revoked = TRUE;
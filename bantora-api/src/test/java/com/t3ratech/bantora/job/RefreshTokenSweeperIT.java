@@ -0,0 +1,103 @@
+package com.t3ratech.bantora.job;
+
+import com.t3ratech.bantora.repository.BantoraRefreshTokenWriteRepository;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenSweeperIT extends BantoraPostgresTestSupport {
+
+    private static BantoraRefreshTokenWriteRepository refreshTokenWriteRepository;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        refreshTokenWriteRepository = new BantoraRefreshTokenWriteRepository(databaseClient);
+    }
+
+    // The sweeper is table-wide, so every test starts from an empty table.
+    @BeforeEach
+    void clearTokens() {
+        databaseClient.sql("DELETE FROM bantora_refresh_token").then().block();
+    }
+
+    @Test
+    void sweep_shouldDeleteExpiredAndRevokedRowsInBatchesAndKeepLiveOnes() throws Exception {
+        String phone = "+263772000001";
+        seedUsers(List.of(phone));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        seedTokens(phone, 230, now.minusHours(1), false);
+        seedTokens(phone, 40, now.plusDays(1), true);
+        seedTokens(phone, 15, now.plusDays(1), false);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RefreshTokenSweeper sweeper = new RefreshTokenSweeper(refreshTokenWriteRepository, meterRegistry, true, 50, 0L, 100);
+
+        assertThat(sweeper.sweep().block()).isEqualTo(270L);
+        assertThat(countTokens(phone)).isEqualTo(15L);
+        assertThat(meterRegistry.get("bantora.security.refresh-token.sweeper.deleted").summary().totalAmount()).isEqualTo(270.0);
+        assertThat(meterRegistry.get("bantora.security.refresh-token.sweeper.deleted.rows").tag("reason", "expired").counter().count())
+                .isEqualTo(230.0);
+    }
+
+    @Test
+    void sweep_shouldStopAfterMaxBatches() throws Exception {
+        String phone = "+263772000011";
+        seedUsers(List.of(phone));
+        seedTokens(phone, 100, LocalDateTime.now(ZoneOffset.UTC).minusHours(1), false);
+
+        RefreshTokenSweeper sweeper = new RefreshTokenSweeper(refreshTokenWriteRepository, new SimpleMeterRegistry(), true, 10, 0L, 3);
+
+        assertThat(sweeper.sweep().block()).isEqualTo(30L);
+        assertThat(countTokens(phone)).isEqualTo(70L);
+    }
+
+    @Test
+    void sweep_shouldDeleteEachRowOnceWhenInstancesRunConcurrently() throws Exception {
+        String phone = "+263772000021";
+        seedUsers(List.of(phone));
+        seedTokens(phone, 400, LocalDateTime.now(ZoneOffset.UTC).minusHours(1), false);
+
+        RefreshTokenSweeper first = new RefreshTokenSweeper(refreshTokenWriteRepository, new SimpleMeterRegistry(), true, 25, 0L, 1000);
+        RefreshTokenSweeper second = new RefreshTokenSweeper(refreshTokenWriteRepository, new SimpleMeterRegistry(), true, 25, 0L, 1000);
+
+        Long deleted = Mono.zip(first.sweep(), second.sweep(), Long::sum).block();
+
+        assertThat(deleted).isEqualTo(400L);
+        assertThat(countTokens(phone)).isZero();
+    }
+
+    private static void seedTokens(String phone, int count, LocalDateTime expiresAt, boolean revoked) {
+        for (int i = 0; i < count; i++) {
+            databaseClient.sql("""
+                            INSERT INTO bantora_refresh_token (id, token, user_phone, expires_at, revoked, created_at)
+                            VALUES (:id, :token, :phone, :expiresAt, :revoked, :now)
+                            """)
+                    .bind("id", UUID.randomUUID())
+                    .bind("token", UUID.randomUUID().toString())
+                    .bind("phone", phone)
+                    .bind("expiresAt", expiresAt)
+                    .bind("revoked", revoked)
+                    .bind("now", LocalDateTime.now(ZoneOffset.UTC))
+                    .then()
+                    .block();
+        }
+    }
+
+    private static long countTokens(String phone) {
+        return databaseClient.sql("SELECT COUNT(*) AS c FROM bantora_refresh_token WHERE user_phone = :phone")
+                .bind("phone", phone)
+                .map((row, meta) -> row.get("c", Long.class))
+                .one()
+                .block();
+    }
+}
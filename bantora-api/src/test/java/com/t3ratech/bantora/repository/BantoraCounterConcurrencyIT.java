@@ -0,0 +1,104 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.entity.BantoraVote;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraCounterConcurrencyIT extends BantoraPostgresTestSupport {
+
+    private static final int PARALLEL_WRITERS = 64;
+    private static final int VOTES = 4_000;
+    private static final int UPVOTES = 4_000;
+
+    private static BantoraVoteWriteRepository voteWriteRepository;
+    private static BantoraPollRepository pollRepository;
+    private static BantoraPollOptionRepository optionRepository;
+    private static BantoraIdeaRepository ideaRepository;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        voteWriteRepository = new BantoraVoteWriteRepository(databaseClient);
+        pollRepository = repository(BantoraPollRepository.class);
+        optionRepository = repository(BantoraPollOptionRepository.class);
+        ideaRepository = repository(BantoraIdeaRepository.class);
+    }
+
+    @Test
+    void parallelVotes_shouldKeepCountersEqualToVoteRows() throws Exception {
+        SeededPoll poll = seedActivePoll("+263730000000", 3);
+        List<String> voters = IntStream.range(0, VOTES)
+                .mapToObj(i -> "+26373" + String.format("%07d", i + 1))
+                .toList();
+        seedUsers(voters);
+
+        Long recorded = Flux.fromIterable(voters)
+                .flatMap(phone -> voteWriteRepository.recordVote(BantoraVote.builder()
+                        .id(UUID.randomUUID())
+                        .pollId(poll.pollId())
+                        .optionId(poll.optionIds().get(Math.floorMod(phone.hashCode(), 3)))
+                        .userPhone(phone)
+                        .anonymous(false)
+                        .votedAt(LocalDateTime.now())
+                        .build()), PARALLEL_WRITERS)
+                .filter(BantoraVoteWriteRepository.VoteWriteResult::recorded)
+                .count()
+                .block(Duration.ofMinutes(5));
+
+        assertThat(recorded).isEqualTo((long) VOTES);
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo((long) VOTES);
+        assertThat(optionCountersByOption(poll.pollId())).isEqualTo(voteRowsByOption(poll.pollId()));
+    }
+
+    @Test
+    void parallelDeltaIncrements_shouldNotLoseUpdates() throws Exception {
+        SeededPoll poll = seedActivePoll("+263740000000", 1);
+        UUID optionId = poll.optionIds().get(0);
+
+        Flux.range(0, VOTES)
+                .flatMap(i -> optionRepository.incrementVotesCount(optionId, 1L)
+                        .then(pollRepository.incrementTotalVotes(poll.pollId(), 1L, LocalDateTime.now())), PARALLEL_WRITERS)
+                .blockLast(Duration.ofMinutes(5));
+
+        assertThat(optionRepository.findById(optionId).block().getVotesCount()).isEqualTo((long) VOTES);
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo((long) VOTES);
+    }
+
+    @Test
+    void parallelUpvotes_shouldNotLoseUpdates() throws Exception {
+        SeededPoll poll = seedActivePoll("+263750000000", 1);
+        UUID ideaId = seedPendingIdea("+263750000001", poll.categoryId(), "concurrency", "Shared water points");
+
+        Flux.range(0, UPVOTES)
+                .flatMap(i -> ideaRepository.incrementUpvotes(ideaId), PARALLEL_WRITERS)
+                .blockLast(Duration.ofMinutes(5));
+
+        assertThat(ideaRepository.findById(ideaId).block().getUpvotes()).isEqualTo((long) UPVOTES);
+    }
+
+    private static Map<UUID, Long> optionCountersByOption(UUID pollId) {
+        return optionRepository.findByPollIdOrderByOptionOrder(pollId)
+                .collectMap(option -> option.getId(), option -> option.getVotesCount())
+                .block();
+    }
+
+    private static Map<UUID, Long> voteRowsByOption(UUID pollId) {
+        return databaseClient.sql("SELECT option_id, COUNT(*) AS votes FROM bantora_vote WHERE poll_id = :pollId GROUP BY option_id")
+                .bind("pollId", pollId)
+                .map((row, meta) -> Map.entry(row.get("option_id", UUID.class), row.get("votes", Long.class)))
+                .all()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                .block();
+    }
+}
@@ -0,0 +1,98 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraPollFeedIT extends BantoraPostgresTestSupport {
+
+    private static final int POLLS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    private static BantoraPollRepository pollRepository;
+    private static List<UUID> seededPollIds;
+
+    @BeforeAll
+    static void seedFeed() throws Exception {
+        pollRepository = repository(BantoraPollRepository.class);
+        seededPollIds = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+
+        try (Connection connection = jdbcConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE bantora_poll SET created_at = ?, total_votes = ? WHERE id = ?")) {
+            for (int i = 0; i < POLLS; i++) {
+                UUID pollId = seedActivePoll("+2637900000" + String.format("%02d", i), 1).pollId();
+                seededPollIds.add(pollId);
+                // Pairs of polls share a sort key so the id tie-breaker is exercised on every page boundary.
+                update.setObject(1, createdAt.minusMinutes(i / 2));
+                update.setLong(2, i / 2);
+                update.setObject(3, pollId);
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    // Postgres orders uuid bytewise (unsigned), which matches the lowercase hex string order, not UUID.compareTo.
+    @Test
+    void createdFeed_shouldVisitEveryPollOnceInKeysetOrder() {
+        List<BantoraPoll> visited = new ArrayList<>();
+        LocalDateTime cursorCreatedAt = BantoraPollRepository.FEED_START_CREATED_AT;
+        UUID cursorId = BantoraPollRepository.FEED_START_ID;
+
+        while (true) {
+            List<BantoraPoll> page = pollRepository.findActiveOrderByCreatedDescAfter(
+                    LocalDateTime.now(), cursorCreatedAt, cursorId, PAGE_SIZE).collectList().block();
+            assertThat(page).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            visited.addAll(page);
+            BantoraPoll last = page.get(page.size() - 1);
+            cursorCreatedAt = last.getCreatedAt();
+            cursorId = last.getId();
+        }
+
+        assertThat(visited).extracting(BantoraPoll::getId).containsExactlyInAnyOrderElementsOf(seededPollIds);
+        assertThat(visited).isSortedAccordingTo(Comparator.comparing(BantoraPoll::getCreatedAt)
+                .thenComparing(poll -> poll.getId().toString())
+                .reversed());
+    }
+
+    @Test
+    void votesFeed_shouldVisitEveryPollOnceInKeysetOrder() {
+        List<BantoraPoll> visited = new ArrayList<>();
+        long cursorTotalVotes = BantoraPollRepository.FEED_START_TOTAL_VOTES;
+        UUID cursorId = BantoraPollRepository.FEED_START_ID;
+
+        while (true) {
+            List<BantoraPoll> page = pollRepository.findActiveOrderByVotesDescAfter(
+                    LocalDateTime.now(), cursorTotalVotes, cursorId, PAGE_SIZE).collectList().block();
+            assertThat(page).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            visited.addAll(page);
+            BantoraPoll last = page.get(page.size() - 1);
+            cursorTotalVotes = last.getTotalVotes();
+            cursorId = last.getId();
+        }
+
+        assertThat(visited).extracting(BantoraPoll::getId).containsExactlyInAnyOrderElementsOf(seededPollIds);
+        assertThat(visited).isSortedAccordingTo(Comparator.comparing(BantoraPoll::getTotalVotes)
+                .thenComparing(poll -> poll.getId().toString())
+                .reversed());
+    }
+}
@@ -0,0 +1,65 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.enums.BantoraIdeaStatus;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraPollSourceIdeaReadRepositoryIT extends BantoraPostgresTestSupport {
+
+    private static BantoraPollSourceIdeaReadRepository sourceIdeaReadRepository;
+
+    @BeforeAll
+    static void setUpRepository() {
+        sourceIdeaReadRepository = new BantoraPollSourceIdeaReadRepository(databaseClient);
+    }
+
+    @Test
+    void findIdeasByPollId_shouldReturnEachSourceIdeaOnceWithItsTags() throws Exception {
+        SeededPoll poll = seedActivePoll("+263740000000", 2);
+        SeededPoll otherPoll = seedActivePoll("+263740000001", 2);
+        UUID water = seedPendingIdea("+263740000002", poll.categoryId(), "water", "Fix the boreholes");
+        UUID power = seedPendingIdea("+263740000003", poll.categoryId(), "power", "Stabilise the grid");
+        UUID unrelated = seedPendingIdea("+263740000004", otherPoll.categoryId(), "roads", "Repave the highway");
+        try (Connection connection = jdbcConnection();
+             PreparedStatement tag = connection.prepareStatement("""
+                     INSERT INTO bantora_idea_hashtag (idea_id, hashtag_id)
+                     SELECT ?, id FROM bantora_hashtag WHERE tag = 'power'
+                     """);
+             PreparedStatement link = connection.prepareStatement(
+                     "INSERT INTO bantora_poll_source_idea (poll_id, idea_id) VALUES (?, ?)")) {
+            tag.setObject(1, water);
+            tag.executeUpdate();
+            for (UUID[] pair : List.of(new UUID[]{poll.pollId(), water}, new UUID[]{poll.pollId(), power},
+                    new UUID[]{otherPoll.pollId(), unrelated})) {
+                link.setObject(1, pair[0]);
+                link.setObject(2, pair[1]);
+                link.addBatch();
+            }
+            link.executeBatch();
+        }
+
+        List<BantoraPollSourceIdeaReadRepository.SourceIdea> ideas = sourceIdeaReadRepository
+                .findIdeasByPollId(poll.pollId())
+                .collectList()
+                .block();
+
+        assertThat(ideas).extracting(sourceIdea -> sourceIdea.idea().getId())
+                .containsExactlyInAnyOrder(water, power);
+        BantoraPollSourceIdeaReadRepository.SourceIdea waterIdea = ideas.stream()
+                .filter(sourceIdea -> sourceIdea.idea().getId().equals(water))
+                .findFirst()
+                .orElseThrow();
+        assertThat(waterIdea.tags()).containsExactly("power", "water");
+        assertThat(waterIdea.idea().getContent()).isEqualTo("Fix the boreholes");
+        assertThat(waterIdea.idea().getStatus()).isEqualTo(BantoraIdeaStatus.PENDING);
+        assertThat(waterIdea.idea().getUpvotes()).isZero();
+    }
+}
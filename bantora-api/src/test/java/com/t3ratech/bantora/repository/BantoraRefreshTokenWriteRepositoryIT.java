@@ -0,0 +1,70 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.security.PostgresRefreshTokenStore;
+import com.t3ratech.bantora.security.RefreshTokenStore.RotationResult;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraRefreshTokenWriteRepositoryIT extends BantoraPostgresTestSupport {
+
+    private static BantoraRefreshTokenWriteRepository refreshTokenWriteRepository;
+    private static PostgresRefreshTokenStore store;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        refreshTokenWriteRepository = new BantoraRefreshTokenWriteRepository(databaseClient);
+        store = new PostgresRefreshTokenStore(entityTemplate, refreshTokenWriteRepository);
+    }
+
+    @Test
+    void rotate_shouldSwapTokenOnceAndReportReplayAsRevoked() throws Exception {
+        String phone = "+263771000001";
+        seedUsers(List.of(phone));
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        store.store("refresh-a", phone, expiresAt).block();
+
+        assertThat(store.rotate("refresh-a", phone, "refresh-b", expiresAt).block()).isEqualTo(RotationResult.ROTATED);
+        assertThat(store.rotate("refresh-a", phone, "refresh-c", expiresAt).block()).isEqualTo(RotationResult.REVOKED);
+        assertThat(store.rotate("refresh-b", phone, "refresh-d", expiresAt).block()).isEqualTo(RotationResult.ROTATED);
+        assertThat(store.rotate("unknown", phone, "refresh-e", expiresAt).block()).isEqualTo(RotationResult.NOT_FOUND);
+
+        assertThat(refreshTokenWriteRepository.findLiveTokens(LocalDateTime.now(ZoneOffset.UTC))
+                .filter(live -> live.userPhone().equals(phone))
+                .map(BantoraRefreshTokenWriteRepository.LiveToken::token)
+                .collectList()
+                .block()).containsExactly("refresh-d");
+    }
+
+    @Test
+    void rotate_shouldRejectTokenOwnedByAnotherUser() throws Exception {
+        String owner = "+263771000011";
+        String other = "+263771000012";
+        seedUsers(List.of(owner, other));
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        store.store("refresh-owned", owner, expiresAt).block();
+
+        assertThat(store.rotate("refresh-owned", other, "refresh-stolen", expiresAt).block()).isEqualTo(RotationResult.REVOKED);
+        assertThat(store.rotate("refresh-owned", owner, "refresh-next", expiresAt).block()).isEqualTo(RotationResult.ROTATED);
+    }
+
+    @Test
+    void revoke_shouldMakeTokenUnusable() throws Exception {
+        String phone = "+263771000021";
+        seedUsers(List.of(phone));
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        store.store("refresh-logout", phone, expiresAt).block();
+
+        store.revoke("refresh-logout").block();
+
+        assertThat(store.rotate("refresh-logout", phone, "refresh-after", expiresAt).block()).isEqualTo(RotationResult.REVOKED);
+    }
+}
@@ -0,0 +1,70 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.entity.BantoraUser;
+import com.t3ratech.bantora.repository.BantoraRegistrationReadRepository.RegistrationCheck;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BantoraRegistrationReadRepositoryIT extends BantoraPostgresTestSupport {
+
+    private static BantoraRegistrationReadRepository registrationReadRepository;
+
+    @BeforeAll
+    static void setUpRepositories() throws Exception {
+        registrationReadRepository = new BantoraRegistrationReadRepository(databaseClient);
+        try (Connection connection = jdbcConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO bantora_country (code, name, calling_code, currency, default_language, registration_enabled)
+                    VALUES ('ZW', 'Zimbabwe', '+263', 'USD', 'en', TRUE),
+                           ('XX', 'Closed', '+999', 'USD', 'en', FALSE)
+                    """);
+        }
+        entityTemplate.insert(user("+263773000001", "taken@example.com")).block();
+    }
+
+    @Test
+    void check_shouldReportCountryPhoneAndEmailInOneResult() {
+        assertThat(registrationReadRepository.check("ZW", "+263773000002", "new@example.com").block())
+                .isEqualTo(new RegistrationCheck(true, false, false));
+        assertThat(registrationReadRepository.check("ZW", "+263773000001", "taken@example.com").block())
+                .isEqualTo(new RegistrationCheck(true, true, true));
+        assertThat(registrationReadRepository.check("XX", "+263773000002", null).block())
+                .isEqualTo(new RegistrationCheck(false, false, false));
+        assertThat(registrationReadRepository.check("QQ", "+263773000001", null).block())
+                .isEqualTo(new RegistrationCheck(false, true, false));
+    }
+
+    @Test
+    void insert_shouldNameViolatedConstraintSoConflictsMapToTheRightMessage() {
+        assertThatThrownBy(() -> entityTemplate.insert(user("+263773000003", "taken@example.com")).block())
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining("uq_bantora_user_email");
+        assertThatThrownBy(() -> entityTemplate.insert(user("+263773000001", "other@example.com")).block())
+                .isInstanceOf(DuplicateKeyException.class)
+                .satisfies(e -> assertThat(e.getMessage()).doesNotContain("uq_bantora_user_email"));
+    }
+
+    private static BantoraUser user(String phone, String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return BantoraUser.builder()
+                .phoneNumber(phone)
+                .passwordHash("x")
+                .email(email)
+                .countryCode("ZW")
+                .verified(true)
+                .enabled(true)
+                .preferredLanguage("en")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.t3ratech.bantora.repository;
+
+import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.entity.BantoraPollOption;
+import com.t3ratech.bantora.entity.BantoraVote;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraVoteWriteRepositoryIT extends BantoraPostgresTestSupport {
+
+    private static final int VOTERS = 300;
+    private static final int COMPARED_VOTES = 20;
+
+    private static BantoraVoteWriteRepository voteWriteRepository;
+    private static BantoraPollRepository pollRepository;
+    private static BantoraPollOptionRepository optionRepository;
+    private static BantoraVoteRepository voteRepository;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        voteWriteRepository = new BantoraVoteWriteRepository(databaseClient);
+        pollRepository = repository(BantoraPollRepository.class);
+        optionRepository = repository(BantoraPollOptionRepository.class);
+        voteRepository = repository(BantoraVoteRepository.class);
+    }
+
+    @Test
+    void recordVote_shouldInsertVoteAndReturnIncrementedCounters() {
+        SeededPoll poll = seedActivePoll("+263700000001", 2);
+        seedUsers(List.of("+263700000002"));
+
+        BantoraVoteWriteRepository.VoteWriteResult result = voteWriteRepository
+                .recordVote(vote(poll.pollId(), poll.optionIds().get(0), "+263700000002"))
+                .block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.recorded()).isTrue();
+        assertThat(result.optionVotesCount()).isEqualTo(1L);
+        assertThat(result.pollTotalVotes()).isEqualTo(1L);
+        assertThat(voteRepository.existsByPollIdAndUserPhone(poll.pollId(), "+263700000002").block()).isTrue();
+    }
+
+    @Test
+    void recordVote_shouldRejectWithoutSideEffects() {
+        SeededPoll poll = seedActivePoll("+263700000011", 2);
+        SeededPoll otherPoll = seedActivePoll("+263700000012", 2);
+        seedUsers(List.of("+263700000013"));
+
+        BantoraVoteWriteRepository.VoteWriteResult first = voteWriteRepository
+                .recordVote(vote(poll.pollId(), poll.optionIds().get(0), "+263700000013")).block();
+        BantoraVoteWriteRepository.VoteWriteResult duplicate = voteWriteRepository
+                .recordVote(vote(poll.pollId(), poll.optionIds().get(1), "+263700000013")).block();
+        BantoraVoteWriteRepository.VoteWriteResult foreignOption = voteWriteRepository
+                .recordVote(vote(poll.pollId(), otherPoll.optionIds().get(0), "+263700000012")).block();
+        BantoraVoteWriteRepository.VoteWriteResult unknownPoll = voteWriteRepository
+                .recordVote(vote(UUID.randomUUID(), poll.optionIds().get(0), "+263700000012")).block();
+
+        assertThat(first.recorded()).isTrue();
+
+        assertThat(duplicate.recorded()).isFalse();
+        assertThat(duplicate.pollExists()).isTrue();
+        assertThat(duplicate.optionPollId()).isEqualTo(poll.pollId());
+
+        assertThat(foreignOption.recorded()).isFalse();
+        assertThat(foreignOption.optionPollId()).isEqualTo(otherPoll.pollId());
+
+        assertThat(unknownPoll.recorded()).isFalse();
+        assertThat(unknownPoll.pollExists()).isFalse();
+
+        BantoraPoll reloaded = pollRepository.findById(poll.pollId()).block();
+        assertThat(reloaded.getTotalVotes()).isEqualTo(1L);
+        assertThat(optionRepository.findById(poll.optionIds().get(1)).block().getVotesCount()).isZero();
+    }
+
+    @Test
+    void recordVote_shouldKeepCountersInStepWithInsertedVotes() {
+        SeededPoll poll = seedActivePoll("+263710000000", 4);
+        List<String> voters = phones("+26371", VOTERS);
+        seedUsers(voters);
+
+        Map<UUID, Long> expectedByOption = new HashMap<>();
+        for (int i = 0; i < voters.size(); i++) {
+            UUID optionId = poll.optionIds().get(i & 3);
+            BantoraVoteWriteRepository.VoteWriteResult result = voteWriteRepository
+                    .recordVote(vote(poll.pollId(), optionId, voters.get(i)))
+                    .block();
+
+            long expectedOptionVotes = expectedByOption.merge(optionId, 1L, Long::sum);
+            assertThat(result.recorded()).isTrue();
+            assertThat(result.optionVotesCount()).isEqualTo(expectedOptionVotes);
+            assertThat(result.pollTotalVotes()).isEqualTo(i + 1L);
+        }
+
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo((long) VOTERS);
+        for (UUID optionId : poll.optionIds()) {
+            assertThat(optionRepository.findById(optionId).block().getVotesCount()).isEqualTo(expectedByOption.get(optionId));
+        }
+    }
+
+    // Counts statements rather than timing them: the entity chain needs at least six round trips per vote,
+    // the CTE write exactly one, regardless of how loaded the CI runner is.
+    @Test
+    void recordVote_shouldSendOneStatementWhereTheEntityChainSentSix() {
+        AtomicInteger statements = new AtomicInteger();
+        ConnectionFactory counting = countingStatements(connectionFactory, statements);
+        R2dbcEntityTemplate countingTemplate = new R2dbcEntityTemplate(counting);
+        R2dbcRepositoryFactory countingRepositories = new R2dbcRepositoryFactory(countingTemplate);
+        BantoraVoteWriteRepository countingWriteRepository = new BantoraVoteWriteRepository(DatabaseClient.create(counting));
+        BantoraPollRepository countingPollRepository = countingRepositories.getRepository(BantoraPollRepository.class);
+        BantoraPollOptionRepository countingOptionRepository = countingRepositories.getRepository(BantoraPollOptionRepository.class);
+        BantoraVoteRepository countingVoteRepository = countingRepositories.getRepository(BantoraVoteRepository.class);
+
+        SeededPoll legacyPoll = seedActivePoll("+263720000000", 4);
+        SeededPoll singleStatementPoll = seedActivePoll("+263730000000", 4);
+        List<String> legacyVoters = phones("+26372", COMPARED_VOTES);
+        List<String> singleStatementVoters = phones("+26373", COMPARED_VOTES);
+        seedUsers(legacyVoters);
+        seedUsers(singleStatementVoters);
+
+        for (int i = 0; i < COMPARED_VOTES; i++) {
+            statements.set(0);
+            legacySubmitVote(countingTemplate, countingPollRepository, countingOptionRepository, countingVoteRepository,
+                    legacyPoll.pollId(), legacyPoll.optionIds().get(i & 3), legacyVoters.get(i)).block();
+            assertThat(statements.get()).isGreaterThanOrEqualTo(6);
+
+            statements.set(0);
+            countingWriteRepository.recordVote(vote(singleStatementPoll.pollId(), singleStatementPoll.optionIds().get(i & 3),
+                    singleStatementVoters.get(i))).block();
+            assertThat(statements.get()).isEqualTo(1);
+        }
+
+        assertThat(pollRepository.findById(legacyPoll.pollId()).block().getTotalVotes()).isEqualTo((long) COMPARED_VOTES);
+        assertThat(pollRepository.findById(singleStatementPoll.pollId()).block().getTotalVotes()).isEqualTo((long) COMPARED_VOTES);
+    }
+
+    // Mirrors the pre-CTE submitVote chain: load poll, load option, duplicate check, insert, save option, save poll.
+    private static Mono<Void> legacySubmitVote(
+            R2dbcEntityTemplate template,
+            BantoraPollRepository polls,
+            BantoraPollOptionRepository options,
+            BantoraVoteRepository votes,
+            UUID pollId,
+            UUID optionId,
+            String userPhone
+    ) {
+        return polls.findById(pollId)
+                .zipWith(options.findById(optionId))
+                .flatMap(tuple -> votes.existsByPollIdAndUserPhone(pollId, userPhone)
+                        .flatMap(alreadyVoted -> {
+                            BantoraPoll poll = tuple.getT1();
+                            BantoraPollOption option = tuple.getT2();
+                            option.setVotesCount(option.getVotesCount() + 1L);
+                            poll.setTotalVotes(poll.getTotalVotes() + 1L);
+                            return template.insert(vote(pollId, optionId, userPhone))
+                                    .then(options.save(option))
+                                    .then(polls.save(poll))
+                                    .then();
+                        }));
+    }
+
+    // Wraps the factory so every Connection.createStatement, i.e. every statement sent to Postgres, bumps the counter.
+    @SuppressWarnings("unchecked")
+    private static ConnectionFactory countingStatements(ConnectionFactory delegate, AtomicInteger statements) {
+        return (ConnectionFactory) Proxy.newProxyInstance(
+                BantoraVoteWriteRepositoryIT.class.getClassLoader(),
+                new Class<?>[]{ConnectionFactory.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(delegate, method, args);
+                    if (!method.getName().equals("create")) {
+                        return result;
+                    }
+                    return Mono.from((Publisher<? extends Connection>) result)
+                            .map(connection -> (Connection) Proxy.newProxyInstance(
+                                    BantoraVoteWriteRepositoryIT.class.getClassLoader(),
+                                    new Class<?>[]{Connection.class},
+                                    (connectionProxy, connectionMethod, connectionArgs) -> {
+                                        if (connectionMethod.getName().equals("createStatement")) {
+                                            statements.incrementAndGet();
+                                        }
+                                        return invoke(connection, connectionMethod, connectionArgs);
+                                    }));
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static List<String> phones(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> prefix + String.format("%07d", i + 1))
+                .toList();
+    }
+
+    private static BantoraVote vote(UUID pollId, UUID optionId, String userPhone) {
+        return BantoraVote.builder()
+                .id(UUID.randomUUID())
+                .pollId(pollId)
+                .optionId(optionId)
+                .userPhone(userPhone)
+                .anonymous(false)
+                .votedAt(LocalDateTime.now())
+                .build();
+    }
+}
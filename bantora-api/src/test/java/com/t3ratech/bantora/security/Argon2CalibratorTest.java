@@ -0,0 +1,34 @@
+package com.t3ratech.bantora.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Argon2CalibratorTest {
+
+    // Simulated host: one iteration over 1 MiB costs 10 µs, i.e. 640 µs per iteration at 64 MiB.
+    private static final Argon2Calibrator.HashClock LINEAR_HOST = parameters ->
+            Duration.ofNanos(10_000L * parameters.iterations() * parameters.memoryKib() / 1024L);
+
+    @Test
+    void calibrate_shouldFillLatencyBudgetWithIterationsAtConfiguredMemory() {
+        Argon2Calibrator.Parameters parameters = Argon2Calibrator.calibrate(Duration.ofMillis(5), 65_536, 4, LINEAR_HOST);
+
+        assertThat(parameters.memoryKib()).isEqualTo(65_536);
+        assertThat(parameters.iterations()).isEqualTo(7);
+        assertThat(parameters.parallelism()).isEqualTo(4);
+    }
+
+    @Test
+    void calibrate_shouldHalveMemoryOnSlowHostsButKeepOwaspFloor() {
+        Argon2Calibrator.Parameters tight = Argon2Calibrator.calibrate(Duration.ofNanos(400_000), 65_536, 1, LINEAR_HOST);
+        Argon2Calibrator.Parameters impossible = Argon2Calibrator.calibrate(Duration.ofNanos(1_000), 65_536, 1, LINEAR_HOST);
+
+        assertThat(tight.memoryKib()).isEqualTo(32_768);
+        assertThat(tight.iterations()).isEqualTo(2);
+        assertThat(impossible.memoryKib()).isGreaterThanOrEqualTo(Argon2Calibrator.MIN_MEMORY_KIB);
+        assertThat(impossible.iterations()).isEqualTo(2);
+    }
+}
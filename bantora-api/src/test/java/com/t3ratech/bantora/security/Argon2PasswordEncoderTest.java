@@ -0,0 +1,27 @@
+package com.t3ratech.bantora.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Argon2PasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_shouldFlagHashesWithOtherParameters() {
+        Argon2PasswordEncoder current = encoder(2, 1024, 1, 32);
+        String currentHash = current.encode("s3cret-pass");
+
+        assertThat(current.matches("s3cret-pass", currentHash)).isTrue();
+        assertThat(current.upgradeEncoding(currentHash)).isFalse();
+        assertThat(current.upgradeEncoding(encoder(1, 1024, 1, 32).encode("s3cret-pass"))).isTrue();
+        assertThat(current.upgradeEncoding(encoder(2, 2048, 1, 32).encode("s3cret-pass"))).isTrue();
+        assertThat(current.upgradeEncoding(encoder(2, 1024, 2, 32).encode("s3cret-pass"))).isTrue();
+        assertThat(current.upgradeEncoding(encoder(2, 1024, 1, 16).encode("s3cret-pass"))).isTrue();
+        assertThat(current.upgradeEncoding("$argon2id$v=19$garbage")).isTrue();
+        assertThat(current.upgradeEncoding(null)).isFalse();
+    }
+
+    private static Argon2PasswordEncoder encoder(int iterations, int memory, int parallelism, int hashLength) {
+        return new Argon2PasswordEncoder(iterations, memory, parallelism, 16, hashLength);
+    }
+}
@@ -0,0 +1,91 @@
+package com.t3ratech.bantora.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtAuthenticationCacheTest {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationCache cache;
+    private JwtReactiveAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil("dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=",
+                900_000L, 604_800_000L, "bantora-api", "bantora-web"));
+        cache = new JwtAuthenticationCache(new SimpleMeterRegistry(), true, 100L);
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtUtil, cache);
+    }
+
+    @Test
+    void authenticate_shouldVerifyTokenOnceAndServeRepeatsFromCache() {
+        String token = jwtUtil.generateAccessToken("+263785107830", Set.of("ROLE_USER"));
+
+        Authentication first = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(null, token)).block();
+        Authentication second = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(null, token)).block();
+
+        assertThat(first.getName()).isEqualTo("+263785107830");
+        assertThat(second).isSameAs(first);
+        verify(jwtUtil, times(1)).parseToken(anyString());
+    }
+
+    @Test
+    void authenticate_shouldNotCacheRejectedTokens() {
+        String refreshToken = jwtUtil.generateRefreshToken("+263785107830");
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(null, refreshToken)))
+                    .expectError(BadCredentialsException.class)
+                    .verify();
+        }
+        verify(jwtUtil, times(2)).parseToken(anyString());
+    }
+
+    @Test
+    void invalidationHooks_shouldRemoveEntriesImmediately() {
+        Authentication alice = new UsernamePasswordAuthenticationToken("+263700000001", "token-a", List.of());
+        Authentication bob = new UsernamePasswordAuthenticationToken("+263700000002", "token-b", List.of());
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        cache.put("token-a1", alice, expiresAt);
+        cache.put("token-a2", alice, expiresAt);
+        cache.put("token-b", bob, expiresAt);
+
+        cache.invalidateToken("token-a1");
+        assertThat(cache.get("token-a1")).isNull();
+        assertThat(cache.get("token-a2")).isSameAs(alice);
+
+        cache.invalidateSubject("+263700000001");
+        assertThat(cache.get("token-a2")).isNull();
+        assertThat(cache.get("token-b")).isSameAs(bob);
+
+        cache.invalidateAll();
+        assertThat(cache.get("token-b")).isNull();
+    }
+
+    @Test
+    void put_shouldIgnoreExpiredTokensAndDisabledCache() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("+263700000001", "token", List.of());
+        JwtAuthenticationCache disabled = new JwtAuthenticationCache(new SimpleMeterRegistry(), false, 100L);
+
+        cache.put("expired", authentication, Instant.now().minusSeconds(1));
+        disabled.put("token", authentication, Instant.now().plusSeconds(600));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(disabled.get("token")).isNull();
+    }
+}
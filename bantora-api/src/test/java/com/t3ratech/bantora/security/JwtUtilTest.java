@@ -0,0 +1,53 @@
+package com.t3ratech.bantora.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private String secret;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        secret = Base64.getEncoder().encodeToString(key);
+        jwtUtil = new JwtUtil(secret, 900_000L, 604_800_000L, "bantora-api", "bantora-web");
+    }
+
+    @Test
+    void parseToken_shouldReturnAllClaimsFromOneVerification() {
+        String token = jwtUtil.generateAccessToken("+263785107830", Set.of("ROLE_USER", "ROLE_ADMIN"));
+
+        JwtUtil.TokenClaims claims = jwtUtil.parseToken(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.subject()).isEqualTo("+263785107830");
+        assertThat(claims.isType("access")).isTrue();
+        assertThat(claims.isType("refresh")).isFalse();
+        assertThat(claims.roles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(claims.expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void parseToken_shouldRejectTamperedForeignOrExpiredTokens() {
+        String token = jwtUtil.generateRefreshToken("+263785107830");
+        JwtUtil otherIssuer = new JwtUtil(secret, 900_000L, 604_800_000L, "other-issuer", "bantora-web");
+        JwtUtil expiring = new JwtUtil(secret, -1_000L, -1_000L, "bantora-api", "bantora-web");
+
+        assertThat(jwtUtil.parseToken(token).isType("refresh")).isTrue();
+        assertThat(jwtUtil.parseToken(token.substring(0, token.length() - 2) + "xx")).isNull();
+        assertThat(jwtUtil.parseToken(otherIssuer.generateRefreshToken("+263785107830"))).isNull();
+        assertThat(jwtUtil.parseToken(expiring.generateAccessToken("+263785107830", Set.of("ROLE_USER")))).isNull();
+        assertThat(jwtUtil.parseToken(" ")).isNull();
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+    }
+}
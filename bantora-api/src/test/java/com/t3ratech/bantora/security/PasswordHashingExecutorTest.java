@@ -0,0 +1,71 @@
+package com.t3ratech.bantora.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Disposable> pending = new ArrayList<>();
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pending.forEach(Disposable::dispose);
+        if (hashingExecutor != null) {
+            hashingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void encode_shouldFailFastWhenPoolAndQueueAreFull() throws Exception {
+        Argon2PasswordEncoder encoder = mock(Argon2PasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(encoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "hash";
+        });
+        when(encoder.memoryKib()).thenReturn(65_536);
+        hashingExecutor = new PasswordHashingExecutor(encoder, meterRegistry, 1, 512L, 1);
+
+        pending.add(hashingExecutor.encode("running").subscribe());
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        pending.add(hashingExecutor.encode("queued").subscribe());
+        assertThat(hashingExecutor.queueDepth()).isEqualTo(1);
+
+        StepVerifier.create(hashingExecutor.encode("refused"))
+                .expectError(PasswordHashingUnavailableException.class)
+                .verify();
+        assertThat(meterRegistry.get("bantora.security.argon2.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        StepVerifier.create(hashingExecutor.encode("after-burst"))
+                .expectNext("hash")
+                .verifyComplete();
+        assertThat(meterRegistry.get("bantora.security.argon2.hash").tag("operation", "encode").timer().count()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    void poolSize_shouldBeBoundedByCoresAndMemoryBudget() {
+        assertThat(PasswordHashingExecutor.poolSize(0, 16, 256L, 65_536)).isEqualTo(4);
+        assertThat(PasswordHashingExecutor.poolSize(0, 2, 1024L, 65_536)).isEqualTo(2);
+        assertThat(PasswordHashingExecutor.poolSize(0, 8, 16L, 65_536)).isEqualTo(1);
+        assertThat(PasswordHashingExecutor.poolSize(3, 8, 16L, 65_536)).isEqualTo(3);
+    }
+}
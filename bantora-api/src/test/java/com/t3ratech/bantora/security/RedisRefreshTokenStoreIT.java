@@ -0,0 +1,144 @@
+package com.t3ratech.bantora.security;
+
+import com.t3ratech.bantora.repository.BantoraRefreshTokenWriteRepository;
+import com.t3ratech.bantora.security.RefreshTokenStore.RotationResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Runs the rotate/revoke Lua scripts against a real Redis (KEEPTTL and PXAT need Redis >= 6.2).
+class RedisRefreshTokenStoreIT {
+
+    private static final String PHONE = "+263770000001";
+
+    private static GenericContainer<?> redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+
+    private RedisRefreshTokenStore store;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(redis.getHost(), redis.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+        store = new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @Test
+    void rotate_shouldExchangeTokenOnceAndReportReplayAsRevoked() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        store.store("first", PHONE, expiresAt).block();
+
+        StepVerifier.create(store.rotate("first", PHONE, "second", expiresAt))
+                .expectNext(RotationResult.ROTATED)
+                .verifyComplete();
+        StepVerifier.create(store.rotate("first", PHONE, "third", expiresAt))
+                .expectNext(RotationResult.REVOKED)
+                .verifyComplete();
+
+        assertThat(value("first")).isEqualTo("revoked");
+        assertThat(ttlMillis("first")).isPositive();
+        assertThat(value("second")).isEqualTo(PHONE);
+        assertThat(ttlMillis("second")).isBetween(1L, 3_600_000L);
+        assertThat(value("third")).isNull();
+    }
+
+    @Test
+    void rotate_shouldRejectUnknownTokensAndOtherOwners() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        store.store("owned", PHONE, expiresAt).block();
+
+        StepVerifier.create(store.rotate("missing", PHONE, "next", expiresAt))
+                .expectNext(RotationResult.NOT_FOUND)
+                .verifyComplete();
+        StepVerifier.create(store.rotate("owned", "+263779999999", "next", expiresAt))
+                .expectNext(RotationResult.REVOKED)
+                .verifyComplete();
+
+        assertThat(value("owned")).isEqualTo(PHONE);
+        assertThat(value("next")).isNull();
+    }
+
+    @Test
+    void revoke_shouldKeepExpiryAndNeverCreateKeys() {
+        store.store("live", PHONE, Instant.now().plus(1, ChronoUnit.HOURS)).block();
+
+        store.revoke("live").block();
+        store.revoke("missing").block();
+
+        assertThat(value("live")).isEqualTo("revoked");
+        assertThat(ttlMillis("live")).isBetween(1L, 3_600_000L);
+        assertThat(value("missing")).isNull();
+        StepVerifier.create(store.rotate("live", PHONE, "next", Instant.now().plus(1, ChronoUnit.HOURS)))
+                .expectNext(RotationResult.REVOKED)
+                .verifyComplete();
+    }
+
+    @Test
+    void migrate_shouldRetirePostgresRowsSoRerunsCannotResurrectTokens() {
+        BantoraRefreshTokenWriteRepository repository = mock(BantoraRefreshTokenWriteRepository.class);
+        LocalDateTime expiresAt = LocalDateTime.now(ZoneOffset.UTC).plusHours(1);
+        when(repository.findLiveTokens(any())).thenReturn(Flux.just(
+                new BantoraRefreshTokenWriteRepository.LiveToken("copied", PHONE, expiresAt),
+                new BantoraRefreshTokenWriteRepository.LiveToken("rotated", PHONE, expiresAt)));
+        when(repository.revoke(any())).thenReturn(Mono.just(1L));
+        store.store("rotated", PHONE, expiresAt.toInstant(ZoneOffset.UTC)).block();
+        store.revoke("rotated").block();
+
+        StepVerifier.create(new RefreshTokenMigration(repository, store, true).migrate())
+                .expectNext(1L)
+                .verifyComplete();
+
+        assertThat(value("copied")).isEqualTo(PHONE);
+        assertThat(value("rotated")).isEqualTo("revoked");
+        verify(repository).revoke("copied");
+        verify(repository).revoke("rotated");
+    }
+
+    private static String value(String token) {
+        return redisTemplate.opsForValue().get(RedisRefreshTokenStore.key(token)).block();
+    }
+
+    private static long ttlMillis(String token) {
+        return redisTemplate.getExpire(RedisRefreshTokenStore.key(token)).block().toMillis();
+    }
+}
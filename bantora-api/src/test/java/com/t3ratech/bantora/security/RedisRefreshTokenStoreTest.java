@@ -0,0 +1,99 @@
+package com.t3ratech.bantora.security;
+
+import com.t3ratech.bantora.security.RefreshTokenStore.RotationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRefreshTokenStoreTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @Test
+    void key_shouldHashTokenSoRawTokensNeverReachRedis() {
+        String key = RedisRefreshTokenStore.key("header.payload.signature");
+
+        assertThat(key).startsWith(RedisRefreshTokenStore.KEY_PREFIX);
+        assertThat(key.substring(RedisRefreshTokenStore.KEY_PREFIX.length())).hasSize(64).doesNotContain("payload");
+        assertThat(RedisRefreshTokenStore.key("header.payload.signature")).isEqualTo(key);
+    }
+
+    @Test
+    void store_shouldSetOwnerWithTtlUntilExpiry() {
+        Instant expiresAt = Instant.now().plus(7, ChronoUnit.DAYS);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(RedisRefreshTokenStore.key("token")), eq("+263770000001"), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(store.store("token", "+263770000001", expiresAt)).verifyComplete();
+
+        verify(valueOperations).setIfAbsent(eq(RedisRefreshTokenStore.key("token")), eq("+263770000001"),
+                argThat(ttl -> ttl.compareTo(Duration.ofDays(7)) <= 0 && ttl.compareTo(Duration.ofDays(6)) > 0));
+    }
+
+    @Test
+    void storeIfAbsent_shouldSkipAlreadyExpiredTokens() {
+        StepVerifier.create(store.storeIfAbsent("token", "+263770000001", Instant.now().minusSeconds(1)))
+                .expectNext(false)
+                .verifyComplete();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotate_shouldMapScriptResult() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        List<String> keys = List.of(RedisRefreshTokenStore.key("current"), RedisRefreshTokenStore.key("next"));
+        when(redisTemplate.execute(any(RedisScript.class), eq(keys), anyList()))
+                .thenReturn(Flux.just(1L), Flux.just(-1L), Flux.just(0L));
+
+        StepVerifier.create(store.rotate("current", "+263770000001", "next", expiresAt))
+                .expectNext(RotationResult.ROTATED)
+                .verifyComplete();
+        StepVerifier.create(store.rotate("current", "+263770000001", "next", expiresAt))
+                .expectNext(RotationResult.REVOKED)
+                .verifyComplete();
+        StepVerifier.create(store.rotate("current", "+263770000001", "next", expiresAt))
+                .expectNext(RotationResult.NOT_FOUND)
+                .verifyComplete();
+
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), eq(keys),
+                eq(List.of("+263770000001", Long.toString(expiresAt.toEpochMilli()))));
+    }
+}
@@ -0,0 +1,189 @@
+package com.t3ratech.bantora.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequestRateLimiterTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    private static final String PROXIES = "127.0.0.1/32,172.16.0.0/12";
+    private static final InetSocketAddress GATEWAY = new InetSocketAddress("172.18.0.5", 40000);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RequestRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = limiter(true, PROXIES);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_shouldTakeFromPhoneAndIpBucketsOfTheMatchedEndpoint() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(List.of(1L, 0L, 0L)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/ideas/abc/upvote")
+                .remoteAddress(GATEWAY)
+                .header("X-Forwarded-For", "41.57.1.2"));
+
+        StepVerifier.create(rateLimiter.acquire(exchange).contextWrite(authenticatedAs("+263770000001")))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("bantora:ratelimit:upvotes:phone:+263770000001", "bantora:ratelimit:upvotes:ip:41.57.1.2")),
+                eq(List.of("30", "600")));
+        assertThat(meterRegistry.get("bantora.ratelimit.check").tag("endpoint", "upvotes").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_shouldRejectWithRetryAfterAndCountRefusingBucket() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(List.of(0L, 1500L, 1L)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")
+                .remoteAddress(GATEWAY)
+                .header("X-Forwarded-For", "41.57.1.2"));
+
+        StepVerifier.create(rateLimiter.acquire(exchange))
+                .expectNext(new RequestRateLimiter.Decision(false, 1500L))
+                .verifyComplete();
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("bantora:ratelimit:login:ip:41.57.1.2")), eq(List.of("60")));
+        assertThat(meterRegistry.get("bantora.ratelimit.rejected").tag("endpoint", "login").tag("key", "ip").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquire_shouldFailOpenWhenRedisFails() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("redis down")));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/votes"));
+
+        StepVerifier.create(rateLimiter.acquire(exchange).contextWrite(authenticatedAs("+263770000001")))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+        assertThat(meterRegistry.get("bantora.ratelimit.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquireLogin_shouldTakeTheBucketForThisAccountFromThisAddress() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(List.of(0L, 12000L, 1L)));
+
+        StepVerifier.create(rateLimiter.acquireLogin("+263770000001", "41.57.1.2"))
+                .expectNext(new RequestRateLimiter.Decision(false, 12000L))
+                .verifyComplete();
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("bantora:ratelimit:login:phone:+263770000001:ip:41.57.1.2")), eq(List.of("5")));
+        assertThat(meterRegistry.get("bantora.ratelimit.rejected").tag("endpoint", "login").tag("key", "phone-ip").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void clientIp_shouldTakeRightMostHopNotAddedByTrustedProxies() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/votes")
+                .remoteAddress(GATEWAY)
+                .header("X-Forwarded-For", "6.6.6.6, 41.57.1.2, 172.18.0.9")
+                .build();
+
+        assertThat(rateLimiter.clientIp(request)).isEqualTo("41.57.1.2");
+    }
+
+    @Test
+    void clientIp_shouldIgnoreForwardedHeadersFromUntrustedPeers() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/votes")
+                .remoteAddress(new InetSocketAddress("41.57.1.2", 40000))
+                .header("X-Forwarded-For", "6.6.6.6")
+                .header("X-Real-IP", "6.6.6.6")
+                .build();
+
+        assertThat(rateLimiter.clientIp(request)).isEqualTo("41.57.1.2");
+        assertThat(limiter(false, "").clientIp(MockServerHttpRequest.post("/api/votes")
+                .remoteAddress(GATEWAY)
+                .header("X-Forwarded-For", "6.6.6.6")
+                .build())).isEqualTo("172.18.0.5");
+    }
+
+    @Test
+    void clientIp_shouldStopAtTheLastProxyWhenAHopIsNotAnAddress() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/votes")
+                .remoteAddress(GATEWAY)
+                .header("X-Forwarded-For", "6.6.6.6, attacker.example, 300.1.1.1")
+                .build();
+
+        assertThat(rateLimiter.clientIp(request)).isEqualTo("172.18.0.5");
+    }
+
+    @Test
+    void constructor_shouldRequireTrustedProxiesWhenForwardedHeadersAreTrusted() {
+        assertThatThrownBy(() -> limiter(true, " "))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("trusted-proxies");
+    }
+
+    @Test
+    void acquire_shouldIgnoreUnlimitedEndpoints() {
+        StepVerifier.create(rateLimiter.acquire(MockServerWebExchange.from(MockServerHttpRequest.get("/api/votes"))))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire(MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/register"))))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void filter_shouldAnswerTooManyRequestsWithRetryAfterSeconds() {
+        RequestRateLimiter limiter = mock(RequestRateLimiter.class);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/votes"));
+        when(limiter.acquire(exchange)).thenReturn(Mono.just(new RequestRateLimiter.Decision(false, 1500L)));
+
+        StepVerifier.create(new RateLimitWebFilter(limiter).filter(exchange, ignored -> Mono.error(new AssertionError("chain called"))))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode().value()).isEqualTo(429);
+        assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("2");
+    }
+
+    private RequestRateLimiter limiter(boolean trustForwardedHeaders, String trustedProxies) {
+        return new RequestRateLimiter(redisTemplate, meterRegistry, true, trustForwardedHeaders, trustedProxies,
+                50L, 30L, 600L, 5L, 120L, 30L, 600L, 60L, 5L);
+    }
+
+    private static Context authenticatedAs(String phone) {
+        return ReactiveSecurityContextHolder.withAuthentication(
+                new UsernamePasswordAuthenticationToken(phone, "token", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
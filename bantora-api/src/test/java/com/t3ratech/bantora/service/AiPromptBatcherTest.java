@@ -0,0 +1,46 @@
+package com.t3ratech.bantora.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiPromptBatcherTest {
+
+    @Test
+    void pack_shouldKeepOrderAndStayUnderBudget() {
+        List<String> items = List.of("aaaa", "bbbbbbbb", "cccc", "dddddddddddd", "ee");
+
+        List<List<String>> batches = AiPromptBatcher.pack(items, String::length, 12);
+
+        assertThat(batches).containsExactly(
+                List.of("aaaa", "bbbbbbbb"),
+                List.of("cccc"),
+                List.of("dddddddddddd"),
+                List.of("ee"));
+        assertThat(batches.stream().flatMap(List::stream).toList()).isEqualTo(items);
+    }
+
+    @Test
+    void pack_shouldGiveOversizedItemItsOwnBatch() {
+        List<List<String>> batches = AiPromptBatcher.pack(List.of("a", "way-too-long", "b"), String::length, 4);
+
+        assertThat(batches).containsExactly(List.of("a"), List.of("way-too-long"), List.of("b"));
+    }
+
+    @Test
+    void pack_shouldRejectNonPositiveBudget() {
+        assertThat(AiPromptBatcher.pack(List.of(), String::length, 1)).isEmpty();
+        assertThatThrownBy(() -> AiPromptBatcher.pack(List.of("a"), String::length, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void estimateTokens_shouldRoundUpCharactersPerToken() {
+        assertThat(AiPromptBatcher.estimateTokens("")).isZero();
+        assertThat(AiPromptBatcher.estimateTokens("abcd")).isEqualTo(1);
+        assertThat(AiPromptBatcher.estimateTokens("abcde")).isEqualTo(2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AiResultCacheTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AiResultCache resultCache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        resultCache = new AiResultCache(redisTemplate, meterRegistry, true, 60_000L, 200L);
+    }
+
+    @Test
+    void fingerprint_shouldIgnoreOrderAndTagCaseButTrackContent() {
+        BantoraIdea first = idea("00000000-0000-0000-0000-0000000000aa", "Fix the roads");
+        BantoraIdea second = idea("00000000-0000-0000-0000-0000000000bb", "Clean water for all");
+
+        String fingerprint = AiResultCache.fingerprint("Water", List.of(first, second));
+
+        assertThat(AiResultCache.fingerprint("water", List.of(second, first))).isEqualTo(fingerprint);
+        assertThat(AiResultCache.fingerprint("water", List.of(first))).isNotEqualTo(fingerprint);
+        assertThat(AiResultCache.fingerprint("water", List.of(first, idea("00000000-0000-0000-0000-0000000000bb", "Clean water for some"))))
+                .isNotEqualTo(fingerprint);
+        assertThat(AiResultCache.fingerprint("roads", List.of(first, second))).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void get_shouldCountHitsAndMissesAndTreatRedisErrorsAsMiss() {
+        when(valueOperations.get(AiResultCache.KEY_PREFIX + "hit")).thenReturn(Mono.just("{\"polls\":[]}"));
+        when(valueOperations.get(AiResultCache.KEY_PREFIX + "miss")).thenReturn(Mono.empty());
+        when(valueOperations.get(AiResultCache.KEY_PREFIX + "down")).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(resultCache.get("hit")).expectNext("{\"polls\":[]}").verifyComplete();
+        StepVerifier.create(resultCache.get("miss")).verifyComplete();
+        StepVerifier.create(resultCache.get("down")).verifyComplete();
+
+        assertThat(meterRegistry.get("bantora.ai.result-cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("bantora.ai.result-cache").tag("result", "miss").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("bantora.ai.result-cache").tag("result", "error").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_shouldStoreWithTtl() {
+        when(valueOperations.set(AiResultCache.KEY_PREFIX + "fp", "{}", Duration.ofMillis(60_000L))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(resultCache.put("fp", "{}")).verifyComplete();
+
+        verify(valueOperations).set(eq(AiResultCache.KEY_PREFIX + "fp"), eq("{}"), eq(Duration.ofMillis(60_000L)));
+        assertThat(meterRegistry.get("bantora.ai.result-cache.stores").counter().count()).isEqualTo(1.0);
+    }
+
+    private static BantoraIdea idea(String id, String content) {
+        return BantoraIdea.builder()
+                .id(UUID.fromString(id))
+                .categoryId(UUID.fromString("00000000-0000-0000-0000-000000000001"))
+                .userPhone("+263770000001")
+                .content(content)
+                .build();
+    }
+}
@@ -1,6 +1,10 @@
 package com.t3ratech.bantora.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.entity.BantoraIdea;
+import com.t3ratech.bantora.enums.BantoraIdeaStatus;
+import com.t3ratech.bantora.repository.BantoraHashtagStatsReadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,31 +13,26 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AiServiceTest {
 
     @Mock
-    private WebClient.Builder webClientBuilder;
-    @Mock
-    private WebClient webClient;
-    @Mock
-    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
-    @Mock
-    private WebClient.RequestBodySpec requestBodySpec;
-    @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
+    private IdeaPollEngine ideaPollEngine;
 
     @Mock
     private com.t3ratech.bantora.repository.BantoraHashtagStatsReadRepository hashtagStatsReadRepository;
@@ -53,6 +52,10 @@ class AiServiceTest {
     private com.t3ratech.bantora.repository.BantoraPollSourceIdeaLinkRepository pollSourceIdeaLinkRepository;
     @Mock
     private org.springframework.transaction.reactive.TransactionalOperator transactionalOperator;
+    @Mock
+    private AiResultCache aiResultCache;
+    @Mock
+    private IdeaDuplicateIndex ideaDuplicateIndex;
 
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
@@ -60,10 +63,89 @@ class AiServiceTest {
     @InjectMocks
     private AiService aiService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(aiService, "geminiApiKey", "test-key");
-        ReflectionTestUtils.setField(aiService, "geminiUrl", "http://test-url");
+        ReflectionTestUtils.setField(aiService, "maxIdeasPerHashtag", 50);
+        ReflectionTestUtils.setField(aiService, "hashtagsPerRun", 8);
+        ReflectionTestUtils.setField(aiService, "hashtagConcurrency", 4);
+        ReflectionTestUtils.setField(aiService, "promptTokenBudget", 24_000);
+        ReflectionTestUtils.setField(aiService, "promptBatchConcurrency", 2);
+        ReflectionTestUtils.setField(aiService, "similarityThreshold", 0.5);
+        ReflectionTestUtils.setField(aiService, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void processTopHashtags_shouldIsolateFailingHashtagAndRecordThroughput() {
+        UUID failing = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        when(ideaPollEngine.isAvailable()).thenReturn(true);
+        when(hashtagStatsReadRepository.findTopHashtagsByPendingIdeaCount(8)).thenReturn(Flux.just(
+                new BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount(failing, "water", 3L),
+                new BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount(empty, "roads", 2L)));
+        when(ideaReadRepository.findPendingIdeasByHashtagId(failing, 50)).thenReturn(Flux.error(new IllegalStateException("db down")));
+        when(ideaReadRepository.findPendingIdeasByHashtagId(empty, 50)).thenReturn(Flux.empty());
+
+        StepVerifier.create(aiService.processTopHashtags()).verifyComplete();
+
+        verify(ideaReadRepository).findPendingIdeasByHashtagId(empty, 50);
+        assertThat(meterRegistry.get("bantora.ai.hashtag.failures").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("bantora.ai.run.ideas-per-second").summary().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void processTopHashtags_shouldSkipRunWhileEngineIsUnavailable() {
+        when(ideaPollEngine.isAvailable()).thenReturn(false);
+
+        StepVerifier.create(aiService.processTopHashtags()).verifyComplete();
+
+        verifyNoInteractions(hashtagStatsReadRepository);
+    }
+
+    @Test
+    void processTopHashtags_shouldRejectInvalidConcurrency() {
+        ReflectionTestUtils.setField(aiService, "hashtagConcurrency", 0);
+
+        StepVerifier.create(aiService.processTopHashtags())
+                .expectError(IllegalStateException.class)
+                .verify();
+        verifyNoInteractions(hashtagStatsReadRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processTopHashtags_shouldApplyValidBatchesAndEvictOnlyTheInvalidBatch() {
+        UUID hashtagId = UUID.randomUUID();
+        BantoraIdea valid = idea();
+        BantoraIdea invalid = idea();
+        // A budget of one token puts every idea in its own batch.
+        ReflectionTestUtils.setField(aiService, "promptTokenBudget", 1);
+        when(ideaPollEngine.isAvailable()).thenReturn(true);
+        when(ideaPollEngine.cachesResults()).thenReturn(true);
+        when(hashtagStatsReadRepository.findTopHashtagsByPendingIdeaCount(8)).thenReturn(Flux.just(
+                new BantoraHashtagStatsReadRepository.HashtagPendingIdeaCount(hashtagId, "water", 2L)));
+        when(ideaReadRepository.findPendingIdeasByHashtagId(hashtagId, 50)).thenReturn(Flux.just(valid, invalid));
+        when(aiResultCache.get(anyString())).thenReturn(Mono.empty());
+        when(aiResultCache.put(anyString(), anyString())).thenReturn(Mono.empty());
+        when(aiResultCache.evict(anyString())).thenReturn(Mono.empty());
+        when(ideaPollEngine.suggestPolls(eq("water"), anyList())).thenAnswer(invocation -> {
+            List<BantoraIdea> batch = invocation.getArgument(1);
+            UUID rejectedId = batch.get(0) == valid ? valid.getId() : UUID.randomUUID();
+            return Mono.just("{\"polls\":[],\"rejectedIdeaIds\":[\"" + rejectedId + "\"]}");
+        });
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ideaRepository.save(any(BantoraIdea.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(aiService.processTopHashtags()).verifyComplete();
+
+        verify(aiResultCache).evict(AiResultCache.fingerprint("water", List.of(invalid)));
+        verify(aiResultCache).evict(AiResultCache.fingerprint("water", List.of(valid)));
+        verify(aiResultCache, times(2)).evict(anyString());
+        assertThat(valid.getStatus()).isEqualTo(BantoraIdeaStatus.REJECTED);
+        assertThat(invalid.getStatus()).isEqualTo(BantoraIdeaStatus.PENDING);
+        assertThat(meterRegistry.get("bantora.ai.prompt.batch.failures").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("bantora.ai.ideas.processed").counter().count()).isEqualTo(1.0);
     }
 
     @Test
@@ -83,4 +165,16 @@ class AiServiceTest {
                 .expectNextMatches(resp -> resp.polls().size() == 1 && resp.rejectedIdeaIds().size() == 1)
                 .verifyComplete();
     }
+
+    private static BantoraIdea idea() {
+        return BantoraIdea.builder()
+                .id(UUID.randomUUID())
+                .userPhone("+263770000001")
+                .content("Fix the water supply")
+                .categoryId(UUID.fromString("00000000-0000-0000-0000-000000000001"))
+                .status(BantoraIdeaStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .upvotes(0L)
+                .build();
+    }
 }
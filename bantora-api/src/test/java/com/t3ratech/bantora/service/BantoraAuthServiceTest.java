@@ -0,0 +1,156 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.dto.auth.LoginRequest;
+import com.t3ratech.bantora.dto.auth.RegisterRequest;
+import com.t3ratech.bantora.entity.BantoraUser;
+import com.t3ratech.bantora.repository.BantoraRegistrationReadRepository;
+import com.t3ratech.bantora.repository.BantoraUserRepository;
+import com.t3ratech.bantora.security.JwtUtil;
+import com.t3ratech.bantora.security.PasswordHashingExecutor;
+import com.t3ratech.bantora.security.RateLimitedException;
+import com.t3ratech.bantora.security.RefreshTokenStore;
+import com.t3ratech.bantora.security.RequestRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BantoraAuthServiceTest {
+
+    private static final String PHONE = "+263771234567";
+
+    @Mock
+    private BantoraUserRepository userRepository;
+    @Mock
+    private BantoraRegistrationReadRepository registrationReadRepository;
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Mock
+    private BantoraLastLoginWriter lastLoginWriter;
+    @Mock
+    private RequestRateLimiter rateLimiter;
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private R2dbcEntityTemplate entityTemplate;
+
+    @InjectMocks
+    private BantoraAuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authService, "defaultLocale", "en");
+    }
+
+    @Test
+    void register_shouldCancelTheHashWhenAPreCheckFails() {
+        Sinks.One<BantoraRegistrationReadRepository.RegistrationCheck> check = Sinks.one();
+        AtomicBoolean hashCancelled = new AtomicBoolean();
+        when(registrationReadRepository.check("ZW", PHONE, null)).thenReturn(check.asMono());
+        when(passwordHashingExecutor.encode("correct-horse")).thenReturn(Mono.<String>never().doOnCancel(() -> hashCancelled.set(true)));
+
+        StepVerifier.create(authService.register(request("ZW")))
+                .then(() -> check.tryEmitValue(new BantoraRegistrationReadRepository.RegistrationCheck(true, true, false)))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException && e.getMessage().equals("Phone number already registered"))
+                .verify();
+
+        assertThat(hashCancelled).isTrue();
+        verifyNoInteractions(entityTemplate);
+    }
+
+    @Test
+    void register_shouldReportAConcurrentDuplicateEmailAsTaken() {
+        passPreChecks();
+        when(entityTemplate.insert(any(BantoraUser.class))).thenReturn(Mono.error(new DuplicateKeyException(
+                "duplicate key value violates unique constraint \"uq_bantora_user_email\"")));
+
+        StepVerifier.create(authService.register(request("ZW")))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException && e.getMessage().equals("Email already registered"))
+                .verify();
+
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void register_shouldReportAConcurrentDuplicatePhoneAsTaken() {
+        passPreChecks();
+        when(entityTemplate.insert(any(BantoraUser.class))).thenReturn(Mono.error(new DuplicateKeyException(
+                "duplicate key value violates unique constraint \"bantora_user_pkey\"")));
+
+        StepVerifier.create(authService.register(request("ZW")))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException && e.getMessage().equals("Phone number already registered"))
+                .verify();
+
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void register_shouldInsertUserAndIssueTokens() {
+        passPreChecks();
+        when(entityTemplate.insert(any(BantoraUser.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        Instant expiresAt = Instant.now().plusSeconds(900);
+        when(jwtUtil.generateAccessToken(eq(PHONE), any())).thenReturn("access");
+        when(jwtUtil.generateRefreshToken(PHONE)).thenReturn("refresh");
+        when(jwtUtil.getExpirationFromToken(anyString())).thenReturn(expiresAt);
+        when(refreshTokenStore.store("refresh", PHONE, expiresAt)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authService.register(request("zw")))
+                .assertNext(response -> {
+                    assertThat(response.getAccessToken()).isEqualTo("access");
+                    assertThat(response.getRefreshToken()).isEqualTo("refresh");
+                    assertThat(response.getUser().getCountryCode()).isEqualTo("ZW");
+                })
+                .verifyComplete();
+
+        verify(refreshTokenStore).store("refresh", PHONE, expiresAt);
+    }
+
+    @Test
+    void login_shouldRefuseBeforeTheLookupWhenTheAccountBucketIsEmpty() {
+        when(rateLimiter.acquireLogin(PHONE, "41.57.1.2")).thenReturn(Mono.just(new RequestRateLimiter.Decision(false, 2500L)));
+
+        StepVerifier.create(authService.login(LoginRequest.builder().phoneNumber(PHONE).password("correct-horse").build(), "41.57.1.2"))
+                .expectErrorMatches(e -> e instanceof RateLimitedException && ((RateLimitedException) e).getRetryAfterMs() == 2500L)
+                .verify();
+
+        verifyNoInteractions(userRepository, passwordHashingExecutor);
+    }
+
+    private void passPreChecks() {
+        when(registrationReadRepository.check("ZW", PHONE, null))
+                .thenReturn(Mono.just(new BantoraRegistrationReadRepository.RegistrationCheck(true, false, false)));
+        when(passwordHashingExecutor.encode("correct-horse")).thenReturn(Mono.just("$argon2id$hash"));
+    }
+
+    private static RegisterRequest request(String countryCode) {
+        return RegisterRequest.builder()
+                .phoneNumber(PHONE)
+                .password("correct-horse")
+                .countryCode(countryCode)
+                .fullName("Tendai Moyo")
+                .preferredCurrency("USD")
+                .build();
+    }
+}
@@ -26,9 +26,13 @@ import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -56,6 +60,9 @@ class BantoraIdeaServiceTest {
     @Mock
     private TransactionalOperator transactionalOperator;
 
+    @Mock
+    private IdeaDuplicateIndex duplicateIndex;
+
     @InjectMocks
     private BantoraIdeaService ideaService;
 
@@ -164,4 +171,106 @@ class BantoraIdeaServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void createIdea_shouldFoldNearDuplicateIntoUpvote() {
+        BantoraCreateIdeaRequest req = BantoraCreateIdeaRequest.builder()
+                .content("Test idea content for irrigation systems please")
+                .categoryId(testCategoryId)
+                .hashtags(List.of("#Water"))
+                .build();
+        BantoraIdea upvoted = BantoraIdea.builder()
+                .id(testIdea.getId())
+                .userPhone(testIdea.getUserPhone())
+                .content(testIdea.getContent())
+                .categoryId(testCategoryId)
+                .status(BantoraIdeaStatus.PENDING)
+                .createdAt(testIdea.getCreatedAt())
+                .upvotes(6L)
+                .build();
+        when(duplicateIndex.findDuplicate(List.of("water"), testCategoryId, req.getContent()))
+                .thenReturn(Optional.of(new IdeaDuplicateIndex.Match(testIdea.getId(), testIdea.getUserPhone(), 0.9)));
+        when(ideaRepository.incrementUpvotesIfPending(testIdea.getId()))
+                .thenReturn(Mono.just(upvoted));
+        when(ideaHashtagReadRepository.findTagsByIdeaId(testIdea.getId()))
+                .thenReturn(Flux.just("water"));
+
+        StepVerifier.create(ideaService.createIdea("+263771111111", req))
+                .assertNext(response -> {
+                    assertThat(response.getId()).isEqualTo(testIdea.getId());
+                    assertThat(response.getUpvotes()).isEqualTo(6L);
+                })
+                .verifyComplete();
+        verify(entityTemplate, never()).insert(ArgumentMatchers.<BantoraIdea>any());
+    }
+
+    @Test
+    void createIdea_shouldInsertWhenDuplicateIsNoLongerPending() {
+        String userPhone = "+263771111111";
+        BantoraCreateIdeaRequest req = BantoraCreateIdeaRequest.builder()
+                .content("Test idea content for irrigation systems please")
+                .categoryId(testCategoryId)
+                .hashtags(List.of("water"))
+                .build();
+        UUID staleId = UUID.randomUUID();
+        UUID hashtagId = UUID.randomUUID();
+        when(duplicateIndex.findDuplicate(List.of("water"), testCategoryId, req.getContent()))
+                .thenReturn(Optional.of(new IdeaDuplicateIndex.Match(staleId, "+263785107830", 0.9)));
+        when(ideaRepository.incrementUpvotesIfPending(staleId)).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<BantoraIdeaResponse>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryRepository.findById(testCategoryId))
+                .thenReturn(Mono.just(BantoraCategory.builder().id(testCategoryId).name("Economy").build()));
+        when(entityTemplate.insert(ArgumentMatchers.<BantoraIdea>any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(hashtagRepository.findByTag("water"))
+                .thenReturn(Mono.just(BantoraHashtag.builder().id(hashtagId).tag("water").build()));
+        when(hashtagRepository.save(ArgumentMatchers.<BantoraHashtag>any()))
+                .thenReturn(Mono.empty());
+        when(ideaHashtagLinkRepository.linkIdeaToHashtag(ArgumentMatchers.<UUID>any(), eq(hashtagId)))
+                .thenReturn(Mono.empty());
+        when(ideaHashtagReadRepository.findTagsByIdeaId(ArgumentMatchers.<UUID>any()))
+                .thenReturn(Flux.just("water"));
+
+        StepVerifier.create(ideaService.createIdea(userPhone, req))
+                .assertNext(response -> {
+                    assertThat(response.getId()).isNotEqualTo(staleId);
+                    assertThat(response.getUserPhone()).isEqualTo(userPhone);
+                })
+                .verifyComplete();
+        verify(duplicateIndex).remove(List.of(staleId));
+        verify(duplicateIndex).add(ArgumentMatchers.<BantoraIdea>any(), eq(List.of("water")));
+    }
+
+    @Test
+    void upvoteIdea_shouldIncrementAtomicallyInDatabase() {
+        BantoraIdea upvoted = BantoraIdea.builder()
+                .id(testIdea.getId())
+                .userPhone(testIdea.getUserPhone())
+                .content(testIdea.getContent())
+                .categoryId(testCategoryId)
+                .status(BantoraIdeaStatus.PENDING)
+                .createdAt(testIdea.getCreatedAt())
+                .upvotes(6L)
+                .build();
+        when(ideaRepository.incrementUpvotes(testIdea.getId()))
+                .thenReturn(Mono.just(upvoted));
+        when(ideaHashtagReadRepository.findTagsByIdeaId(testIdea.getId()))
+                .thenReturn(Flux.just("water"));
+
+        StepVerifier.create(ideaService.upvoteIdea(testIdea.getId()))
+                .assertNext(response -> assertThat(response.getUpvotes()).isEqualTo(6L))
+                .verifyComplete();
+    }
+
+    @Test
+    void upvoteIdea_shouldFailWhenIdeaMissing() {
+        UUID missingId = UUID.randomUUID();
+        when(ideaRepository.incrementUpvotes(missingId))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(ideaService.upvoteIdea(missingId))
+                .expectErrorMessage("Idea not found")
+                .verify();
+    }
 }
@@ -0,0 +1,71 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.repository.BantoraUserWriteRepository;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BantoraLastLoginWriterIT extends BantoraPostgresTestSupport {
+
+    private static BantoraUserWriteRepository userWriteRepository;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        userWriteRepository = new BantoraUserWriteRepository(databaseClient);
+    }
+
+    @Test
+    void flushAll_shouldWriteLatestLoginPerUserInBatches() throws Exception {
+        List<String> users = IntStream.range(0, 250)
+                .mapToObj(i -> "+26377" + String.format("%07d", i + 1))
+                .toList();
+        seedUsers(users);
+        LocalDateTime firstLogin = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime secondLogin = firstLogin.plusMinutes(5);
+
+        BantoraLastLoginWriter writer = new BantoraLastLoginWriter(userWriteRepository, new SimpleMeterRegistry(), true, 100, 10_000L);
+        users.forEach(phone -> writer.recordLogin(phone, secondLogin).block());
+        users.forEach(phone -> writer.recordLogin(phone, firstLogin).block());
+
+        assertThat(writer.pendingCount()).isEqualTo(users.size());
+        assertThat(lastLogins(users).values()).allMatch(LocalDateTime.MIN::equals);
+
+        assertThat(writer.flushAll()).isEqualTo((long) users.size());
+        assertThat(writer.pendingCount()).isZero();
+        assertThat(lastLogins(users).values()).allMatch(secondLogin::equals);
+    }
+
+    @Test
+    void updateLastLogins_shouldNeverMoveTimestampBackwards() throws Exception {
+        String phone = "+263778888888";
+        seedUsers(List.of(phone));
+        LocalDateTime newer = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertThat(userWriteRepository.updateLastLogins(Map.of(phone, newer)).block()).isEqualTo(1L);
+        assertThat(userWriteRepository.updateLastLogins(Map.of(phone, newer.minusHours(1))).block()).isZero();
+        assertThat(lastLogins(List.of(phone))).containsEntry(phone, newer);
+    }
+
+    // Users that never logged in map to LocalDateTime.MIN (Collectors.toMap rejects null values).
+    private static Map<String, LocalDateTime> lastLogins(List<String> phones) {
+        return databaseClient.sql("SELECT phone_number, last_login_at FROM bantora_user WHERE phone_number = ANY(:phones)")
+                .bind("phones", phones.toArray(String[]::new))
+                .map((row, meta) -> {
+                    LocalDateTime lastLoginAt = row.get("last_login_at", LocalDateTime.class);
+                    return Map.entry(row.get("phone_number", String.class), lastLoginAt == null ? LocalDateTime.MIN : lastLoginAt);
+                })
+                .all()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                .block();
+    }
+}
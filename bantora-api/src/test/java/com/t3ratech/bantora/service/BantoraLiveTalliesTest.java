@@ -0,0 +1,134 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraPoll;
+import com.t3ratech.bantora.entity.BantoraPollOption;
+import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
+import com.t3ratech.bantora.repository.BantoraPollRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BantoraLiveTalliesTest {
+
+    @Mock
+    private BantoraPollRepository pollRepository;
+
+    @Mock
+    private BantoraPollOptionRepository optionRepository;
+
+    @Mock
+    private BantoraVoteBuffer voteBuffer;
+
+    private BantoraLiveTallies liveTallies;
+    private UUID pollId;
+    private UUID optionId;
+
+    @BeforeEach
+    void setUp() {
+        liveTallies = new BantoraLiveTallies(pollRepository, optionRepository, voteBuffer,
+                new SimpleMeterRegistry(), true, 60_000L);
+        pollId = UUID.randomUUID();
+        optionId = UUID.randomUUID();
+    }
+
+    @Test
+    void recordVote_shouldOnlyCountTrackedPolls() {
+        liveTallies.recordVote(pollId, optionId);
+
+        assertThat(liveTallies.totalVotes(pollId, 10L)).isEqualTo(10L);
+        assertThat(liveTallies.optionVotes(pollId, optionId, 4L)).isEqualTo(4L);
+
+        liveTallies.recordVote(pollId, optionId);
+
+        assertThat(liveTallies.totalVotes(pollId, 10L)).isEqualTo(11L);
+        assertThat(liveTallies.optionVotes(pollId, optionId, 4L)).isEqualTo(5L);
+    }
+
+    @Test
+    void recordVote_shouldNotLoseConcurrentIncrements() throws Exception {
+        liveTallies.totalVotes(pollId, 0L);
+        liveTallies.optionVotes(pollId, optionId, 0L);
+
+        int threads = 8;
+        int votesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < votesPerThread; i++) {
+                    liveTallies.recordVote(pollId, optionId);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(liveTallies.totalVotes(pollId, 0L)).isEqualTo((long) threads * votesPerThread);
+        assertThat(liveTallies.optionVotes(pollId, optionId, 0L)).isEqualTo((long) threads * votesPerThread);
+    }
+
+    @Test
+    void reconcile_shouldResetDriftToPersistedPlusBufferedVotes() {
+        liveTallies.totalVotes(pollId, 10L);
+        liveTallies.optionVotes(pollId, optionId, 10L);
+        liveTallies.recordVote(pollId, optionId);
+        liveTallies.recordVote(pollId, optionId);
+
+        when(pollRepository.findAllById(anyIterable())).thenReturn(Flux.just(
+                BantoraPoll.builder().id(pollId).totalVotes(12L).build()));
+        when(optionRepository.findByPollIds(any(UUID[].class))).thenReturn(Flux.just(
+                BantoraPollOption.builder().id(optionId).pollId(pollId).votesCount(12L).build()));
+        when(voteBuffer.pendingCounts()).thenReturn(new BantoraVoteBuffer.PendingCounts(
+                Map.of(pollId, 3L), Map.of(optionId, 3L)));
+
+        StepVerifier.create(liveTallies.reconcile())
+                .expectNext(6L)
+                .verifyComplete();
+
+        assertThat(liveTallies.totalVotes(pollId, 0L)).isEqualTo(15L);
+        assertThat(liveTallies.optionVotes(pollId, optionId, 0L)).isEqualTo(15L);
+    }
+
+    @Test
+    void reconcile_shouldDropPollsThatNoLongerExist() {
+        liveTallies.totalVotes(pollId, 10L);
+
+        when(pollRepository.findAllById(anyIterable())).thenReturn(Flux.empty());
+        when(optionRepository.findByPollIds(any(UUID[].class))).thenReturn(Flux.empty());
+        when(voteBuffer.pendingCounts()).thenReturn(new BantoraVoteBuffer.PendingCounts(Map.of(), Map.of()));
+
+        StepVerifier.create(liveTallies.reconcile())
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertThat(liveTallies.totalVotes(pollId, 3L)).isEqualTo(3L);
+    }
+
+    @Test
+    void disabledTallies_shouldPassThroughPersistedCounts() {
+        BantoraLiveTallies disabled = new BantoraLiveTallies(pollRepository, optionRepository, voteBuffer,
+                new SimpleMeterRegistry(), false, 60_000L);
+
+        disabled.totalVotes(pollId, 5L);
+        disabled.recordVote(pollId, optionId);
+
+        assertThat(disabled.totalVotes(pollId, 5L)).isEqualTo(5L);
+        assertThat(disabled.optionVotes(pollId, optionId, 7L)).isEqualTo(7L);
+    }
+}
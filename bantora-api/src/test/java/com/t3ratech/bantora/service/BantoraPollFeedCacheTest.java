@@ -0,0 +1,124 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.dto.response.BantoraPollPageResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BantoraPollFeedCacheTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private BantoraPollFeedCache feedCache;
+    private BantoraPollPageResponse page;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        feedCache = new BantoraPollFeedCache(redisTemplate, objectMapper, new SimpleMeterRegistry(), true, 5_000L, 200L);
+        page = BantoraPollPageResponse.builder()
+                .polls(List.of(BantoraPollResponse.builder()
+                        .id(UUID.randomUUID())
+                        .title("Cached Poll")
+                        .totalVotes(7L)
+                        .createdAt(LocalDateTime.now())
+                        .build()))
+                .nextCursor("abc")
+                .build();
+    }
+
+    @Test
+    void getPage_shouldServeHitWithoutCallingLoader() throws Exception {
+        when(valueOperations.get(anyString())).thenReturn(Mono.just(objectMapper.writeValueAsString(page)));
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(feedCache.getPage("created", null, null, null, 20, () -> {
+                    loads.incrementAndGet();
+                    return Mono.just(page);
+                }))
+                .assertNext(cached -> {
+                    assertThat(cached.getNextCursor()).isEqualTo("abc");
+                    assertThat(cached.getPolls()).extracting(BantoraPollResponse::getTitle).containsExactly("Cached Poll");
+                })
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void getPage_shouldLoadAndStoreOnMissWithTtl() {
+        when(valueOperations.get(anyString())).thenReturn(Mono.empty());
+        when(valueOperations.set(anyString(), anyString(), eq(Duration.ofMillis(5_000L)))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(feedCache.getPage("votes", null, "#water", null, 10, () -> Mono.just(page)))
+                .expectNext(page)
+                .verifyComplete();
+
+        verify(valueOperations).set(eq(feedCache.key("votes", null, "#water", null, 10)), anyString(), eq(Duration.ofMillis(5_000L)));
+    }
+
+    @Test
+    void getPage_shouldFallBackToLoaderWhenRedisFails() {
+        when(valueOperations.get(anyString())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(feedCache.getPage("created", null, null, null, 20, () -> Mono.just(page)))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidate_shouldBumpVersionPublishAndMoveToNewKeys() {
+        String before = feedCache.key("created", null, null, null, 20);
+        when(valueOperations.increment(BantoraPollFeedCache.VERSION_KEY)).thenReturn(Mono.just(4L));
+        when(redisTemplate.convertAndSend(BantoraPollFeedCache.INVALIDATION_CHANNEL, "4")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(feedCache.invalidate()).verifyComplete();
+
+        assertThat(feedCache.currentVersion()).isEqualTo(4L);
+        assertThat(feedCache.key("created", null, null, null, 20)).isNotEqualTo(before).contains(":v4:");
+        verify(redisTemplate).convertAndSend(BantoraPollFeedCache.INVALIDATION_CHANNEL, "4");
+    }
+
+    @Test
+    void disabledCache_shouldBypassRedis() {
+        BantoraPollFeedCache disabled = new BantoraPollFeedCache(redisTemplate, objectMapper, new SimpleMeterRegistry(), false, 5_000L, 200L);
+
+        StepVerifier.create(disabled.getPage("created", null, null, null, 20, () -> Mono.just(page)))
+                .expectNext(page)
+                .verifyComplete();
+        StepVerifier.create(disabled.invalidate()).verifyComplete();
+
+        verify(valueOperations, never()).get(anyString());
+    }
+}
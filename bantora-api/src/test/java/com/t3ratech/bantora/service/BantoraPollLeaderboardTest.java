@@ -0,0 +1,145 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.repository.BantoraPollLeaderboardReadRepository;
+import com.t3ratech.bantora.repository.BantoraPollLeaderboardReadRepository.LeaderboardEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BantoraPollLeaderboardTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private BantoraPollLeaderboardReadRepository leaderboardReadRepository;
+
+    @Mock
+    private ObjectProvider<BantoraVoteBuffer> voteBufferProvider;
+
+    @Mock
+    private BantoraVoteBuffer voteBuffer;
+
+    private BantoraPollLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        leaderboard = new BantoraPollLeaderboard(redisTemplate, leaderboardReadRepository, voteBufferProvider,
+                new SimpleMeterRegistry(), true, 200L);
+    }
+
+    @Test
+    void topPollIds_shouldReadScopeSetOnceLeaderboardIsReady() {
+        UUID categoryId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(redisTemplate.hasKey(BantoraPollLeaderboard.READY_KEY)).thenReturn(Mono.just(true));
+        when(zSetOperations.reverseRange(BantoraPollLeaderboard.KEY_PREFIX + "category:" + categoryId, Range.closed(0L, 9L)))
+                .thenReturn(Flux.just(first.toString(), second.toString()));
+
+        StepVerifier.create(leaderboard.topPollIds(categoryId, null, 10))
+                .expectNext(List.of(first, second))
+                .verifyComplete();
+    }
+
+    @Test
+    void topPollIds_shouldBeEmptyUntilFirstRebuildOrWhenRedisFails() {
+        when(redisTemplate.hasKey(BantoraPollLeaderboard.READY_KEY))
+                .thenReturn(Mono.just(false))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(leaderboard.topPollIds(null, null, 10)).verifyComplete();
+        StepVerifier.create(leaderboard.topPollIds(null, null, 10)).verifyComplete();
+        verify(zSetOperations, never()).reverseRange(any(), any());
+    }
+
+    @Test
+    void supports_shouldLeaveCombinedFiltersAndDisabledLeaderboardToSql() {
+        UUID categoryId = UUID.randomUUID();
+        BantoraPollLeaderboard disabled = new BantoraPollLeaderboard(redisTemplate, leaderboardReadRepository,
+                voteBufferProvider, new SimpleMeterRegistry(), false, 200L);
+
+        assertThat(leaderboard.supports(null, null)).isTrue();
+        assertThat(leaderboard.supports(categoryId, " ")).isTrue();
+        assertThat(leaderboard.supports(null, "Water")).isTrue();
+        assertThat(leaderboard.supports(categoryId, "Water")).isFalse();
+        assertThat(disabled.supports(null, null)).isFalse();
+
+        StepVerifier.create(disabled.recordVote(UUID.randomUUID(), 1L)).verifyComplete();
+        verify(redisTemplate, never()).execute(any(), anyList(), anyList());
+        verifyNoInteractions(leaderboardReadRepository);
+    }
+
+    @Test
+    void rebuild_shouldSetTheExactScoreIncludingBufferedVotes() {
+        UUID buffered = UUID.randomUUID();
+        UUID flushed = UUID.randomUUID();
+        LocalDateTime endTime = LocalDateTime.now().plusDays(1);
+        ReactiveValueOperations<String, String> valueOperations = mock(ReactiveValueOperations.class);
+        when(voteBufferProvider.getIfAvailable()).thenReturn(voteBuffer);
+        when(voteBuffer.isEnabled()).thenReturn(true);
+        when(voteBuffer.pendingCounts()).thenReturn(new BantoraVoteBuffer.PendingCounts(Map.of(buffered, 3L), Map.of()));
+        when(leaderboardReadRepository.findActiveEntries(any())).thenReturn(Flux.just(
+                new LeaderboardEntry(buffered, null, 10L, endTime, List.of()),
+                new LeaderboardEntry(flushed, null, 7L, endTime, List.of())));
+        doReturn(Flux.just(1L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(eq(BantoraPollLeaderboard.READY_KEY), anyString())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(leaderboard.rebuild())
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(List.of(buffered.toString(), "13", epoch(endTime))));
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(List.of(flushed.toString(), "7", epoch(endTime))));
+    }
+
+    @Test
+    void scopeKey_shouldMatchSqlHashtagMatching() {
+        UUID categoryId = UUID.randomUUID();
+
+        assertThat(BantoraPollLeaderboard.scopeKey(null, null)).isEqualTo(BantoraPollLeaderboard.GLOBAL_KEY);
+        assertThat(BantoraPollLeaderboard.scopeKey(null, "Water")).isEqualTo("bantora:poll-leaderboard:hashtag:water");
+        assertThat(BantoraPollLeaderboard.scopeKey(categoryId, null)).isEqualTo("bantora:poll-leaderboard:category:" + categoryId);
+    }
+
+    private static String epoch(LocalDateTime time) {
+        return Long.toString(time.atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+}
@@ -1,5 +1,8 @@
 package com.t3ratech.bantora.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.dto.response.BantoraPollOptionResponse;
+import com.t3ratech.bantora.dto.response.BantoraPollPageResponse;
 import com.t3ratech.bantora.dto.response.BantoraPollResponse;
 import com.t3ratech.bantora.entity.BantoraPoll;
 import com.t3ratech.bantora.entity.BantoraPollOption;
@@ -7,20 +10,36 @@ import com.t3ratech.bantora.enums.BantoraPollScope;
 import com.t3ratech.bantora.enums.BantoraPollStatus;
 import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
 import com.t3ratech.bantora.repository.BantoraPollRepository;
+import com.t3ratech.bantora.repository.BantoraPollSourceIdeaReadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +52,22 @@ class BantoraPollServiceTest {
     @Mock
     private BantoraPollOptionRepository optionRepository;
 
+    @Mock
+    private BantoraPollSourceIdeaReadRepository pollSourceIdeaReadRepository;
+
+    @Spy
+    private BantoraLiveTallies liveTallies = disabledTallies();
+
+    @Spy
+    private BantoraPollDetailCache pollDetailCache = new BantoraPollDetailCache(new SimpleMeterRegistry(), true, 100L, 60_000L);
+
+    @Spy
+    private BantoraPollFeedCache pollFeedCache = new BantoraPollFeedCache(mock(ReactiveStringRedisTemplate.class), new ObjectMapper(),
+            new SimpleMeterRegistry(), false, 5_000L, 200L);
+
+    @Mock
+    private BantoraPollLeaderboard pollLeaderboard;
+
     @InjectMocks
     private BantoraPollService pollService;
 
@@ -42,6 +77,9 @@ class BantoraPollServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(pollService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(pollService, "maxPageSize", 200);
+
         UUID pollId = UUID.randomUUID();
         UUID categoryId = UUID.randomUUID();
 
@@ -78,9 +116,9 @@ class BantoraPollServiceTest {
 
     @Test
     void getAllActivePolls_shouldReturnActivePolls() {
-        when(pollRepository.findActiveOrderByCreatedDesc(any(LocalDateTime.class)))
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), any(LocalDateTime.class), any(UUID.class), anyInt()))
                 .thenReturn(Flux.just(testPoll));
-        when(optionRepository.findByPollIdOrderByOptionOrder(testPoll.getId()))
+        when(optionRepository.findByPollIds(any(UUID[].class)))
                 .thenReturn(Flux.just(option1, option2));
 
         Flux<BantoraPollResponse> result = pollService.getAllActivePolls();
@@ -96,9 +134,9 @@ class BantoraPollServiceTest {
 
     @Test
     void getPopularPolls_shouldReturnTopPolls() {
-        when(pollRepository.findActiveOrderByVotesDesc(any(LocalDateTime.class)))
+        when(pollRepository.findActiveOrderByVotesDescAfter(any(LocalDateTime.class), anyLong(), any(UUID.class), anyInt()))
                 .thenReturn(Flux.just(testPoll));
-        when(optionRepository.findByPollIdOrderByOptionOrder(testPoll.getId()))
+        when(optionRepository.findByPollIds(any(UUID[].class)))
                 .thenReturn(Flux.just(option1, option2));
 
         Flux<BantoraPollResponse> result = pollService.getPopularPolls();
@@ -141,4 +179,284 @@ class BantoraPollServiceTest {
         StepVerifier.create(result)
                 .verifyComplete();
     }
+
+    @Test
+    void getActivePolls_shouldLoadOptionsForWholePageInOneQuery() {
+        List<BantoraPoll> polls = new ArrayList<>();
+        List<BantoraPollOption> options = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID pollId = UUID.randomUUID();
+            polls.add(BantoraPoll.builder().id(pollId).title("Poll " + i).totalVotes((long) i).build());
+            options.add(BantoraPollOption.builder().id(UUID.randomUUID()).pollId(pollId).optionText("Yes").optionOrder(1).votesCount((long) i).build());
+            options.add(BantoraPollOption.builder().id(UUID.randomUUID()).pollId(pollId).optionText("No").optionOrder(2).votesCount(0L).build());
+        }
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), any(LocalDateTime.class), any(UUID.class), anyInt()))
+                .thenReturn(Flux.fromIterable(polls));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(options));
+
+        List<BantoraPollResponse> responses = pollService.getActivePolls(null, null, "created", 200).collectList().block();
+
+        assertThat(responses).extracting(BantoraPollResponse::getId)
+                .containsExactlyElementsOf(polls.stream().map(BantoraPoll::getId).toList());
+        assertThat(responses).allSatisfy(response -> assertThat(response.getOptions()).hasSize(2));
+        verify(pollRepository, times(1)).findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), any(LocalDateTime.class), any(UUID.class), anyInt());
+        verify(optionRepository, times(1)).findByPollIds(any(UUID[].class));
+        verify(optionRepository, never()).findByPollIdOrderByOptionOrder(any(UUID.class));
+    }
+
+    @Test
+    void getPollsBySourceIdeaId_shouldBatchLoadPollsAndOptionsInLinkOrder() {
+        UUID ideaId = UUID.randomUUID();
+        BantoraPoll otherPoll = BantoraPoll.builder().id(UUID.randomUUID()).title("Other Poll").totalVotes(0L).build();
+        when(pollSourceIdeaReadRepository.findPollIdsByIdeaId(ideaId))
+                .thenReturn(Flux.just(otherPoll.getId(), testPoll.getId()));
+        when(pollRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(testPoll, otherPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        StepVerifier.create(pollService.getPollsBySourceIdeaId(ideaId))
+                .assertNext(response -> {
+                    assertThat(response.getId()).isEqualTo(otherPoll.getId());
+                    assertThat(response.getOptions()).isEmpty();
+                })
+                .assertNext(response -> {
+                    assertThat(response.getId()).isEqualTo(testPoll.getId());
+                    assertThat(response.getOptions()).extracting(option -> option.getOptionText()).containsExactly("Yes", "No");
+                })
+                .verifyComplete();
+
+        verify(pollRepository, times(1)).findAllById(anyIterable());
+        verify(pollRepository, never()).findById(any(UUID.class));
+        verify(optionRepository, times(1)).findByPollIds(any(UUID[].class));
+    }
+
+    @Test
+    void getActivePollsPage_shouldReturnCursorAndResumeAfterLastPoll() {
+        BantoraPoll secondPoll = BantoraPoll.builder().id(UUID.randomUUID()).title("Older Poll").totalVotes(5L)
+                .createdAt(testPoll.getCreatedAt().minusHours(1)).build();
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), eq(BantoraPollRepository.FEED_START_CREATED_AT),
+                eq(BantoraPollRepository.FEED_START_ID), eq(2)))
+                .thenReturn(Flux.just(testPoll, secondPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        BantoraPollPageResponse firstPage = pollService.getActivePollsPage(null, null, "created", null, 1).block();
+
+        assertThat(firstPage.getPolls()).extracting(BantoraPollResponse::getId).containsExactly(testPoll.getId());
+        assertThat(firstPage.getNextCursor()).isNotBlank();
+
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), eq(testPoll.getCreatedAt()),
+                eq(testPoll.getId()), eq(2)))
+                .thenReturn(Flux.just(secondPoll));
+
+        BantoraPollPageResponse secondPage = pollService.getActivePollsPage(null, null, "created", firstPage.getNextCursor(), 1).block();
+
+        assertThat(secondPage.getPolls()).extracting(BantoraPollResponse::getId).containsExactly(secondPoll.getId());
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getActivePollsPage_shouldCapPageSize() {
+        when(pollRepository.findActiveOrderByVotesDescAfter(any(LocalDateTime.class), eq(BantoraPollRepository.FEED_START_TOTAL_VOTES),
+                eq(BantoraPollRepository.FEED_START_ID), eq(201)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(pollService.getActivePollsPage(null, null, "votes", null, 10_000))
+                .assertNext(page -> {
+                    assertThat(page.getPolls()).isEmpty();
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getActivePollsPage_shouldRejectMalformedOrMismatchedCursor() {
+        String createdCursor = BantoraPollFeedCursor.after(testPoll, false).encode();
+
+        StepVerifier.create(pollService.getActivePollsPage(null, null, "created", "not-a-cursor", 10))
+                .expectErrorMessage("Invalid cursor")
+                .verify();
+        StepVerifier.create(pollService.getActivePollsPage(null, null, "votes", createdCursor, 10))
+                .expectErrorMessage("Invalid cursor")
+                .verify();
+    }
+
+    @Test
+    void streamActivePolls_shouldFollowCursorsUntilFeedIsExhausted() {
+        ReflectionTestUtils.setField(pollService, "maxPageSize", 1);
+        BantoraPoll secondPoll = BantoraPoll.builder().id(UUID.randomUUID()).title("Older Poll").totalVotes(5L)
+                .createdAt(testPoll.getCreatedAt().minusHours(1)).build();
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), eq(BantoraPollRepository.FEED_START_CREATED_AT),
+                eq(BantoraPollRepository.FEED_START_ID), eq(2)))
+                .thenReturn(Flux.just(testPoll, secondPoll));
+        when(pollRepository.findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), eq(testPoll.getCreatedAt()),
+                eq(testPoll.getId()), eq(2)))
+                .thenReturn(Flux.just(secondPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        StepVerifier.create(pollService.streamActivePolls(null, null, "created", null), 1)
+                .assertNext(response -> assertThat(response.getId()).isEqualTo(testPoll.getId()))
+                .thenRequest(1)
+                .assertNext(response -> assertThat(response.getId()).isEqualTo(secondPoll.getId()))
+                .verifyComplete();
+
+        verify(pollRepository, times(2)).findActiveOrderByCreatedDescAfter(any(LocalDateTime.class), any(LocalDateTime.class), any(UUID.class), anyInt());
+    }
+
+    @Test
+    void getPollById_shouldServeRepeatReadsFromCacheAndApplyVotePatches() {
+        when(pollRepository.findById(testPoll.getId()))
+                .thenReturn(Mono.just(testPoll));
+        when(optionRepository.findByPollIdOrderByOptionOrder(testPoll.getId()))
+                .thenReturn(Flux.just(option1, option2));
+
+        BantoraPollResponse first = pollService.getPollById(testPoll.getId()).block();
+        pollDetailCache.applyCounts(testPoll.getId(), option1.getId(), 61L, 101L);
+        BantoraPollResponse second = pollService.getPollById(testPoll.getId()).block();
+
+        assertThat(first.getTotalVotes()).isEqualTo(100L);
+        assertThat(second.getTotalVotes()).isEqualTo(101L);
+        assertThat(second.getOptions().get(0).getVotesCount()).isEqualTo(61L);
+        assertThat(second.getOptions().get(1).getVotesCount()).isEqualTo(40L);
+        verify(pollRepository, times(1)).findById(testPoll.getId());
+        verify(optionRepository, times(1)).findByPollIdOrderByOptionOrder(testPoll.getId());
+
+        pollDetailCache.applyCounts(testPoll.getId(), option1.getId(), 50L, 90L);
+        assertThat(pollService.getPollById(testPoll.getId()).block().getTotalVotes()).isEqualTo(101L);
+    }
+
+    @Test
+    void getPopularPolls_shouldServeFirstPageFromLeaderboardAndSkipEndedPolls() {
+        BantoraPoll endedPoll = BantoraPoll.builder().id(UUID.randomUUID()).title("Ended Poll").status(BantoraPollStatus.ACTIVE)
+                .endTime(LocalDateTime.now().minusMinutes(1)).totalVotes(500L).build();
+        BantoraPoll runnerUp = BantoraPoll.builder().id(UUID.randomUUID()).title("Runner-up Poll").status(BantoraPollStatus.ACTIVE)
+                .endTime(LocalDateTime.now().plusDays(1)).totalVotes(50L).build();
+        when(pollLeaderboard.supports(null, null)).thenReturn(true);
+        when(pollLeaderboard.topPollIds(null, null, 5))
+                .thenReturn(Mono.just(List.of(endedPoll.getId(), testPoll.getId(), runnerUp.getId())));
+        when(pollRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(runnerUp, endedPoll, testPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        BantoraPollPageResponse page = pollService.getActivePollsPage(null, null, "votes", null, 5).block();
+
+        assertThat(page.getPolls()).extracting(BantoraPollResponse::getId).containsExactly(testPoll.getId(), runnerUp.getId());
+        assertThat(page.getNextCursor()).isNull();
+        verify(pollRepository, never()).findActiveOrderByVotesDescAfter(any(LocalDateTime.class), anyLong(), any(UUID.class), anyInt());
+    }
+
+    @Test
+    void getActivePollsPage_shouldEndTheFeedAfterAFullLeaderboardPage() {
+        BantoraPoll runnerUp = BantoraPoll.builder().id(UUID.randomUUID()).title("Runner-up Poll").status(BantoraPollStatus.ACTIVE)
+                .endTime(LocalDateTime.now().plusDays(1)).totalVotes(50L).build();
+        when(pollLeaderboard.supports(null, null)).thenReturn(true);
+        when(pollLeaderboard.topPollIds(null, null, 2))
+                .thenReturn(Mono.just(List.of(testPoll.getId(), runnerUp.getId())));
+        when(pollRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(runnerUp, testPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        BantoraPollPageResponse page = pollService.getActivePollsPage(null, null, "votes", null, 2).block();
+
+        assertThat(page.getPolls()).extracting(BantoraPollResponse::getId).containsExactly(testPoll.getId(), runnerUp.getId());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPopularPolls_shouldFallBackToDatabaseWhenLeaderboardUnavailable() {
+        when(pollLeaderboard.supports(null, null)).thenReturn(true);
+        when(pollLeaderboard.topPollIds(null, null, 10)).thenReturn(Mono.empty());
+        when(pollRepository.findActiveOrderByVotesDescAfter(any(LocalDateTime.class), anyLong(), any(UUID.class), anyInt()))
+                .thenReturn(Flux.just(testPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        assertThat(pollService.getPopularPolls().collectList().block())
+                .extracting(BantoraPollResponse::getId)
+                .containsExactly(testPoll.getId());
+        verify(pollRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void getActivePollsPage_shouldOverlayLiveTalliesOnCachedPages() {
+        BantoraLiveTallies tallies = new BantoraLiveTallies(mock(BantoraPollRepository.class), mock(BantoraPollOptionRepository.class),
+                mock(BantoraVoteBuffer.class), new SimpleMeterRegistry(), true, 60_000L);
+        ReflectionTestUtils.setField(pollService, "liveTallies", tallies);
+        tallies.totalVotes(testPoll.getId(), 100L);
+        tallies.optionVotes(testPoll.getId(), option1.getId(), 60L);
+        tallies.recordVote(testPoll.getId(), option1.getId());
+        UUID untrackedPollId = UUID.randomUUID();
+        BantoraPollPageResponse cached = BantoraPollPageResponse.builder()
+                .polls(List.of(
+                        cachedPoll(testPoll.getId(), 90L, option1.getId(), 55L, option2.getId(), 35L),
+                        cachedPoll(untrackedPollId, 7L, UUID.randomUUID(), 4L, UUID.randomUUID(), 3L)))
+                .nextCursor("next")
+                .build();
+        doReturn(Mono.just(cached)).when(pollFeedCache).getPage(eq("votes"), any(), any(), any(), anyInt(), any());
+
+        BantoraPollPageResponse page = pollService.getActivePollsPage(null, null, "votes", null, 2).block();
+
+        assertThat(page.getNextCursor()).isEqualTo("next");
+        assertThat(page.getPolls()).extracting(BantoraPollResponse::getTotalVotes).containsExactly(101L, 7L);
+        assertThat(page.getPolls().get(0).getOptions()).extracting(BantoraPollOptionResponse::getVotesCount).containsExactly(61L, 35L);
+        assertThat(page.getPolls().get(1).getOptions()).extracting(BantoraPollOptionResponse::getVotesCount).containsExactly(4L, 3L);
+        assertThat(tallies.trackedTotalVotes(untrackedPollId, 0L)).isZero();
+    }
+
+    @Test
+    void getActivePollsPage_shouldNormaliseTheHashtagForCacheAndQueryAlike() {
+        when(pollRepository.findActiveByHashtagOrderByCreatedDescAfter(eq("water"), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(UUID.class), anyInt()))
+                .thenReturn(Flux.just(testPoll));
+        when(optionRepository.findByPollIds(any(UUID[].class)))
+                .thenReturn(Flux.just(option1, option2));
+
+        BantoraPollPageResponse page = pollService.getActivePollsPage(null, " Water ", "created", null, 5).block();
+
+        assertThat(page.getPolls()).extracting(BantoraPollResponse::getId).containsExactly(testPoll.getId());
+        verify(pollFeedCache).getPage(eq("created"), eq(null), eq("water"), eq(null), eq(5), any());
+    }
+
+    @Test
+    void getPollById_shouldOverlayLiveTalliesOnCachedDetails() {
+        when(pollRepository.findById(testPoll.getId()))
+                .thenReturn(Mono.just(testPoll));
+        when(optionRepository.findByPollIdOrderByOptionOrder(testPoll.getId()))
+                .thenReturn(Flux.just(option1, option2));
+        pollService.getPollById(testPoll.getId()).block();
+
+        BantoraLiveTallies tallies = new BantoraLiveTallies(mock(BantoraPollRepository.class), mock(BantoraPollOptionRepository.class),
+                mock(BantoraVoteBuffer.class), new SimpleMeterRegistry(), true, 60_000L);
+        ReflectionTestUtils.setField(pollService, "liveTallies", tallies);
+        tallies.totalVotes(testPoll.getId(), 100L);
+        tallies.optionVotes(testPoll.getId(), option2.getId(), 40L);
+        tallies.recordVote(testPoll.getId(), option2.getId());
+
+        BantoraPollResponse cached = pollService.getPollById(testPoll.getId()).block();
+
+        assertThat(cached.getTotalVotes()).isEqualTo(101L);
+        assertThat(cached.getOptions()).extracting(BantoraPollOptionResponse::getVotesCount).containsExactly(60L, 41L);
+        verify(pollRepository, times(1)).findById(testPoll.getId());
+    }
+
+    private static BantoraPollResponse cachedPoll(UUID pollId, long totalVotes, UUID firstOptionId, long firstVotes,
+                                                  UUID secondOptionId, long secondVotes) {
+        return BantoraPollResponse.builder()
+                .id(pollId)
+                .totalVotes(totalVotes)
+                .options(List.of(
+                        BantoraPollOptionResponse.builder().id(firstOptionId).optionOrder(1).votesCount(firstVotes).build(),
+                        BantoraPollOptionResponse.builder().id(secondOptionId).optionOrder(2).votesCount(secondVotes).build()))
+                .build();
+    }
+
+    private static BantoraLiveTallies disabledTallies() {
+        return new BantoraLiveTallies(mock(BantoraPollRepository.class), mock(BantoraPollOptionRepository.class),
+                mock(BantoraVoteBuffer.class), new SimpleMeterRegistry(), false, 60_000L);
+    }
 }
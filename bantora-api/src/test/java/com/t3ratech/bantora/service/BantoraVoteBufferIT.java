@@ -0,0 +1,173 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraVote;
+import com.t3ratech.bantora.repository.BantoraPollOptionRepository;
+import com.t3ratech.bantora.repository.BantoraPollRepository;
+import com.t3ratech.bantora.repository.BantoraVoteWriteRepository;
+import com.t3ratech.bantora.support.BantoraPostgresTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BantoraVoteBufferIT extends BantoraPostgresTestSupport {
+
+    private static BantoraVoteWriteRepository voteWriteRepository;
+    private static BantoraPollRepository pollRepository;
+    private static BantoraPollOptionRepository optionRepository;
+    private static TransactionalOperator transactionalOperator;
+
+    private BantoraPollDetailCache pollDetailCache;
+    private BantoraPollLeaderboard pollLeaderboard;
+
+    @BeforeAll
+    static void setUpRepositories() {
+        voteWriteRepository = new BantoraVoteWriteRepository(databaseClient);
+        pollRepository = repository(BantoraPollRepository.class);
+        optionRepository = repository(BantoraPollOptionRepository.class);
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @BeforeEach
+    void setUpCounters() {
+        pollDetailCache = mock(BantoraPollDetailCache.class);
+        pollLeaderboard = mock(BantoraPollLeaderboard.class);
+        when(pollLeaderboard.recordVote(any(), anyLong())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void flushAll_shouldPersistBatchesAndApplyAggregatedCounterDeltas() throws Exception {
+        SeededPoll poll = seedActivePoll("+263760000000", 2);
+        List<String> voters = IntStream.range(0, 1_200)
+                .mapToObj(i -> "+26376" + String.format("%07d", i + 1))
+                .toList();
+        seedUsers(voters);
+
+        BantoraVoteBuffer buffer = buffer(10_000, 500);
+        voters.forEach(phone -> buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(Math.floorMod(phone.hashCode(), 2)), phone)));
+
+        assertThat(buffer.depth()).isEqualTo(voters.size());
+        assertThat(buffer.flushAll(null)).isEqualTo(voters.size());
+        assertThat(buffer.depth()).isZero();
+
+        long optionTotal = optionRepository.findByPollIdOrderByOptionOrder(poll.pollId())
+                .map(option -> option.getVotesCount())
+                .reduce(0L, Long::sum)
+                .block();
+        assertThat(optionTotal).isEqualTo((long) voters.size());
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo((long) voters.size());
+    }
+
+    @Test
+    void flushAll_shouldSkipForeignOptionsAndPersistedDuplicates() throws Exception {
+        SeededPoll poll = seedActivePoll("+263770000000", 2);
+        SeededPoll otherPoll = seedActivePoll("+263770000001", 1);
+        seedUsers(List.of("+263770000002", "+263770000003"));
+
+        voteWriteRepository.recordVote(vote(poll.pollId(), poll.optionIds().get(0), "+263770000002")).block();
+
+        BantoraVoteBuffer buffer = buffer(100, 10);
+        buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(1), "+263770000002"));
+        buffer.enqueue(vote(poll.pollId(), otherPoll.optionIds().get(0), "+263770000003"));
+
+        assertThat(buffer.flushAll(null)).isZero();
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo(1L);
+        assertThat(optionRepository.findById(poll.optionIds().get(1)).block().getVotesCount()).isZero();
+        verify(pollDetailCache, times(2)).invalidate(poll.pollId());
+        verify(pollLeaderboard, times(2)).recordVote(poll.pollId(), -1L);
+    }
+
+    @Test
+    void flushAll_shouldSkipVotesAlreadyWrittenByAnEarlierAttempt() throws Exception {
+        SeededPoll poll = seedActivePoll("+263790000000", 1);
+        BantoraVote written = vote(poll.pollId(), poll.optionIds().get(0), null);
+        voteWriteRepository.recordVote(written).block();
+
+        BantoraVoteBuffer buffer = buffer(100, 10);
+        buffer.enqueue(written);
+
+        assertThat(buffer.flushAll(null)).isZero();
+        assertThat(buffer.depth()).isZero();
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo(1L);
+        verify(pollLeaderboard, never()).recordVote(any(), anyLong());
+    }
+
+    @Test
+    void flushAll_shouldWriteVoteByVoteAfterRepeatedFailuresAndDeadLetterThePoisonVote() throws Exception {
+        SeededPoll poll = seedActivePoll("+263710000000", 1);
+        seedUsers(List.of("+263710000001"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BantoraVoteBuffer buffer = new BantoraVoteBuffer(voteWriteRepository, optionRepository, pollRepository,
+                transactionalOperator, pollDetailCache, pollLeaderboard, meterRegistry, true, 100, 10, 30_000L, 2);
+
+        buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(0), "+263710000001"));
+        // No such user: the foreign key fails the whole multi-row insert every time.
+        buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(0), "+263719999999"));
+
+        assertThat(buffer.flushAll(null)).isZero();
+        assertThat(buffer.depth()).isEqualTo(2);
+        assertThat(buffer.flushAll(null)).isZero();
+        assertThat(buffer.depth()).isEqualTo(2);
+        assertThat(buffer.flushAll(null)).isEqualTo(1);
+        assertThat(buffer.depth()).isZero();
+        assertThat(meterRegistry.get("bantora.vote.buffer.dead-lettered").counter().count()).isEqualTo(1.0);
+        verify(pollLeaderboard, times(1)).recordVote(poll.pollId(), -1L);
+        assertThat(pollRepository.findById(poll.pollId()).block().getTotalVotes()).isEqualTo(1L);
+    }
+
+    @Test
+    void constructor_shouldCapBatchSizeAtTheBindParameterLimit() {
+        assertThatThrownBy(() -> buffer(100, BantoraVoteWriteRepository.MAX_INSERT_BATCH + 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("bantora.vote.buffer.batch-size must be <= 8191");
+    }
+
+    @Test
+    void enqueue_shouldRejectPendingDuplicatesAndOverflow() throws Exception {
+        SeededPoll poll = seedActivePoll("+263780000000", 1);
+        BantoraVoteBuffer buffer = buffer(1, 1);
+
+        buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(0), "+263780000001"));
+
+        assertThatThrownBy(() -> buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(0), "+263780000001")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("User has already voted");
+        assertThatThrownBy(() -> buffer.enqueue(vote(poll.pollId(), poll.optionIds().get(0), "+263780000002")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Vote buffer full, please retry");
+    }
+
+    private BantoraVoteBuffer buffer(int capacity, int batchSize) {
+        return new BantoraVoteBuffer(voteWriteRepository, optionRepository, pollRepository, transactionalOperator,
+                pollDetailCache, pollLeaderboard, new SimpleMeterRegistry(), true, capacity, batchSize, 30_000L, 3);
+    }
+
+    private static BantoraVote vote(UUID pollId, UUID optionId, String userPhone) {
+        return BantoraVote.builder()
+                .id(UUID.randomUUID())
+                .pollId(pollId)
+                .optionId(optionId)
+                .userPhone(userPhone)
+                .anonymous(false)
+                .votedAt(LocalDateTime.now())
+                .build();
+    }
+}
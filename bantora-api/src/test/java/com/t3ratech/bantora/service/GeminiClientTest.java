@@ -0,0 +1,99 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiClientTest {
+
+    private static final String PROMPT = "You are generating polls for the hashtag 'water'.\n\nInput ideas:\n"
+            + "[{\"id\":\"00000000-0000-0000-0000-0000000000aa\",\"categoryId\":\"00000000-0000-0000-0000-000000000001\","
+            + "\"userPhone\":\"+263770000001\",\"content\":\"Boreholes in every ward\"}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GeminiStubServer stub;
+    private GeminiClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (stub != null) {
+            stub.shutdown();
+        }
+    }
+
+    @Test
+    void generateContent_shouldReturnStubPollForPromptIdeas() throws Exception {
+        stub = new GeminiStubServer(objectMapper, 0, 0L, 0.0, 503);
+        client = client(3, 5);
+
+        String body = client.generateContent(PROMPT).block();
+
+        JsonNode answer = objectMapper.readTree(objectMapper.readTree(body)
+                .path("candidates").path(0).path("content").path("parts").path(0).path("text").asText());
+        assertThat(answer.path("polls").path(0).path("sourceIdeaIds").path(0).asText())
+                .isEqualTo("00000000-0000-0000-0000-0000000000aa");
+        assertThat(answer.path("polls").path(0).path("title").asText()).contains("#water");
+        assertThat(meterRegistry.get("bantora.ai.gemini.calls").tag("outcome", "success").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void generateContent_shouldRetryServerErrorsThenOpenCircuit() {
+        stub = new GeminiStubServer(objectMapper, 0, 0L, 1.0, 503);
+        client = client(2, 1);
+
+        StepVerifier.create(client.generateContent(PROMPT))
+                .expectErrorMatches(e -> e.getMessage().contains("503"))
+                .verify();
+        assertThat(stub.requestCount()).isEqualTo(3L);
+        assertThat(meterRegistry.get("bantora.ai.gemini.retries").counter().count()).isEqualTo(2.0);
+        assertThat(client.isCallPermitted()).isFalse();
+
+        StepVerifier.create(client.generateContent(PROMPT))
+                .expectErrorMatches(e -> e.getMessage().contains("circuit breaker is open"))
+                .verify();
+        assertThat(stub.requestCount()).isEqualTo(3L);
+        assertThat(meterRegistry.get("bantora.ai.gemini.calls").tag("outcome", "short-circuited").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void circuitBreaker_shouldAllowSingleProbeAfterOpenPeriod() {
+        AtomicLong now = new AtomicLong(1_000L);
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(2, 500L, now::get);
+
+        assertThat(breaker.onFailure()).isFalse();
+        assertThat(breaker.onFailure()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(500L);
+        assertThat(breaker.state()).isEqualTo(GeminiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        assertThat(breaker.onFailure()).isTrue();
+        assertThat(breaker.state()).isEqualTo(GeminiCircuitBreaker.State.OPEN);
+
+        now.addAndGet(500L);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private GeminiClient client(int maxRetries, int failureThreshold) {
+        return new GeminiClient(WebClient.builder(), meterRegistry,
+                "http://127.0.0.1:" + stub.port() + "/generateContent", "test-key",
+                4, 1_000, 5_000L, maxRetries, 10L, 50L, failureThreshold, 60_000L);
+    }
+}
@@ -0,0 +1,118 @@
+package com.t3ratech.bantora.service;
+
+import com.t3ratech.bantora.entity.BantoraIdea;
+import com.t3ratech.bantora.repository.BantoraIdeaReadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdeaDuplicateIndexTest {
+
+    private static final UUID WATER = UUID.randomUUID();
+    private static final UUID HEALTH = UUID.randomUUID();
+    private static final String BOREHOLE = "Drill a new borehole for clean water in Mbare";
+    private static final String BOREHOLE_COPY = "Drill a new borehole for clean water in Mbare East";
+
+    private final BantoraIdeaReadRepository ideaReadRepository = mock(BantoraIdeaReadRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void findDuplicate_shouldMatchNearCopyUnderSharedHashtagAndCategory() {
+        IdeaDuplicateIndex index = index(72, 2000, 500);
+        BantoraIdea borehole = idea(WATER, BOREHOLE, LocalDateTime.now());
+        index.add(borehole, List.of("water"));
+        index.add(idea(WATER, "Fix the potholes on Seke Road before the rains", LocalDateTime.now()), List.of("water"));
+
+        assertThat(index.findDuplicate(List.of("health", "water"), WATER, BOREHOLE_COPY))
+                .hasValueSatisfying(match -> {
+                    assertThat(match.ideaId()).isEqualTo(borehole.getId());
+                    assertThat(match.userPhone()).isEqualTo(borehole.getUserPhone());
+                    assertThat(match.similarity()).isGreaterThanOrEqualTo(0.7);
+                });
+        assertThat(index.findDuplicate(List.of("water"), HEALTH, BOREHOLE_COPY)).isEmpty();
+        assertThat(index.findDuplicate(List.of("roads"), WATER, BOREHOLE_COPY)).isEmpty();
+        assertThat(index.findDuplicate(List.of("water"), WATER, "Build a community library in Glen View")).isEmpty();
+        assertThat(meterRegistry.get("bantora.idea.dedup.matches").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void remove_shouldDropSettledIdeasFromEveryHashtag() {
+        IdeaDuplicateIndex index = index(72, 2000, 500);
+        BantoraIdea borehole = idea(WATER, BOREHOLE, LocalDateTime.now());
+        index.add(borehole, List.of("water", "mbare"));
+        assertThat(index.indexedCount()).isEqualTo(2);
+
+        index.remove(List.of(borehole.getId()));
+
+        assertThat(index.indexedCount()).isZero();
+        assertThat(index.findDuplicate(List.of("water", "mbare"), WATER, BOREHOLE)).isEmpty();
+    }
+
+    @Test
+    void add_shouldEvictIdeasOutsideWindowAndOverCap() {
+        IdeaDuplicateIndex index = index(1, 2, 500);
+        index.add(idea(WATER, BOREHOLE, LocalDateTime.now().minusHours(2)), List.of("water"));
+        assertThat(index.indexedCount()).isZero();
+
+        index.add(idea(WATER, BOREHOLE, LocalDateTime.now()), List.of("water"));
+        index.add(idea(WATER, "Repair the burst water pipes in Glen View", LocalDateTime.now()), List.of("water"));
+        index.add(idea(WATER, "Build a community library in Glen View", LocalDateTime.now()), List.of("water"));
+
+        assertThat(index.indexedCount()).isEqualTo(2);
+        assertThat(index.findDuplicate(List.of("water"), WATER, BOREHOLE)).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldLoadPendingIdeasPageByPage() {
+        IdeaDuplicateIndex index = index(72, 2000, 2);
+        LocalDateTime now = LocalDateTime.now();
+        BantoraIdea first = idea(WATER, "Repair the burst water pipes in Glen View", now.minusHours(3));
+        BantoraIdea second = idea(WATER, "Build a community library in Glen View", now.minusHours(2));
+        BantoraIdea third = idea(WATER, BOREHOLE, now.minusHours(1));
+        when(ideaReadRepository.findPendingIdeasWithTagsAfter(any(), any(), eq(new UUID(0L, 0L)), eq(2))).thenReturn(Flux.just(
+                new BantoraIdeaReadRepository.IdeaWithTags(first, List.of("water")),
+                new BantoraIdeaReadRepository.IdeaWithTags(second, List.of("water"))));
+        when(ideaReadRepository.findPendingIdeasWithTagsAfter(any(), eq(second.getCreatedAt()), eq(second.getId()), eq(2))).thenReturn(Flux.just(
+                new BantoraIdeaReadRepository.IdeaWithTags(third, List.of("water", "mbare"))));
+
+        StepVerifier.create(index.rebuild())
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertThat(index.indexedCount()).isEqualTo(4);
+        assertThat(index.findDuplicate(List.of("mbare"), WATER, BOREHOLE_COPY))
+                .hasValueSatisfying(match -> assertThat(match.ideaId()).isEqualTo(third.getId()));
+    }
+
+    @Test
+    void signature_shouldBeStableAndSkipContentWithoutWords() {
+        assertThat(IdeaDuplicateIndex.signature(BOREHOLE)).isEqualTo(IdeaDuplicateIndex.signature(BOREHOLE));
+        assertThat(IdeaDuplicateIndex.similarity(IdeaDuplicateIndex.signature(BOREHOLE), IdeaDuplicateIndex.signature(BOREHOLE))).isEqualTo(1.0);
+        assertThat(IdeaDuplicateIndex.signature("!!! ?")).isNull();
+    }
+
+    private IdeaDuplicateIndex index(long windowHours, int maxIdeasPerHashtag, int pageSize) {
+        return new IdeaDuplicateIndex(ideaReadRepository, meterRegistry, true, 0.7, windowHours, maxIdeasPerHashtag, pageSize);
+    }
+
+    private static BantoraIdea idea(UUID categoryId, String content, LocalDateTime createdAt) {
+        return BantoraIdea.builder()
+                .id(UUID.randomUUID())
+                .userPhone("+263771234567")
+                .categoryId(categoryId)
+                .content(content)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.t3ratech.bantora.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.t3ratech.bantora.entity.BantoraIdea;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalIdeaPollEngineTest {
+
+    private static final UUID WATER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID ROADS = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalIdeaPollEngine engine = new LocalIdeaPollEngine(objectMapper, 0.5);
+
+    @Test
+    void suggestPolls_shouldGroupSimilarIdeasPerCategoryAndRejectUnclearOnes() throws Exception {
+        BantoraIdea borehole = idea(1, WATER, "Drill a new borehole for clean water in Mbare");
+        BantoraIdea boreholeAgain = idea(2, WATER, "We need a borehole for clean water in Mbare!");
+        BantoraIdea potholes = idea(3, ROADS, "Fix the potholes on Seke Road before the rains");
+        BantoraIdea boreholeRoads = idea(4, ROADS, "Drill a new borehole for clean water in Mbare");
+        BantoraIdea unclear = idea(5, WATER, "Water!");
+
+        String json = engine.suggestPolls("water", List.of(borehole, boreholeAgain, potholes, boreholeRoads, unclear)).block();
+        JsonNode response = objectMapper.readTree(json);
+
+        JsonNode polls = response.path("polls");
+        assertThat(polls).hasSize(3);
+        AiService.AiPoll first = AiService.AiPoll.fromJson(polls.get(0));
+        assertThat(first.title()).isEqualTo("Drill a new borehole for clean water in Mbare");
+        assertThat(first.categoryId()).isEqualTo(WATER);
+        assertThat(first.sourceIdeaIds()).containsExactly(borehole.getId(), boreholeAgain.getId());
+        assertThat(first.options()).containsExactly("Yes", "No");
+        assertThat(first.description()).isEqualTo("Grouped from 2 similar ideas under #water. Key terms: borehole, clean, mbare, water, drill.");
+        assertThat(AiService.AiPoll.fromJson(polls.get(1)).sourceIdeaIds()).containsExactly(potholes.getId());
+        assertThat(AiService.AiPoll.fromJson(polls.get(2)).sourceIdeaIds()).containsExactly(boreholeRoads.getId());
+        assertThat(response.path("rejectedIdeaIds").get(0).asText()).isEqualTo(unclear.getId().toString());
+        assertThat(response.path("rejectedIdeaIds")).hasSize(1);
+    }
+
+    @Test
+    void suggestPolls_shouldBeDeterministic() {
+        List<BantoraIdea> ideas = List.of(
+                idea(1, WATER, "Repair the water pipes in Glen View"),
+                idea(2, WATER, "Water pipes in Glen View keep bursting, repair them"),
+                idea(3, WATER, "Build a community library"));
+
+        String first = engine.suggestPolls("water", ideas).block();
+
+        StepVerifier.create(engine.suggestPolls("water", ideas))
+                .expectNext(first)
+                .verifyComplete();
+    }
+
+    @Test
+    void title_shouldCollapseWhitespaceAndTruncate() {
+        assertThat(LocalIdeaPollEngine.title("  Fix \n the   roads ")).isEqualTo("Fix the roads");
+        String title = LocalIdeaPollEngine.title("x".repeat(500));
+        assertThat(title).hasSize(LocalIdeaPollEngine.TITLE_MAX_LENGTH).endsWith("...");
+    }
+
+    @Test
+    void cluster_shouldOnlyJoinIdeasAboveThreshold() {
+        List<List<String>> clusters = IdeaClusterer.cluster(
+                List.of("solar panels for schools", "solar panels for all schools", "free school meals"),
+                text -> text, text -> "same", 0.5);
+
+        assertThat(clusters).containsExactly(
+                List.of("solar panels for schools", "solar panels for all schools"),
+                List.of("free school meals"));
+        assertThatThrownBy(() -> new LocalIdeaPollEngine(objectMapper, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static BantoraIdea idea(int n, UUID categoryId, String content) {
+        return BantoraIdea.builder()
+                .id(UUID.fromString(String.format("00000000-0000-0000-0000-0000000001%02d", n)))
+                .userPhone("+2637700000" + String.format("%02d", n))
+                .categoryId(categoryId)
+                .content(content)
+                .build();
+    }
+}
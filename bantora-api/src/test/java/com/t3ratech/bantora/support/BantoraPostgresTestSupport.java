@@ -0,0 +1,177 @@
+package com.t3ratech.bantora.support;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public abstract class BantoraPostgresTestSupport {
+
+    private static final String SCHEMA_SCRIPT = "db/migration/V1__bantora_schema.sql";
+
+    protected static PostgreSQLContainer<?> postgres;
+    protected static ConnectionFactory connectionFactory;
+    protected static DatabaseClient databaseClient;
+    protected static R2dbcEntityTemplate entityTemplate;
+
+    public record SeededPoll(UUID pollId, List<UUID> optionIds, UUID categoryId) {
+    }
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+        postgres.start();
+
+        String schema = new ClassPathResource(SCHEMA_SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+        try (Connection connection = jdbcConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(schema);
+        }
+
+        connectionFactory = ConnectionFactories.get(String.format(
+                "r2dbc:pool:postgresql://%s:%s@%s:%d/%s?maxSize=20",
+                postgres.getUsername(),
+                postgres.getPassword(),
+                postgres.getHost(),
+                postgres.getFirstMappedPort(),
+                postgres.getDatabaseName()
+        ));
+        databaseClient = DatabaseClient.create(connectionFactory);
+        entityTemplate = new R2dbcEntityTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    protected static Connection jdbcConnection() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    protected static <T> T repository(Class<T> repositoryInterface) {
+        return new R2dbcRepositoryFactory(entityTemplate).getRepository(repositoryInterface);
+    }
+
+    // Seeding helpers rethrow SQL failures unchecked so tests that only seed need no throws clause.
+    protected static void seedUsers(List<String> phoneNumbers) {
+        try (Connection connection = jdbcConnection();
+             PreparedStatement statement = connection.prepareStatement("""
+                     INSERT INTO bantora_user (phone_number, password_hash, country_code, verified, enabled)
+                     VALUES (?, 'x', 'ZW', TRUE, TRUE)
+                     ON CONFLICT DO NOTHING
+                     """)) {
+            for (String phoneNumber : phoneNumbers) {
+                statement.setString(1, phoneNumber);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to seed users", e);
+        }
+    }
+
+    protected static SeededPoll seedActivePoll(String creatorPhone, int optionCount) {
+        seedUsers(List.of(creatorPhone));
+
+        UUID categoryId = UUID.randomUUID();
+        UUID pollId = UUID.randomUUID();
+        List<UUID> optionIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        try (Connection connection = jdbcConnection()) {
+            try (PreparedStatement category = connection.prepareStatement(
+                    "INSERT INTO bantora_category (id, name) VALUES (?, ?)")) {
+                category.setObject(1, categoryId);
+                category.setString(2, "category-" + categoryId);
+                category.executeUpdate();
+            }
+            try (PreparedStatement poll = connection.prepareStatement("""
+                    INSERT INTO bantora_poll (id, title, creator_phone, category_id, scope, status, start_time, end_time, created_at)
+                    VALUES (?, ?, ?, ?, 'CONTINENTAL', 'ACTIVE', ?, ?, ?)
+                    """)) {
+                poll.setObject(1, pollId);
+                poll.setString(2, "poll-" + pollId);
+                poll.setString(3, creatorPhone);
+                poll.setObject(4, categoryId);
+                poll.setObject(5, now.minusDays(1));
+                poll.setObject(6, now.plusDays(7));
+                poll.setObject(7, now);
+                poll.executeUpdate();
+            }
+            try (PreparedStatement option = connection.prepareStatement(
+                    "INSERT INTO bantora_poll_option (id, poll_id, option_text, option_order) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < optionCount; i++) {
+                    UUID optionId = UUID.randomUUID();
+                    option.setObject(1, optionId);
+                    option.setObject(2, pollId);
+                    option.setString(3, "option-" + i);
+                    option.setInt(4, i);
+                    option.addBatch();
+                    optionIds.add(optionId);
+                }
+                option.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to seed poll", e);
+        }
+
+        return new SeededPoll(pollId, optionIds, categoryId);
+    }
+
+    // Idea + hashtag link must commit together (deferred bantora_trg_idea_hashtags constraint trigger).
+    protected static UUID seedPendingIdea(String userPhone, UUID categoryId, String tag, String content) {
+        seedUsers(List.of(userPhone));
+        UUID ideaId = UUID.randomUUID();
+
+        try (Connection connection = jdbcConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement hashtag = connection.prepareStatement(
+                    "INSERT INTO bantora_hashtag (tag) VALUES (?) ON CONFLICT DO NOTHING");
+                 PreparedStatement idea = connection.prepareStatement("""
+                         INSERT INTO bantora_idea (id, user_phone, content, category_id, status, created_at)
+                         VALUES (?, ?, ?, ?, 'PENDING', ?)
+                         """);
+                 PreparedStatement link = connection.prepareStatement("""
+                         INSERT INTO bantora_idea_hashtag (idea_id, hashtag_id)
+                         SELECT ?, id FROM bantora_hashtag WHERE tag = ?
+                         """)) {
+                hashtag.setString(1, tag);
+                hashtag.executeUpdate();
+
+                idea.setObject(1, ideaId);
+                idea.setString(2, userPhone);
+                idea.setString(3, content);
+                idea.setObject(4, categoryId);
+                idea.setObject(5, LocalDateTime.now());
+                idea.executeUpdate();
+
+                link.setObject(1, ideaId);
+                link.setString(2, tag);
+                link.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to seed idea", e);
+        }
+
+        return ideaId;
+    }
+}
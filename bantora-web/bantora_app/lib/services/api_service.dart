@@ -244,40 +244,47 @@ class ApiService {
     }
   }
 
-  // Get all polls
+  // Get polls. With a limit only the first page is fetched; without one every page is followed via nextCursor.
   Future<List<Poll>> getPolls({
     String? categoryId,
     String? hashtag,
     String sort = 'created',
     int? limit,
   }) async {
+    final polls = <Poll>[];
     try {
-      final query = <String, String>{
-        'sort': sort,
-        if (categoryId != null && categoryId.trim().isNotEmpty) 'categoryId': categoryId.trim(),
-        if (hashtag != null && hashtag.trim().isNotEmpty) 'hashtag': hashtag.trim(),
-        if (limit != null) 'limit': limit.toString(),
-      };
-
-      final uri = Uri.parse('$baseUrl/api/polls').replace(queryParameters: query);
-      final response = await http.get(uri);
-      
-      if (response.statusCode == 200) {
+      String? cursor;
+      do {
+        final query = <String, String>{
+          'sort': sort,
+          if (categoryId != null && categoryId.trim().isNotEmpty) 'categoryId': categoryId.trim(),
+          if (hashtag != null && hashtag.trim().isNotEmpty) 'hashtag': hashtag.trim(),
+          if (limit != null) 'limit': limit.toString(),
+          if (cursor != null) 'cursor': cursor,
+        };
+
+        final uri = Uri.parse('$baseUrl/api/polls').replace(queryParameters: query);
+        final response = await http.get(uri);
+        if (response.statusCode != 200) {
+          break;
+        }
+
         final dynamic decoded = jsonDecode(response.body);
         final dynamic payload = _unwrapApiResponse(decoded);
-
-        if (payload is List) {
-          return payload
-              .whereType<Map<String, dynamic>>()
-              .map((json) => Poll.fromJson(json))
-              .toList();
+        if (payload is! List) {
+          break;
         }
-      }
-      return [];
+        polls.addAll(payload
+            .whereType<Map<String, dynamic>>()
+            .map((json) => Poll.fromJson(json)));
+
+        final dynamic nextCursor = decoded is Map<String, dynamic> ? decoded['nextCursor'] : null;
+        cursor = limit == null && nextCursor is String && nextCursor.isNotEmpty ? nextCursor : null;
+      } while (cursor != null);
     } catch (e) {
       print('Error fetching polls: $e');
-      return [];
     }
+    return polls;
   }
 
   // Get single poll
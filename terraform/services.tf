@@ -237,6 +237,362 @@ resource "google_cloud_run_v2_service" "bantora_api" {
         value = var.gemini_api_key
       }
       
+      # Vote write-behind buffer
+      env {
+        name  = "BANTORA_VOTE_BUFFER_ENABLED"
+        value = "false"
+      }
+      env {
+        name  = "BANTORA_VOTE_BUFFER_CAPACITY"
+        value = "50000"
+      }
+      env {
+        name  = "BANTORA_VOTE_BUFFER_BATCH_SIZE"
+        value = "500"
+      }
+      env {
+        name  = "BANTORA_VOTE_BUFFER_FLUSH_INTERVAL_MS"
+        value = "250"
+      }
+      env {
+        name  = "BANTORA_VOTE_BUFFER_SHUTDOWN_TIMEOUT_MS"
+        value = "30000"
+      }
+      env {
+        name  = "BANTORA_VOTE_BUFFER_MAX_FLUSH_ATTEMPTS"
+        value = "3"
+      }
+
+      # Live vote tallies
+      env {
+        name  = "BANTORA_TALLY_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_TALLY_RECONCILE_INTERVAL_MS"
+        value = "30000"
+      }
+      env {
+        name  = "BANTORA_TALLY_IDLE_TTL_MS"
+        value = "600000"
+      }
+
+      # Poll feed pagination
+      env {
+        name  = "BANTORA_POLL_FEED_DEFAULT_PAGE_SIZE"
+        value = "20"
+      }
+      env {
+        name  = "BANTORA_POLL_FEED_MAX_PAGE_SIZE"
+        value = "100"
+      }
+
+      # Poll detail cache
+      env {
+        name  = "BANTORA_POLL_CACHE_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_POLL_CACHE_MAX_SIZE"
+        value = "10000"
+      }
+      env {
+        name  = "BANTORA_POLL_CACHE_TTL_MS"
+        value = "30000"
+      }
+
+      # Shared poll feed cache (Redis)
+      env {
+        name  = "BANTORA_POLL_FEED_CACHE_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_POLL_FEED_CACHE_TTL_MS"
+        value = "5000"
+      }
+      env {
+        name  = "BANTORA_POLL_FEED_CACHE_REDIS_TIMEOUT_MS"
+        value = "200"
+      }
+
+      # Poll leaderboard (Redis)
+      env {
+        name  = "BANTORA_POLL_LEADERBOARD_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_POLL_LEADERBOARD_REBUILD_INTERVAL_MS"
+        value = "600000"
+      }
+      env {
+        name  = "BANTORA_POLL_LEADERBOARD_PRUNE_INTERVAL_MS"
+        value = "60000"
+      }
+      env {
+        name  = "BANTORA_POLL_LEADERBOARD_REDIS_TIMEOUT_MS"
+        value = "200"
+      }
+
+      # Verified access-token cache
+      env {
+        name  = "BANTORA_JWT_AUTH_CACHE_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_JWT_AUTH_CACHE_MAX_SIZE"
+        value = "100000"
+      }
+
+      # Argon2 hashing pool
+      env {
+        name  = "BANTORA_ARGON2_EXECUTOR_THREADS"
+        value = "0"
+      }
+      env {
+        name  = "BANTORA_ARGON2_EXECUTOR_MEMORY_BUDGET_MB"
+        value = "512"
+      }
+      env {
+        name  = "BANTORA_ARGON2_EXECUTOR_QUEUE_CAPACITY"
+        value = "64"
+      }
+
+      # Batched last-login writes
+      env {
+        name  = "BANTORA_LAST_LOGIN_BATCH_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_LAST_LOGIN_BATCH_SIZE"
+        value = "500"
+      }
+      env {
+        name  = "BANTORA_LAST_LOGIN_FLUSH_INTERVAL_MS"
+        value = "5000"
+      }
+      env {
+        name  = "BANTORA_LAST_LOGIN_FLUSH_TIMEOUT_MS"
+        value = "10000"
+      }
+
+      # Refresh-token store
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_STORE"
+        value = "redis"
+      }
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_MIGRATE_ON_STARTUP"
+        value = "false"
+      }
+
+      # Refresh-token sweeper
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_SWEEPER_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_SWEEPER_INTERVAL_MS"
+        value = "600000"
+      }
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_SWEEPER_BATCH_SIZE"
+        value = "500"
+      }
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_SWEEPER_PAUSE_MS"
+        value = "200"
+      }
+      env {
+        name  = "BANTORA_REFRESH_TOKEN_SWEEPER_MAX_BATCHES"
+        value = "200"
+      }
+
+      # Request rate limiting (Redis token buckets)
+      env {
+        name  = "BANTORA_RATELIMIT_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_TRUST_FORWARDED_HEADERS"
+        value = "false"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_TRUSTED_PROXIES"
+        value = ""
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_REDIS_TIMEOUT_MS"
+        value = "50"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_VOTES_PER_PHONE_PER_MINUTE"
+        value = "30"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_VOTES_PER_IP_PER_MINUTE"
+        value = "600"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_IDEAS_PER_PHONE_PER_MINUTE"
+        value = "5"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_IDEAS_PER_IP_PER_MINUTE"
+        value = "120"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_UPVOTES_PER_PHONE_PER_MINUTE"
+        value = "30"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_UPVOTES_PER_IP_PER_MINUTE"
+        value = "600"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_LOGIN_PER_IP_PER_MINUTE"
+        value = "60"
+      }
+      env {
+        name  = "BANTORA_RATELIMIT_LOGIN_PER_PHONE_PER_MINUTE"
+        value = "5"
+      }
+
+      # AI job
+      env {
+        name  = "BANTORA_AI_JOB_HASHTAGS_PER_RUN"
+        value = "8"
+      }
+      env {
+        name  = "BANTORA_AI_JOB_CONCURRENCY"
+        value = "4"
+      }
+
+      # AI result cache
+      env {
+        name  = "BANTORA_AI_RESULT_CACHE_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_AI_RESULT_CACHE_TTL_MS"
+        value = "86400000"
+      }
+      env {
+        name  = "BANTORA_AI_RESULT_CACHE_REDIS_TIMEOUT_MS"
+        value = "200"
+      }
+
+      # Gemini client
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_MAX_CONNECTIONS"
+        value = "16"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_CONNECT_TIMEOUT_MS"
+        value = "5000"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_RESPONSE_TIMEOUT_MS"
+        value = "60000"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_MAX_RETRIES"
+        value = "3"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_RETRY_MIN_BACKOFF_MS"
+        value = "500"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CLIENT_RETRY_MAX_BACKOFF_MS"
+        value = "10000"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CIRCUIT_BREAKER_FAILURE_THRESHOLD"
+        value = "5"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_CIRCUIT_BREAKER_OPEN_MS"
+        value = "300000"
+      }
+
+      # Gemini stub server (tests and load benchmarks)
+      env {
+        name  = "BANTORA_AI_GEMINI_STUB_ENABLED"
+        value = "false"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_STUB_PORT"
+        value = "18089"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_STUB_LATENCY_MS"
+        value = "200"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_STUB_FAILURE_RATE"
+        value = "0.0"
+      }
+      env {
+        name  = "BANTORA_AI_GEMINI_STUB_FAILURE_STATUS"
+        value = "503"
+      }
+
+      # AI prompt batching (estimated tokens ~ chars/4)
+      env {
+        name  = "BANTORA_AI_PROMPT_TOKEN_BUDGET"
+        value = "24000"
+      }
+      env {
+        name  = "BANTORA_AI_PROMPT_BATCH_CONCURRENCY"
+        value = "2"
+      }
+      env {
+        name  = "BANTORA_AI_MAX_IDEAS_PER_HASHTAG"
+        value = "1000"
+      }
+
+      # AI idea-to-poll engine (gemini | local)
+      env {
+        name  = "BANTORA_AI_ENGINE_TYPE"
+        value = "gemini"
+      }
+      env {
+        name  = "BANTORA_AI_ENGINE_SIMILARITY_THRESHOLD"
+        value = "0.5"
+      }
+      env {
+        name  = "BANTORA_AI_ENGINE_PRE_CLUSTER_ENABLED"
+        value = "false"
+      }
+
+      # Near-duplicate idea detection (MinHash/LSH, per hashtag)
+      env {
+        name  = "BANTORA_IDEA_DEDUP_ENABLED"
+        value = "true"
+      }
+      env {
+        name  = "BANTORA_IDEA_DEDUP_SIMILARITY_THRESHOLD"
+        value = "0.8"
+      }
+      env {
+        name  = "BANTORA_IDEA_DEDUP_WINDOW_HOURS"
+        value = "72"
+      }
+      env {
+        name  = "BANTORA_IDEA_DEDUP_MAX_IDEAS_PER_HASHTAG"
+        value = "2000"
+      }
+      env {
+        name  = "BANTORA_IDEA_DEDUP_REBUILD_PAGE_SIZE"
+        value = "500"
+      }
+
+      # Scheduled jobs (one thread per blocking job)
+      env {
+        name  = "BANTORA_SCHEDULING_POOL_SIZE"
+        value = "8"
+      }
+
       # JPA/Hibernate
       env {
         name  = "SPRING_JPA_PROPERTIES_HIBERNATE_DEFAULT_SCHEMA"